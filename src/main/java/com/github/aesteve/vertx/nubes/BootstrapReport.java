@@ -0,0 +1,98 @@
+package com.github.aesteve.vertx.nubes;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.aesteve.vertx.nubes.utils.async.AsyncUtils.completeOrFail;
+
+/**
+ * Records how long each step of VertxNubes.bootstrap took. Every duration is expressed in milliseconds.
+ *
+ * {
+ *   "total": 812.3,
+ *   "phases": { "class-index": 402.1, "domain-marshaller": 80.4, "router": 120.9, "verticles": 30.2, "services": 12.0, "fixtures": 3.1 },
+ *   "controllers": { "my.controllers.DogController": 1.2, ... },
+ *   "verticles": { ... },
+ *   "services": { "dogService": 0.4, ... },
+ *   "fixtures": { ... }
+ * }
+ */
+public class BootstrapReport {
+
+  public static final String TOTAL = "total";
+  public static final String PHASES = "phases";
+  public static final String CONTROLLERS = "controllers";
+  public static final String VERTICLES = "verticles";
+  public static final String SERVICES = "services";
+  public static final String FIXTURES = "fixtures";
+
+  private final Map<String, Map<String, Long>> timings;
+  private long startedAt;
+  private long total = -1;
+
+  BootstrapReport() {
+    timings = new LinkedHashMap<>();
+    timings.put(PHASES, new LinkedHashMap<>());
+    timings.put(CONTROLLERS, new LinkedHashMap<>());
+    timings.put(VERTICLES, new LinkedHashMap<>());
+    timings.put(SERVICES, new LinkedHashMap<>());
+    timings.put(FIXTURES, new LinkedHashMap<>());
+    startedAt = System.nanoTime();
+  }
+
+  synchronized void start() {
+    startedAt = System.nanoTime();
+    total = -1;
+    timings.values().forEach(Map::clear);
+  }
+
+  synchronized void finish() {
+    total = System.nanoTime() - startedAt;
+  }
+
+  /**
+   * @param category one of PHASES, CONTROLLERS, VERTICLES, SERVICES, FIXTURES
+   * @param name the phase, controller class name, verticle name, service name or fixture class name
+   * @param startedAt the value of System.nanoTime() when the step started
+   */
+  public synchronized void record(String category, String name, long startedAt) {
+    timings.computeIfAbsent(category, key -> new LinkedHashMap<>()).put(name, System.nanoTime() - startedAt);
+  }
+
+  /**
+   * Wraps an asynchronous step so that its duration is recorded when it completes (whether it succeeds or fails).
+   */
+  public <T> Handler<Future<T>> timed(String category, String name, Handler<Future<T>> step) {
+    return future -> {
+      final long start = System.nanoTime();
+      Future<T> stepFuture = Future.future();
+      stepFuture.setHandler(res -> {
+        record(category, name, start);
+        completeOrFail(future).handle(res);
+      });
+      step.handle(stepFuture);
+    };
+  }
+
+  public synchronized JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    if (total >= 0) {
+      json.put(TOTAL, toMillis(total));
+    }
+    timings.forEach((category, durations) -> {
+      JsonObject jsonDurations = new JsonObject();
+      durations.forEach((name, duration) -> jsonDurations.put(name, toMillis(duration)));
+      json.put(category, jsonDurations);
+    });
+    return json;
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000d;
+  }
+
+}
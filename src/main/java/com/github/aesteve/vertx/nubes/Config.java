@@ -6,13 +6,27 @@ import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessorRegistry;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.reflections.ControllerMetadata;
+import com.github.aesteve.vertx.nubes.reflections.MethodMetadata;
 import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapterRegistry;
 import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndex;
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndexFactory;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjectorRegistry;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.TypedParamInjectorRegistry;
 import com.github.aesteve.vertx.nubes.services.ServiceRegistry;
+import com.github.aesteve.vertx.nubes.caching.EvictionPolicy;
+import com.github.aesteve.vertx.nubes.caching.ResponseCache;
+import com.github.aesteve.vertx.nubes.caching.impl.BoundedResponseCache;
+import com.github.aesteve.vertx.nubes.caching.impl.LruEvictionPolicy;
+import com.github.aesteve.vertx.nubes.caching.impl.TinyLfuEvictionPolicy;
+import com.github.aesteve.vertx.nubes.throttling.KeyExtractor;
+import com.github.aesteve.vertx.nubes.throttling.KeyExtractors;
+import com.github.aesteve.vertx.nubes.throttling.RateLimiter;
+import com.github.aesteve.vertx.nubes.throttling.impl.ClusteredRateLimiter;
+import com.github.aesteve.vertx.nubes.throttling.impl.SlidingWindowRateLimiter;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
@@ -32,12 +46,21 @@ import io.vertx.ext.web.handler.sockjs.SockJSHandlerOptions;
 import io.vertx.ext.web.templ.*;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class Config {
 
   private static final Logger LOG = LoggerFactory.getLogger(Config.class);
+  private static final String DEFAULT_THROTTLING_KEY = "remote-address";
+  private static final long DEFAULT_RESPONSE_CACHE_SIZE = 64L * 1024 * 1024;
+  private static final String DEFAULT_EVICTION_POLICY = "tinylfu";
   private final Map<Locale, ResourceBundle> bundlesByLocale;
   private final List<Handler<RoutingContext>> globalHandlers;
   private final Map<String, TemplateEngine> templateEngines;
@@ -47,11 +70,34 @@ public class Config {
   private List<String> fixturePackages;
   private String verticlePackage;
   private String domainPackage;
+  private ClassIndex classIndex;
+  private SharedModel sharedModel;
   private RateLimit rateLimit;
+  private RateLimiter rateLimiter;
+  private final Map<String, RateLimit> throttlingPolicies;
+  private final Map<String, RateLimiter> rateLimiters;
+  private final Map<String, String> throttlingKeys;
+  private final Map<String, KeyExtractor> keyExtractors;
+  private boolean clusteredThrottling;
+  private final Map<String, Supplier<EvictionPolicy>> evictionPolicies;
+  private ResponseCache responseCache;
+  private ConcurrentMap<Class<?>, ControllerMetadata> controllersMetadata;
+  private ConcurrentMap<Method, MethodMetadata> methodsMetadata;
+  private long throttlingSyncInterval;
+  private long throttlingSeed;
   private String webroot;
   private String assetsPath;
   private String tplDir;
   private boolean displayErrors;
+  private boolean compileInvokers;
+  private boolean compositeRoutes;
+  private boolean trieDispatcher;
+  private boolean logBootstrapReport;
+  private long bodyLimit;
+  private String uploadsDirectory;
+  private boolean routingContextReadsBody;
+  private boolean etags;
+  private final BootstrapReport bootstrapReport;
   private Vertx vertx;
   private AuthProvider authProvider;
   private String i18nDir;
@@ -77,6 +123,18 @@ public class Config {
     apRegistry = new AnnotationProcessorRegistry();
     typeInjectors = new TypedParamInjectorRegistry(this);
     aopHandlerRegistry = new HashMap<>();
+    bootstrapReport = new BootstrapReport();
+    throttlingPolicies = new HashMap<>();
+    rateLimiters = new LinkedHashMap<>();
+    throttlingKeys = new HashMap<>();
+    keyExtractors = new HashMap<>();
+    keyExtractors.put("remote-address", KeyExtractors.remoteAddress());
+    keyExtractors.put("user", KeyExtractors.user());
+    keyExtractors.put("api-token", KeyExtractors.apiToken());
+    keyExtractors.put("route", KeyExtractors.route());
+    evictionPolicies = new HashMap<>();
+    evictionPolicies.put("lru", LruEvictionPolicy::new);
+    evictionPolicies.put("tinylfu", TinyLfuEvictionPolicy::new);
   }
 
   /**
@@ -90,13 +148,11 @@ public class Config {
     Config instance = new Config();
     instance.json = json;
     instance.vertx = vertx;
+    instance.sharedModel = SharedModel.acquire(vertx, json);
 
     instance.readPackages();
     // Register services included in config
     instance.createServices();
-    // Register templateEngines for extensions added in config
-    instance.createTemplateEngines();
-
     instance.createRateLimit();
 
     instance.createAuthHandlers();
@@ -105,9 +161,18 @@ public class Config {
     instance.assetsPath = json.getString("static-path", "/assets");
     instance.tplDir = json.getString("views-dir", "web/views");
     instance.displayErrors = json.getBoolean("display-errors", Boolean.FALSE);
+    instance.compileInvokers = json.getBoolean("compile-invokers", Boolean.TRUE);
+    instance.compositeRoutes = json.getBoolean("composite-routes", Boolean.FALSE);
+    instance.trieDispatcher = json.getBoolean("trie-dispatcher", Boolean.FALSE);
+    instance.logBootstrapReport = json.getBoolean("log-bootstrap-report", Boolean.FALSE);
+    instance.bodyLimit = json.getLong("body-limit", BodyHandler.DEFAULT_BODY_LIMIT);
+    instance.uploadsDirectory = json.getString("uploads-directory", BodyHandler.DEFAULT_UPLOADS_DIRECTORY);
+    instance.routingContextReadsBody = json.getBoolean("routing-context-reads-body", Boolean.TRUE);
+    instance.etags = json.getBoolean("etags", Boolean.FALSE);
+    instance.controllersMetadata = instance.sharedModel.computeIfAbsent("controllersMetadata", ConcurrentHashMap::new);
+    instance.methodsMetadata = instance.sharedModel.computeIfAbsent("methodsMetadata", ConcurrentHashMap::new);
     // TODO : read sockJSOptions from config
 
-    instance.globalHandlers.add(BodyHandler.create());
     return instance;
   }
 
@@ -141,29 +206,80 @@ public class Config {
   }
 
   private void createRateLimit() {
+    clusteredThrottling = json.getBoolean("clustered-throttling", Boolean.FALSE);
+    throttlingSyncInterval = json.getLong("throttling-sync-interval", 100L);
+    Long seed = json.getLong("throttling-seed");
+    if (seed != null) {
+      throttlingSeed = seed;
+    } else if (clusteredThrottling) {
+      // nodes must agree on the hashes of the keys : only the configuration can tell them the same seed
+      LOG.warn("clustered-throttling is enabled without any throttling-seed : the keys of the clients are hashed unseeded");
+    } else {
+      throttlingSeed = sharedModel.computeIfAbsent("throttlingSeed", () -> new SecureRandom().nextLong());
+    }
     JsonObject rateLimitJson = json.getJsonObject("throttling");
     if (rateLimitJson != null) {
-      int count = rateLimitJson.getInteger("count");
-      int value = rateLimitJson.getInteger("time-frame");
-      TimeUnit timeUnit = TimeUnit.valueOf(rateLimitJson.getString("time-unit"));
-      this.rateLimit = new RateLimit(count, value, timeUnit);
+      this.rateLimit = readRateLimit(rateLimitJson);
+      this.rateLimiter = sharedRateLimiter("default", rateLimit);
+      throttlingKeys.put("", rateLimitJson.getString("key", DEFAULT_THROTTLING_KEY));
     }
+    JsonObject policies = json.getJsonObject("throttling-policies", new JsonObject());
+    policies.forEach(entry -> {
+      JsonObject policy = (JsonObject) entry.getValue();
+      throttlingPolicies.put(entry.getKey(), readRateLimit(policy));
+      throttlingKeys.put(entry.getKey(), policy.getString("key", DEFAULT_THROTTLING_KEY));
+    });
   }
 
-  private void createTemplateEngines() {
-    JsonArray templates = json.getJsonArray("templates", new JsonArray());
-    if (templates.contains("hbs")) {
-      this.templateEngines.put("hbs", HandlebarsTemplateEngine.create());
-    }
-    if (templates.contains("jade")) {
-      this.templateEngines.put("jade", JadeTemplateEngine.create());
-    }
-    if (templates.contains("templ")) {
-      this.templateEngines.put("templ", MVELTemplateEngine.create());
-    }
-    if (templates.contains("thymeleaf")) {
-      this.templateEngines.put("html", ThymeleafTemplateEngine.create());
+  private static RateLimit readRateLimit(JsonObject rateLimitJson) {
+    int count = rateLimitJson.getInteger("count");
+    int value = rateLimitJson.getInteger("time-frame");
+    TimeUnit timeUnit = TimeUnit.valueOf(rateLimitJson.getString("time-unit", TimeUnit.SECONDS.name()));
+    int maxClients = rateLimitJson.getInteger("max-clients", RateLimit.DEFAULT_MAX_CLIENTS);
+    return new RateLimit(count, value, timeUnit, maxClients);
+  }
+
+  private RateLimiter sharedRateLimiter(String name, RateLimit limit) {
+    // limiters are shared by every instance, so that a client can't get more accesses by hitting another event-loop
+    return rateLimiters.computeIfAbsent(name, key -> sharedModel.computeIfAbsent("rateLimiter." + name, () -> {
+      RateLimiter limiter = createRateLimiter(name, limit);
+      // swept once, whatever the number of instances sharing it, until the shared model is released
+      sharedModel.computeIfAbsent("rateLimiterSweep." + name, () -> new IdleClientsSweep(vertx, limiter));
+      return limiter;
+    }));
+  }
+
+  private RateLimiter createRateLimiter(String name, RateLimit limit) {
+    if (clusteredThrottling) {
+      return new ClusteredRateLimiter(vertx, vertx.getOrCreateContext(), name, limit, throttlingSyncInterval);
     }
+    return new SlidingWindowRateLimiter(limit);
+  }
+
+  /**
+   * Creates the engines of the "templates" configuration, only once per shared model. Blocking.
+   * Engines registered explicitly (see VertxNubes.registerTemplateEngine) win.
+   */
+  void createTemplateEngines() {
+    // engines cache their compiled templates in concurrent maps : they can be shared by every instance
+    Map<String, TemplateEngine> engines = sharedModel.computeIfAbsent("templateEngines", () -> {
+      Map<String, TemplateEngine> created = new HashMap<>();
+      JsonArray templates = json.getJsonArray("templates", new JsonArray());
+      if (templates.contains("hbs")) {
+        created.put("hbs", HandlebarsTemplateEngine.create());
+      }
+      if (templates.contains("jade")) {
+        created.put("jade", JadeTemplateEngine.create());
+      }
+      if (templates.contains("templ")) {
+        created.put("templ", MVELTemplateEngine.create());
+      }
+      if (templates.contains("thymeleaf")) {
+        created.put("html", ThymeleafTemplateEngine.create());
+      }
+      return created;
+    });
+    engines.forEach(this.templateEngines::putIfAbsent);
   }
 
   private void createServices() {
@@ -240,6 +356,57 @@ public class Config {
     return displayErrors;
   }
 
+  public boolean isCompileInvokers() {
+    return compileInvokers;
+  }
+
+  /**
+   * @return the methods of this controller, read once for every instance
+   */
+  public ControllerMetadata getControllerMetadata(Class<?> controller) {
+    return controllersMetadata.computeIfAbsent(controller, clazz -> new ControllerMetadata(clazz, this::getMethodMetadata));
+  }
+
+  /**
+   * @return the routes, parameters and linked handle of this method, computed once for every instance
+   */
+  public MethodMetadata getMethodMetadata(Method method) {
+    return methodsMetadata.computeIfAbsent(method, m -> new MethodMetadata(m, compileInvokers));
+  }
+
+  public boolean isCompositeRoutes() {
+    return compositeRoutes;
+  }
+
+  public boolean isTrieDispatcher() {
+    return trieDispatcher;
+  }
+
+  /**
+   * Only attached to the routes reading the request body, see MVCRoute
+   *
+   * @param bodyLimit the maximum size of the body, in bytes, -1 for the default one (body-limit)
+   */
+  public BodyHandler createBodyHandler(long bodyLimit) {
+    return BodyHandler.create(uploadsDirectory).setBodyLimit(bodyLimit < 0 ? this.bodyLimit : bodyLimit);
+  }
+
+  public boolean isRoutingContextReadsBody() {
+    return routingContextReadsBody;
+  }
+
+  public boolean isETags() {
+    return etags;
+  }
+
+  public boolean isLogBootstrapReport() {
+    return logBootstrapReport;
+  }
+
+  public BootstrapReport getBootstrapReport() {
+    return bootstrapReport;
+  }
+
   public Map<String, TemplateEngine> getTemplateEngines() {
     return templateEngines;
   }
@@ -252,6 +419,118 @@ public class Config {
     return rateLimit;
   }
 
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * @param policy the name of a policy from "throttling-policies", or an empty String for the "throttling" one
+   */
+  public RateLimiter getRateLimiter(String policy) {
+    if ("".equals(policy)) {
+      if (rateLimiter == null) {
+        throw new IllegalArgumentException("@Throttled is used, but no throttling is defined in the configuration");
+      }
+      return rateLimiter;
+    }
+    RateLimit limit = throttlingPolicies.get(policy);
+    if (limit == null) {
+      throw new IllegalArgumentException("Unknown throttling policy : " + policy);
+    }
+    return sharedRateLimiter("policy." + policy, limit);
+  }
+
+  /**
+   * @param owner identifies the controller or method declaring the inline policy : each one has its own limiter
+   * @return the limiter for an inline policy
+   */
+  public RateLimiter getRateLimiter(RateLimit limit, String owner) {
+    return sharedRateLimiter("inline." + owner, limit);
+  }
+
+  /**
+   * @return the seed of the hashes of the throttling keys, see KeyExtractors.hash(String, long)
+   */
+  public long getThrottlingSeed() {
+    return throttlingSeed;
+  }
+
+  /**
+   * @param policy the name of a policy from "throttling-policies", or an empty String for the "throttling" one
+   * @return the "key" of this policy, "remote-address" by default
+   */
+  public String getThrottlingKey(String policy) {
+    return throttlingKeys.getOrDefault(policy, DEFAULT_THROTTLING_KEY);
+  }
+
+  public void registerKeyExtractor(String name, KeyExtractor extractor) {
+    keyExtractors.put(name, extractor);
+  }
+
+  /**
+   * @param key either a registered extractor name ("remote-address", "user", "api-token", "route" or a custom one),
+   *            "forwarded-for:{trusted proxies}", "header:{name}", or several of them joined by '+' ("user+route" for instance)
+   */
+  public KeyExtractor getKeyExtractor(String key) {
+    if (key.indexOf('+') >= 0) {
+      String[] parts = key.split("\\+");
+      KeyExtractor[] extractors = new KeyExtractor[parts.length];
+      for (int i = 0; i < parts.length; i++) {
+        extractors[i] = getKeyExtractor(parts[i].trim());
+      }
+      return KeyExtractors.composite(extractors);
+    }
+    int colon = key.indexOf(':');
+    String name = colon < 0 ? key : key.substring(0, colon);
+    String arg = colon < 0 ? null : key.substring(colon + 1);
+    if ("forwarded-for".equals(name)) {
+      return KeyExtractors.forwardedFor(arg == null ? 1 : Integer.parseInt(arg));
+    }
+    if ("header".equals(name) && arg != null) {
+      return KeyExtractors.header(arg);
+    }
+    KeyExtractor extractor = keyExtractors.get(key);
+    if (extractor == null) {
+      throw new IllegalArgumentException("Unknown throttling key : " + key);
+    }
+    return extractor;
+  }
+
+  /**
+   * @return every limiter in use, by policy : "default" for the "throttling" one, "policy.{name}" for named ones, "inline.{limits}" for inline ones
+   */
+  public Map<String, RateLimiter> getRateLimiters() {
+    return rateLimiters;
+  }
+
+  public void registerEvictionPolicy(String name, Supplier<EvictionPolicy> policy) {
+    evictionPolicies.put(name, policy);
+  }
+
+  /**
+   * The cache is created when first needed, and shared by every instance, as configured by "response-cache"
+   */
+  public ResponseCache getResponseCache() {
+    if (responseCache == null) {
+      JsonObject cacheJson = json.getJsonObject("response-cache", new JsonObject());
+      String eviction = cacheJson.getString("eviction", DEFAULT_EVICTION_POLICY);
+      Supplier<EvictionPolicy> policy = evictionPolicies.get(eviction);
+      if (policy == null) {
+        throw new IllegalArgumentException("Unknown response cache eviction policy : " + eviction);
+      }
+      long maxBytes = cacheJson.getLong("max-bytes", DEFAULT_RESPONSE_CACHE_SIZE);
+      responseCache = sharedModel.computeIfAbsent("responseCache", () -> new BoundedResponseCache(maxBytes, policy));
+    }
+    return responseCache;
+  }
+
+  /**
+   * @return the response cache, or null if no @Cacheable route has been created
+   */
+  ResponseCache getResponseCacheIfCreated() {
+    return responseCache;
+  }
+
   void createAnnotInjectors(ParameterAdapterRegistry registry) {
     annotInjectors = new AnnotatedParamInjectorRegistry(marshallers, registry);
   }
@@ -260,6 +539,31 @@ public class Config {
     return domainPackage;
   }
 
+  public ClassIndex getClassIndex() {
+    return classIndex;
+  }
+
+  /**
+   * Scans every configured package at once (unless a generated index is available), only once per shared model. Blocking.
+   */
+  void createClassIndex(ClassLoader classLoader) {
+    classIndex = sharedModel.computeIfAbsent("classIndex", () -> {
+      Set<String> packages = new LinkedHashSet<>(controllerPackages);
+      packages.addAll(fixturePackages);
+      if (verticlePackage != null) {
+        packages.add(verticlePackage);
+      }
+      if (domainPackage != null) {
+        packages.add(domainPackage);
+      }
+      return ClassIndexFactory.create(classLoader, packages);
+    });
+  }
+
+  SharedModel getSharedModel() {
+    return sharedModel;
+  }
+
   public ServiceRegistry getServiceRegistry() {
     return serviceRegistry;
   }
@@ -364,8 +668,11 @@ public class Config {
     return paramHandlers.get(parameterClass);
   }
 
-  public<T extends Annotation> AnnotationProcessor<T> getAnnotationProcessor(T methodAnnotation) {
-    return apRegistry.getProcessor(methodAnnotation);
+  /**
+   * @param annotated the controller class or method carrying the annotation
+   */
+  public<T extends Annotation> AnnotationProcessor<T> getAnnotationProcessor(T annotation, AnnotatedElement annotated) {
+    return apRegistry.getProcessor(annotation, annotated);
   }
 
   public Handler<RoutingContext> getAopHandler(String name) {
@@ -388,4 +695,25 @@ public class Config {
     return controllerPackages;
   }
 
+  /**
+   * Periodically evicts the clients of a rate limiter which haven't been seen for a while, until it's closed
+   */
+  private static class IdleClientsSweep implements AutoCloseable {
+
+    private static final long DELAY = 60000;
+
+    private final Vertx vertx;
+    private final long timerId;
+
+    private IdleClientsSweep(Vertx vertx, RateLimiter limiter) {
+      this.vertx = vertx;
+      timerId = vertx.setPeriodic(DELAY, id -> limiter.evictIdle());
+    }
+
+    @Override
+    public void close() {
+      vertx.cancelTimer(timerId);
+    }
+  }
+
 }
@@ -0,0 +1,111 @@
+package com.github.aesteve.vertx.nubes;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds what can be computed once for every VertxNubes instance created with the same configuration
+ * (i.e. a NubesServer deployed with several instances) : classpath scan, JAXB context, template engines, rate limiters, controllers metadata.
+ * Everything stored here must be thread-safe, since it's read from several event-loops.
+ */
+class SharedModel implements Shareable {
+
+  private static final String MAP_NAME = "nubes.sharedModels";
+  private static final Logger LOG = LoggerFactory.getLogger(SharedModel.class);
+  private static final Object LOCK = new Object();
+
+  private final String key;
+  private final ConcurrentMap<String, CompletableFuture<Object>> values;
+  private int references;
+
+  private SharedModel(String key) {
+    this.key = key;
+    values = new ConcurrentHashMap<>();
+  }
+
+  static SharedModel acquire(Vertx vertx, JsonObject json) {
+    String key = json.encode();
+    synchronized (LOCK) {
+      LocalMap<String, SharedModel> models = models(vertx);
+      SharedModel model = models.get(key);
+      if (model == null) {
+        model = new SharedModel(key);
+        models.put(key, model);
+      }
+      model.references++;
+      return model;
+    }
+  }
+
+  /**
+   * Once no instance uses the model anymore, its AutoCloseable values (rate limiters) are closed.
+   */
+  void release(Vertx vertx) {
+    synchronized (LOCK) {
+      references--;
+      if (references > 0) {
+        return;
+      }
+      models(vertx).remove(key);
+    }
+    values.values().forEach(value -> {
+      Object computed = value.getNow(null);
+      if (computed instanceof AutoCloseable) {
+        try {
+          ((AutoCloseable) computed).close();
+        } catch (Exception e) { //NOSONAR : keep closing the other ones
+          LOG.error("Could not close " + computed, e);
+        }
+      }
+    });
+  }
+
+  /**
+   * Concurrent callers of the same name wait for the first one to compute the value, callers of other names don't.
+   * Blocking computations (classpath scan, JAXB context, template engines) must thus only be requested from worker threads :
+   * the values requested from event-loops (rate limiters, response cache, metadata maps) are a mere constructor call.
+   * If the computation fails, the next caller computes it again.
+   */
+  @SuppressWarnings("unchecked")
+  <T> T computeIfAbsent(String name, Supplier<T> supplier) {
+    CompletableFuture<Object> value = values.get(name);
+    if (value == null) {
+      CompletableFuture<Object> computing = new CompletableFuture<>();
+      value = values.putIfAbsent(name, computing);
+      if (value == null) {
+        try {
+          T computed = supplier.get();
+          computing.complete(computed);
+          return computed;
+        } catch (RuntimeException | Error e) {
+          values.remove(name, computing);
+          computing.completeExceptionally(e);
+          throw e;
+        }
+      }
+    }
+    try {
+      return (T) value.join();
+    } catch (CompletionException ce) {
+      if (ce.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ce.getCause();
+      }
+      throw new VertxException(ce.getCause());
+    }
+  }
+
+  private static LocalMap<String, SharedModel> models(Vertx vertx) {
+    return vertx.sharedData().getLocalMap(MAP_NAME);
+  }
+}
@@ -6,12 +6,14 @@ import com.github.aesteve.vertx.nubes.annotations.auth.Auth;
 import com.github.aesteve.vertx.nubes.annotations.auth.Logout;
 import com.github.aesteve.vertx.nubes.annotations.cookies.CookieValue;
 import com.github.aesteve.vertx.nubes.annotations.cookies.Cookies;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
 import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
 import com.github.aesteve.vertx.nubes.annotations.mixins.Throttled;
 import com.github.aesteve.vertx.nubes.annotations.routing.Redirect;
-import com.github.aesteve.vertx.nubes.context.ClientAccesses;
+import com.github.aesteve.vertx.nubes.caching.EvictionPolicy;
+import com.github.aesteve.vertx.nubes.caching.ResponseCache;
 import com.github.aesteve.vertx.nubes.context.PaginationContext;
-import com.github.aesteve.vertx.nubes.context.RateLimit;
 import com.github.aesteve.vertx.nubes.fixtures.FixtureLoader;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
@@ -21,8 +23,11 @@ import com.github.aesteve.vertx.nubes.i18n.LocaleResolverRegistry;
 import com.github.aesteve.vertx.nubes.i18n.impl.AcceptLanguageLocaleResolver;
 import com.github.aesteve.vertx.nubes.marshallers.Payload;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.StreamFormat;
 import com.github.aesteve.vertx.nubes.marshallers.impl.BoonPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.CborPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.marshallers.impl.JAXBPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.MessagePackPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.marshallers.impl.PlainTextMarshaller;
 import com.github.aesteve.vertx.nubes.reflections.AnnotVerticleFactory;
 import com.github.aesteve.vertx.nubes.reflections.EventBusBridgeFactory;
@@ -37,36 +42,41 @@ import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.LocaleParamInjector;
 import com.github.aesteve.vertx.nubes.services.Service;
 import com.github.aesteve.vertx.nubes.services.ServiceRegistry;
+import com.github.aesteve.vertx.nubes.throttling.KeyExtractor;
+import com.github.aesteve.vertx.nubes.throttling.RateLimiter;
 import com.github.aesteve.vertx.nubes.utils.async.AsyncUtils;
 import com.github.aesteve.vertx.nubes.utils.async.MultipleFutures;
 import com.github.aesteve.vertx.nubes.views.TemplateEngineManager;
 import io.vertx.core.*;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.CookieHandler;
 import io.vertx.ext.web.handler.StaticHandler;
 import io.vertx.ext.web.templ.TemplateEngine;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
 
+import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import java.lang.annotation.Annotation;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.github.aesteve.vertx.nubes.utils.async.AsyncUtils.completeFinally;
 import static com.github.aesteve.vertx.nubes.utils.async.AsyncUtils.completeOrFail;
 
 public class VertxNubes {
 
-  private static final int CLEAN_HISTORY_DELAY = 60000;
+  private static final Logger LOG = LoggerFactory.getLogger(VertxNubes.class);
   protected final Config config;
   protected final Vertx vertx;
 
   private Router router;
+  private Route failures;
+  private Route mount;
   private FixtureLoader fixtureLoader;
   private Handler<RoutingContext> failureHandler;
   private final ParameterAdapterRegistry registry;
@@ -92,43 +102,89 @@ public class VertxNubes {
     registerAnnotationProcessor(File.class, new FileProcessorFactory());
     registerMarshaller("text/plain", new PlainTextMarshaller());
     registerMarshaller("application/json", new BoonPayloadMarshaller());
-    String domainPackage = config.getDomainPackage();
-    if (domainPackage != null) {
-      try {
-        Reflections reflections = new Reflections(domainPackage, new SubTypesScanner(false));
-        registerMarshaller("application/xml", new JAXBPayloadMarshaller(reflections.getSubTypesOf(Object.class)));
-      } catch (JAXBException je) {
-        throw new VertxException(je);
-      }
-    }
+    registerMarshaller("application/x-ndjson", new BoonPayloadMarshaller(StreamFormat.LINES));
+    registerMarshaller("application/cbor", new CborPayloadMarshaller());
+    registerMarshaller("application/x-msgpack", new MessagePackPayloadMarshaller());
     failureHandler = new DefaultErrorHandler(config, templManager, marshallers);
 
     // default processors/handlers
     CookieHandler cookieHandler = CookieHandler.create();
     registerAnnotationHandler(Cookies.class, cookieHandler);
     registerAnnotationHandler(CookieValue.class, cookieHandler);
-    registerAnnotationHandler(Throttled.class, RateLimitationHandler.create(config));
     registerTypeProcessor(PaginationContext.class, new PaginationProcessor());
-    registerTypeProcessor(Payload.class, new PayloadTypeProcessor(marshallers));
+    registerTypeProcessor(Payload.class, new PayloadTypeProcessor(marshallers, config.isETags()));
     registerAnnotationProcessor(Redirect.class, new ClientRedirectProcessorFactory());
     registerAnnotationProcessor(ContentType.class, new ContentTypeProcessorFactory());
+    registerAnnotationProcessor(Throttled.class, new RateLimitationProcessorFactory(config));
+    registerAnnotationProcessor(Cacheable.class, new ResponseCacheProcessorFactory(config));
+    registerAnnotationProcessor(ETag.class, new ETagProcessor());
     registerAnnotationProcessor(Logout.class, new LogoutProcessor());
   }
 
+  /**
+   * Nubes' routes are created once the classpath has been scanned, in a router mounted on paramRouter right away :
+   * they come before the routes you add to paramRouter after calling bootstrap, and after the ones you added before.
+   */
   public void bootstrap(Handler<AsyncResult<Router>> handler, Router paramRouter) {
-    setUpRouter(paramRouter);
+    router = Router.router(vertx);
+    failures = paramRouter.route().failureHandler(ctx -> failureHandler.handle(ctx));
+    // same as paramRouter.mountSubRouter("/", router), but keeps the route to remove it on stop
+    mount = paramRouter.route("/*").handler(router::handleContext).failureHandler(router::handleFailure);
+    final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    final BootstrapReport report = config.getBootstrapReport();
+    report.start();
+    vertx.<PayloadMarshaller>executeBlocking(future -> {
+      long start = System.nanoTime();
+      config.createClassIndex(classLoader);
+      report.record(BootstrapReport.PHASES, "class-index", start);
+      start = System.nanoTime();
+      config.createTemplateEngines();
+      report.record(BootstrapReport.PHASES, "template-engines", start);
+      start = System.nanoTime();
+      PayloadMarshaller domainMarshaller = createDomainMarshaller();
+      report.record(BootstrapReport.PHASES, "domain-marshaller", start);
+      future.complete(domainMarshaller);
+    }, false, res -> {
+      if (res.failed()) {
+        handler.handle(Future.failedFuture(res.cause()));
+        return;
+      }
+      if (res.result() != null && !marshallers.containsKey("application/xml")) {
+        registerMarshaller("application/xml", res.result());
+      }
+      try {
+        final long start = System.nanoTime();
+        setUpRouter();
+        report.record(BootstrapReport.PHASES, "router", start);
+      } catch (RuntimeException e) { //NOSONAR : wrong controller declarations, report it to the caller
+        handler.handle(Future.failedFuture(e));
+        return;
+      }
+      startServices(handler, paramRouter);
+    });
+  }
+
+  private void startServices(Handler<AsyncResult<Router>> handler, Router paramRouter) {
     final ServiceRegistry serviceRegistry = config.getServiceRegistry();
     fixtureLoader = new FixtureLoader(vertx, config, serviceRegistry);
     Map<String, DeploymentOptions> verticles = new AnnotVerticleFactory(config).scan();
     MultipleFutures<String> vertFutures = new MultipleFutures<>(verticles, this::deployVerticle);
+    final BootstrapReport report = config.getBootstrapReport();
+    final long verticlesStart = System.nanoTime();
     AsyncUtils.chainOnSuccess(
         handler,
         vertFutures,
-        serviceRegistry::startAll,
-        fixtureLoader::setUp,
+        fut -> {
+          report.record(BootstrapReport.PHASES, "verticles", verticlesStart);
+          report.<Void>timed(BootstrapReport.PHASES, "services", serviceRegistry::startAll).handle(fut);
+        },
+        report.timed(BootstrapReport.PHASES, "fixtures", fixtureLoader::setUp),
         res -> {
-          vertx.setPeriodic(CLEAN_HISTORY_DELAY, this::cleanHistoryMap);
-          handler.handle(Future.succeededFuture(router));
+          report.finish();
+          if (config.isLogBootstrapReport()) {
+            LOG.info("Bootstrap report : " + report.toJson().encodePrettily());
+          }
+          handler.handle(Future.succeededFuture(paramRouter));
         });
     vertFutures.start();
   }
@@ -138,9 +194,17 @@ public class VertxNubes {
   }
 
   public void stop(Handler<AsyncResult<Void>> handler) {
-    router.clear();
+    config.getSharedModel().release(vertx);
+    if (router != null) {
+      router.clear();
+      mount.remove();
+      failures.remove();
+    }
     MultipleFutures<Void> futures = new MultipleFutures<>(handler);
-    futures.add(fixtureLoader::tearDown);
+    // null if bootstrap failed (or hasn't been called) : no fixture has been set up
+    if (fixtureLoader != null) {
+      futures.add(fixtureLoader::tearDown);
+    }
     futures.add(config.getServiceRegistry()::stopAll);
     futures.add(this::stopDeployments);
     futures.start();
@@ -150,6 +214,43 @@ public class VertxNubes {
     vertx.undeploy(deploymentId, completeFinally(future));
   }
 
+  /**
+   * @return the duration of every bootstrap phase, controller, verticle, service and fixture (see BootstrapReport)
+   */
+  public JsonObject getBootstrapReport() {
+    return config.getBootstrapReport().toJson();
+  }
+
+  /**
+   * @return for every throttling policy : the number of clients tracked, evicted (limiter full), and expired
+   */
+  public JsonObject getThrottlingStats() {
+    JsonObject stats = new JsonObject();
+    config.getRateLimiters().forEach((policy, rateLimiter) -> stats.put(policy, new JsonObject()
+        .put("clients", rateLimiter.size())
+        .put("evictions", rateLimiter.evictions())
+        .put("expirations", rateLimiter.expirations())));
+    return stats;
+  }
+
+  /**
+   * @return the number of responses and bytes cached, hits, misses, evictions (cache full), expirations and rejections (not worth caching)
+   */
+  public JsonObject getResponseCacheStats() {
+    JsonObject stats = new JsonObject();
+    ResponseCache cache = config.getResponseCacheIfCreated();
+    if (cache != null) {
+      stats.put("entries", cache.size())
+          .put("bytes", cache.weight())
+          .put("hits", cache.hits())
+          .put("misses", cache.misses())
+          .put("evictions", cache.evictions())
+          .put("expirations", cache.expirations())
+          .put("rejections", cache.rejections());
+    }
+    return stats;
+  }
+
   public void registerTemplateEngine(String extension, TemplateEngine engine) {
     config.registerTemplateEngine(extension, engine);
   }
@@ -235,6 +336,20 @@ public class VertxNubes {
     config.registerAnnotationProcessor(annotation, processor);
   }
 
+  /**
+   * @param name the name to reference this extractor by, in the "key" of throttling policies or in @Throttled(key = ...)
+   */
+  public void registerKeyExtractor(String name, KeyExtractor extractor) {
+    config.registerKeyExtractor(name, extractor);
+  }
+
+  /**
+   * @param name the name to reference this policy by, in the "eviction" of "response-cache"
+   */
+  public void registerEvictionPolicy(String name, Supplier<EvictionPolicy> policy) {
+    config.registerEvictionPolicy(name, policy);
+  }
+
   public void registerMarshaller(String contentType, PayloadMarshaller marshaller) {
     marshallers.put(contentType, marshaller);
   }
@@ -253,8 +368,26 @@ public class VertxNubes {
 
   // private methods
 
-  private void setUpRouter(Router paramRouter) {
-    router = paramRouter;
+  /**
+   * Blocking : the JAXBContext has to introspect every domain class
+   */
+  private PayloadMarshaller createDomainMarshaller() {
+    String domainPackage = config.getDomainPackage();
+    if (domainPackage == null) {
+      return null;
+    }
+    // JAXBPayloadMarshaller pools its marshallers : a single one (and a single JAXBContext) for every instance
+    return config.getSharedModel().computeIfAbsent("jaxbMarshaller", () -> {
+      try {
+        JAXBContext context = JAXBContext.newInstance(config.getClassIndex().getAllTypes(domainPackage).toArray(new Class<?>[0]));
+        return new JAXBPayloadMarshaller(context);
+      } catch (JAXBException je) {
+        throw new VertxException(je);
+      }
+    });
+  }
+
+  private void setUpRouter() {
     router.route().failureHandler(failureHandler);
     if (locResolver != null) {
       locResolver.getAvailableLocales().forEach(this::loadResourceBundle);
@@ -278,33 +411,15 @@ public class VertxNubes {
     router.route(config.getAssetsPath() + "/*").handler(staticHandler);
   }
 
-  private void cleanHistoryMap(Long timerId) {
-    LocalMap<String, ClientAccesses> rateLimitations = vertx.sharedData().getLocalMap("mvc.rateLimitation");
-    if (rateLimitations == null) {
-      return;
-    }
-    rateLimitations.keySet().stream()
-        .filter(clientsWithNoAccessPredicate(rateLimitations))
-        .forEach(rateLimitations::remove);
-  }
-
-  private Predicate<String> clientsWithNoAccessPredicate(LocalMap<String, ClientAccesses> rateLimitations) {
-    RateLimit rateLimit = config.getRateLimit();
-    return clientIp -> {
-      ClientAccesses accesses = rateLimitations.get(clientIp);
-      long keepAfter = rateLimit.getTimeUnit().toMillis(rateLimit.getValue());
-      accesses.clearHistory(keepAfter);
-      return accesses.noAccess();
-    };
-  }
-
   private void loadResourceBundle(Locale loc) {
     ResourceBundle bundle = ResourceBundle.getBundle(config.getI18nDir() + "messages", loc);
     config.createBundle(loc, bundle);
   }
 
   private void deployVerticle(String vertName, DeploymentOptions options, Future<String> future) {
-    vertx.deployVerticle(vertName, options, completeOrFail(future));
+    config.getBootstrapReport().<String>timed(BootstrapReport.VERTICLES, vertName, fut ->
+      vertx.deployVerticle(vertName, options, completeOrFail(fut))
+    ).handle(future);
   }
 
   private void stopDeployments(Future<Void> future) {
@@ -0,0 +1,34 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the marshalled payload of a GET route, as configured by "response-cache".
+ * A cached response is sent without calling any filter nor the method, and without marshalling anything.
+ * Responses are cached per path (and thus path parameters), query parameters, negotiated content-type, locale and authenticated user.
+ * Only 200 responses with a marshalled payload are cached, unless they set a cookie. Views, files and streamed payloads are never cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Cacheable {
+
+  /**
+   * @return how long a response is cached
+   */
+  long ttl();
+
+  TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+  /**
+   * @return the query parameters the response depends on, by default the whole query string
+   */
+  String[] key() default {};
+
+  /**
+   * @return the request headers the response depends on (as the Vary response header)
+   */
+  String[] vary() default {};
+
+}
@@ -0,0 +1,15 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.*;
+
+/**
+ * Sets an ETag on marshalled payloads : a hash of the marshalled body.
+ * If the client already has it (If-None-Match), a 304 is sent without any body.
+ * The method still runs : to skip it too, tell the version of the resource up front, through ConditionalRequest.
+ * The "etags" configuration enables it for every route.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ETag {
+}
@@ -1,9 +1,37 @@
 package com.github.aesteve.vertx.nubes.annotations.mixins;
 
 import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Rate limitation, per client.
+ * Without any attribute, the "throttling" policy from the configuration is applied.
+ * Either reference a named policy from "throttling-policies" (value), or declare the limits inline (count and timeFrame).
+ * On a controller, the budget is shared by every route of the controller, and applies on top of the routes' own policies.
+ * Clients are identified by their remote address, unless the policy or the annotation defines another key.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
 @Target({ElementType.METHOD, ElementType.TYPE})
 public @interface Throttled {
+
+  /**
+   * @return the name of a policy defined in "throttling-policies"
+   */
+  String value() default "";
+
+  /**
+   * @return the number of accesses allowed per time frame (inline policy)
+   */
+  int count() default -1;
+
+  int timeFrame() default -1;
+
+  TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+  /**
+   * @return how to identify clients ("user", "forwarded-for:2", "header:X-Api-Key", "user+route"...), overrides the policy's key
+   */
+  String key() default "";
+
 }
@@ -9,4 +9,9 @@ import java.lang.annotation.Target;
 @Target(ElementType.PARAMETER)
 public @interface RequestBody {
 
+  /**
+   * @return the maximum size of the body, in bytes (a larger one is rejected with a 413 status), -1 for the configured body-limit
+   */
+  long maxSize() default -1;
+
 }
@@ -0,0 +1,52 @@
+package com.github.aesteve.vertx.nubes.caching;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.Map;
+
+/**
+ * A marshalled response body, and the headers it was sent with.
+ * The body is copied once when cached, then written as is on every hit, without any copy.
+ */
+public class CachedResponse {
+
+  private final Buffer body;
+  private final MultiMap headers;
+  private final long expiresAt;
+  private final long weight;
+
+  /**
+   * @param timeToLive in milliseconds
+   */
+  public CachedResponse(Buffer body, MultiMap headers, long timeToLive) {
+    this.body = body.copy();
+    this.headers = MultiMap.caseInsensitiveMultiMap().addAll(headers);
+    expiresAt = System.currentTimeMillis() + timeToLive;
+    long headersWeight = 0;
+    for (Map.Entry<String, String> header : this.headers) {
+      headersWeight += header.getKey().length() + header.getValue().length();
+    }
+    weight = body.length() + 2 * headersWeight;
+  }
+
+  public Buffer body() {
+    return body;
+  }
+
+  public MultiMap headers() {
+    return headers;
+  }
+
+  public boolean isExpired(long now) {
+    return now >= expiresAt;
+  }
+
+  /**
+   * @return an estimate of the memory held by this response, in bytes
+   */
+  public long weight() {
+    return weight;
+  }
+
+}
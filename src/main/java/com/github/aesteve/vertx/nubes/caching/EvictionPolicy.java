@@ -0,0 +1,23 @@
+package com.github.aesteve.vertx.nubes.caching;
+
+/**
+ * Decides which responses deserve the cache's budget.
+ * The cache keeps its entries in least recently used order : when it's full, the policy is asked whether a new entry should replace each of the least recently used ones.
+ * The cache is split into segments, each one with its own policy, called under the segment's lock : implementations don't need to be thread-safe.
+ * Referenced by name, through the "eviction" of the "response-cache" configuration.
+ */
+public interface EvictionPolicy {
+
+  /**
+   * Called on every lookup, whether the key is cached or not.
+   */
+  void recordAccess(String key);
+
+  /**
+   * @param candidate the key of the entry being cached
+   * @param victim the key of one of the least recently used entries, which would be evicted
+   * @return false to keep every victim, and not cache the candidate
+   */
+  boolean admit(String candidate, String victim);
+
+}
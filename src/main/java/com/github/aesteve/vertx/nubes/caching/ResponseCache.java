@@ -0,0 +1,50 @@
+package com.github.aesteve.vertx.nubes.caching;
+
+/**
+ * Holds the responses of @Cacheable routes, within a budget in bytes.
+ * Implementations are shared between event-loops and must be thread-safe.
+ */
+public interface ResponseCache {
+
+  /**
+   * @return the response cached under this key, or null if there's none or it has expired
+   */
+  CachedResponse get(String key);
+
+  /**
+   * Caches a response, unless the eviction policy prefers the entries it would replace.
+   *
+   * @return false if the response hasn't been cached
+   */
+  boolean put(String key, CachedResponse response);
+
+  /**
+   * @return the number of responses currently cached
+   */
+  int size();
+
+  /**
+   * @return the weight, in bytes, of the responses currently cached
+   */
+  long weight();
+
+  long hits();
+
+  long misses();
+
+  /**
+   * @return the number of responses dropped to make room for other ones
+   */
+  long evictions();
+
+  /**
+   * @return the number of responses dropped because their time-to-live elapsed
+   */
+  long expirations();
+
+  /**
+   * @return the number of responses not cached : too large, or less frequently accessed than the ones they'd replace
+   */
+  long rejections();
+
+}
@@ -0,0 +1,212 @@
+package com.github.aesteve.vertx.nubes.caching.impl;
+
+import com.github.aesteve.vertx.nubes.caching.CachedResponse;
+import com.github.aesteve.vertx.nubes.caching.EvictionPolicy;
+import com.github.aesteve.vertx.nubes.caching.ResponseCache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Responses in least recently used order, within a budget in bytes.
+ *
+ * The cache is split into segments, by key : each one has its own lock, share of the budget and EvictionPolicy, so that event-loops looking up different keys rarely wait for each other.
+ * A lookup is a map access under its segment's lock, then the cached body is written without any copy or marshalling.
+ * Expired responses are dropped when looked up, or when they're among the least recently used ones while making room for a new response.
+ * When a segment is full, the EvictionPolicy decides whether the new response replaces the least recently used ones : if it keeps any of them, nothing is evicted.
+ */
+public class BoundedResponseCache implements ResponseCache {
+
+  static final int MAX_SEGMENTS = 16;
+  static final long MIN_SEGMENT_WEIGHT = 1024 * 1024;
+
+  private final Segment[] segments;
+  private final int mask;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+  private final LongAdder expirations;
+  private final LongAdder rejections;
+
+  /**
+   * @param maxWeight the budget, in bytes (see CachedResponse.weight) : one segment per MB, up to MAX_SEGMENTS
+   * @param policies creates the EvictionPolicy of each segment
+   */
+  public BoundedResponseCache(long maxWeight, Supplier<EvictionPolicy> policies) {
+    this(maxWeight, segments(maxWeight), policies);
+  }
+
+  /**
+   * @param segments rounded down to a power of 2. A response can't weigh more than a segment's budget
+   */
+  public BoundedResponseCache(long maxWeight, int segments, Supplier<EvictionPolicy> policies) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("Invalid response cache size : " + maxWeight);
+    }
+    if (segments <= 0) {
+      throw new IllegalArgumentException("Invalid response cache segments : " + segments);
+    }
+    int size = Integer.highestOneBit(segments);
+    this.segments = new Segment[size];
+    for (int i = 0; i < size; i++) {
+      this.segments[i] = new Segment(maxWeight / size, policies.get());
+    }
+    mask = size - 1;
+    hits = new LongAdder();
+    misses = new LongAdder();
+    evictions = new LongAdder();
+    expirations = new LongAdder();
+    rejections = new LongAdder();
+  }
+
+  @Override
+  public CachedResponse get(String key) {
+    CachedResponse response = segment(key).get(key);
+    if (response == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return response;
+  }
+
+  @Override
+  public boolean put(String key, CachedResponse response) {
+    boolean cached = segment(key).put(key, response);
+    if (!cached) {
+      rejections.increment();
+    }
+    return cached;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  @Override
+  public long weight() {
+    long weight = 0;
+    for (Segment segment : segments) {
+      weight += segment.weight();
+    }
+    return weight;
+  }
+
+  @Override
+  public long hits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public long expirations() {
+    return expirations.sum();
+  }
+
+  @Override
+  public long rejections() {
+    return rejections.sum();
+  }
+
+  private Segment segment(String key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & mask];
+  }
+
+  private static int segments(long maxWeight) {
+    long segments = Math.min(MAX_SEGMENTS, maxWeight / MIN_SEGMENT_WEIGHT);
+    return segments < 1 ? 1 : (int) segments;
+  }
+
+  private class Segment {
+
+    private final long maxWeight;
+    private final EvictionPolicy policy;
+    private final LinkedHashMap<String, CachedResponse> entries;
+    private long weight;
+
+    private Segment(long maxWeight, EvictionPolicy policy) {
+      this.maxWeight = maxWeight;
+      this.policy = policy;
+      entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private synchronized CachedResponse get(String key) {
+      policy.recordAccess(key);
+      CachedResponse response = entries.get(key);
+      if (response != null && response.isExpired(System.currentTimeMillis())) {
+        remove(key);
+        expirations.increment();
+        return null;
+      }
+      return response;
+    }
+
+    private synchronized boolean put(String key, CachedResponse response) {
+      if (response.weight() > maxWeight) {
+        return false;
+      }
+      remove(key);
+      long now = System.currentTimeMillis();
+      long freed = 0;
+      int expired = 0;
+      List<String> victims = new ArrayList<>();
+      Iterator<Map.Entry<String, CachedResponse>> leastRecentlyUsed = entries.entrySet().iterator();
+      // the whole set of victims is known before anything is evicted
+      while (weight - freed + response.weight() > maxWeight) {
+        Map.Entry<String, CachedResponse> victim = leastRecentlyUsed.next();
+        if (victim.getValue().isExpired(now)) {
+          expired++;
+        } else if (!policy.admit(key, victim.getKey())) {
+          return false;
+        }
+        victims.add(victim.getKey());
+        freed += victim.getValue().weight();
+      }
+      for (String victim : victims) {
+        remove(victim);
+      }
+      expirations.add(expired);
+      evictions.add(victims.size() - expired);
+      entries.put(key, response);
+      weight += response.weight();
+      return true;
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+
+    private synchronized long weight() {
+      return weight;
+    }
+
+    private void remove(String key) {
+      CachedResponse removed = entries.remove(key);
+      if (removed != null) {
+        weight -= removed.weight();
+      }
+    }
+
+  }
+
+}
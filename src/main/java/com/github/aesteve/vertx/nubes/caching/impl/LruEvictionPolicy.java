@@ -0,0 +1,20 @@
+package com.github.aesteve.vertx.nubes.caching.impl;
+
+import com.github.aesteve.vertx.nubes.caching.EvictionPolicy;
+
+/**
+ * New responses always replace the least recently used ones.
+ */
+public class LruEvictionPolicy implements EvictionPolicy {
+
+  @Override
+  public void recordAccess(String key) {
+    // recency is tracked by the cache itself
+  }
+
+  @Override
+  public boolean admit(String candidate, String victim) {
+    return true;
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.github.aesteve.vertx.nubes.caching.impl;
+
+import com.github.aesteve.vertx.nubes.caching.EvictionPolicy;
+
+/**
+ * TinyLFU admission : a new response only replaces the least recently used one if its key has been looked up more often recently.
+ * Thus, a burst of one-off requests (a crawler walking through every page for instance) can't flush the popular responses.
+ *
+ * Frequencies are estimated by a count-min sketch : a few counters per key, in arrays of fixed size, whatever the number of keys.
+ * Every SAMPLE_FACTOR * width accesses, every counter is halved, so that formerly popular keys fade out.
+ */
+public class TinyLfuEvictionPolicy implements EvictionPolicy {
+
+  private static final int DEPTH = 4;
+  private static final int SAMPLE_FACTOR = 10;
+  private static final int MAX_COUNT = 15;
+  private static final int[] SEEDS = {0x9e3779b9, 0x85ebca6b, 0xc2b2ae35, 0x27d4eb2f};
+
+  private final byte[][] counters;
+  private final int mask;
+  private final int sampleSize;
+  private int accesses;
+
+  public TinyLfuEvictionPolicy() {
+    this(4096);
+  }
+
+  /**
+   * @param width the number of counters per row, rounded up to a power of 2 : a few times the number of keys worth comparing
+   */
+  public TinyLfuEvictionPolicy(int width) {
+    if (width <= 0) {
+      throw new IllegalArgumentException("Invalid sketch width : " + width);
+    }
+    int size = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+    counters = new byte[DEPTH][size];
+    mask = size - 1;
+    sampleSize = SAMPLE_FACTOR * size;
+  }
+
+  @Override
+  public void recordAccess(String key) {
+    int hash = key.hashCode();
+    for (int row = 0; row < DEPTH; row++) {
+      int index = index(hash, row);
+      if (counters[row][index] < MAX_COUNT) {
+        counters[row][index]++;
+      }
+    }
+    if (++accesses >= sampleSize) {
+      age();
+    }
+  }
+
+  @Override
+  public boolean admit(String candidate, String victim) {
+    return frequency(candidate) > frequency(victim);
+  }
+
+  /**
+   * @return the estimated number of recent accesses to this key (never underestimated, unless aged)
+   */
+  public int frequency(String key) {
+    int hash = key.hashCode();
+    int frequency = MAX_COUNT;
+    for (int row = 0; row < DEPTH; row++) {
+      frequency = Math.min(frequency, counters[row][index(hash, row)]);
+    }
+    return frequency;
+  }
+
+  private void age() {
+    for (byte[] row : counters) {
+      for (int i = 0; i < row.length; i++) {
+        row[i] >>= 1;
+      }
+    }
+    accesses /= 2;
+  }
+
+  private int index(int hash, int row) {
+    int h = hash * SEEDS[row];
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+}
@@ -0,0 +1,84 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import com.github.aesteve.vertx.nubes.utils.ETags;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+import static io.vertx.core.http.HttpHeaders.LAST_MODIFIED;
+
+/**
+ * Lets a controller tell the current version of a resource, before computing it.
+ * If the client already has this version (If-None-Match, or If-Modified-Since), a 304 is sent right away :
+ * from a @BeforeFilter, the method isn't even called, and nothing is marshalled.
+ *
+ * <pre>
+ * if (conditional.isNotModified(dogs.revision())) {
+ *   return;
+ * }
+ * </pre>
+ */
+public class ConditionalRequest {
+
+  private final RoutingContext context;
+
+  public ConditionalRequest(RoutingContext context) {
+    this.context = context;
+  }
+
+  /**
+   * Sets the ETag of the response.
+   *
+   * @param version anything identifying the current state of the resource (a revision number, a hash...), quoted as an ETag
+   * @return true if the client has this version : a 304 has been sent
+   */
+  public boolean isNotModified(String version) {
+    String etag = ETags.quote(version);
+    context.response().putHeader(ETAG, etag);
+    return isConditional() && ETags.matches(context.request().getHeader(IF_NONE_MATCH), etag) && notModified();
+  }
+
+  /**
+   * Sets the Last-Modified date of the response. If-Modified-Since is ignored if the client sent If-None-Match.
+   *
+   * @return true if the client's version is as recent : a 304 has been sent
+   */
+  public boolean isNotModified(Instant lastModified) {
+    ZonedDateTime modified = lastModified.atZone(ZoneOffset.UTC).withNano(0);
+    context.response().putHeader(LAST_MODIFIED, DateTimeFormatter.RFC_1123_DATE_TIME.format(modified));
+    HttpServerRequest request = context.request();
+    String since = request.getHeader(IF_MODIFIED_SINCE);
+    if (!isConditional() || since == null || request.getHeader(IF_NONE_MATCH) != null) {
+      return false;
+    }
+    try {
+      return !modified.isAfter(ZonedDateTime.parse(since, DateTimeFormatter.RFC_1123_DATE_TIME)) && notModified();
+    } catch (DateTimeParseException dtpe) { //NOSONAR
+      // invalid dates are ignored (RFC 7232)
+      return false;
+    }
+  }
+
+  private boolean isConditional() {
+    HttpMethod method = context.request().method();
+    return method == HttpMethod.GET || method == HttpMethod.HEAD;
+  }
+
+  private boolean notModified() {
+    HttpServerResponse response = context.response();
+    response.setStatusCode(304);
+    response.end();
+    return true;
+  }
+
+}
@@ -4,14 +4,22 @@ import java.util.concurrent.TimeUnit;
 
 public class RateLimit {
 
+  public static final int DEFAULT_MAX_CLIENTS = 100_000;
+
   private final int count;
   private final int value;
   private final TimeUnit timeUnit;
+  private final int maxClients;
 
   public RateLimit(int count, int value, TimeUnit timeUnit) {
+    this(count, value, timeUnit, DEFAULT_MAX_CLIENTS);
+  }
+
+  public RateLimit(int count, int value, TimeUnit timeUnit, int maxClients) {
     this.count = count;
     this.value = value;
     this.timeUnit = timeUnit;
+    this.maxClients = maxClients;
   }
 
   public int getCount() {
@@ -26,9 +34,13 @@ public class RateLimit {
     return timeUnit;
   }
 
+  public int getMaxClients() {
+    return maxClients;
+  }
+
   @Override
   public String toString() {
-    return "Rate limit : {count=" + count + ", value=" + value + ", timeUnit=" + timeUnit + "}";
+    return "Rate limit : {count=" + count + ", value=" + value + ", timeUnit=" + timeUnit + ", maxClients=" + maxClients + "}";
   }
 
 }
@@ -1,5 +1,9 @@
 package com.github.aesteve.vertx.nubes.exceptions.params;
 
+/**
+ * A request parameter can't be bound : the request fails with a 400.
+ * Bad requests are common, and the stack trace would never be displayed : it isn't captured.
+ */
 public class WrongParameterException extends Exception {
 
   public enum ParamType {
@@ -24,7 +28,7 @@ public class WrongParameterException extends Exception {
   protected final ParamType type;
 
   public WrongParameterException(ParamType type, String paramName, Exception cause) {
-    super(cause);
+    super(cause == null ? null : cause.toString(), cause, false, false);
     this.type = type;
     this.paramName = paramName;
   }
@@ -1,12 +1,12 @@
 package com.github.aesteve.vertx.nubes.fixtures;
 
+import com.github.aesteve.vertx.nubes.BootstrapReport;
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.services.ServiceRegistry;
 import com.github.aesteve.vertx.nubes.utils.async.AsyncUtils;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
-import org.reflections.Reflections;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -49,7 +49,7 @@ public class FixtureLoader {
     fixtures.stream().sorted().forEach(fixture -> {
       switch (methodName) {
         case "startUp":
-          list.add(fut -> fixture.startUp(vertx, fut));
+          list.add(config.getBootstrapReport().timed(BootstrapReport.FIXTURES, fixture.getClass().getName(), fut -> fixture.startUp(vertx, fut)));
           break;
         case "tearDown":
           list.add(fut -> fixture.tearDown(vertx, fut));
@@ -77,8 +77,7 @@ public class FixtureLoader {
       return;
     }
     for (String fixturePackage : fixturePackages) {
-      Reflections reflections = new Reflections(fixturePackage);
-      Set<Class<? extends Fixture>> fixtureClasses = reflections.getSubTypesOf(Fixture.class);
+      Set<Class<? extends Fixture>> fixtureClasses = config.getClassIndex().getSubTypesOf(fixturePackage, Fixture.class);
       for (Class<? extends Fixture> fixtureClass : fixtureClasses) {
         try {
           Fixture fixture = fixtureClass.newInstance();
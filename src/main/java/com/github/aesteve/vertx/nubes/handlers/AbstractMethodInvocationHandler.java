@@ -2,30 +2,31 @@ package com.github.aesteve.vertx.nubes.handlers;
 
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.exceptions.params.WrongParameterException;
+import com.github.aesteve.vertx.nubes.reflections.MethodMetadata;
+import com.github.aesteve.vertx.nubes.reflections.ParameterMetadata;
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvoker;
+import com.github.aesteve.vertx.nubes.reflections.injectors.ParamResolver;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
-import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjectorRegistry;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
-import com.github.aesteve.vertx.nubes.reflections.injectors.typed.TypedParamInjectorRegistry;
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.reflect.Type;
 import java.util.function.BiConsumer;
 
 public abstract class AbstractMethodInvocationHandler<T> implements Handler<RoutingContext> {
 
   protected final Method method;
   protected final Object instance;
+  protected final MethodInvoker invoker;
   protected final boolean hasNext;
   protected final BiConsumer<RoutingContext, T> returnHandler;
   protected final boolean returnsSomething;
   private final Config config;
-  private final Parameter[] parameters;
+  private final ParamResolver[] resolvers;
   protected boolean usesRoutingContext;
   protected boolean usesHttpResponse;
 
@@ -33,52 +34,61 @@ public abstract class AbstractMethodInvocationHandler<T> implements Handler<Rout
     this.method = method;
     returnsSomething = !method.getReturnType().equals(Void.TYPE);
     this.hasNext = hasNext;
-    parameters = method.getParameters();
-    for (Parameter param : parameters) {
-      Class<?> paramType = param.getType();
+    this.config = config;
+    final MethodMetadata metadata = config.getMethodMetadata(method);
+    final ParameterMetadata[] parameters = metadata.parameters();
+    resolvers = new ParamResolver[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      ParameterMetadata param = parameters[i];
+      Class<?> paramType = param.type();
       if (paramType.equals(RoutingContext.class)) {
         usesRoutingContext = true;
       }
       if (paramType.equals(HttpServerResponse.class)) {
         usesHttpResponse = true;
       }
+      resolvers[i] = createResolver(param);
     }
-    this.config = config;
     this.instance = instance;
     this.returnHandler = returnHandler;
+    invoker = metadata.invoker(instance);
   }
 
   @Override
   abstract public void handle(RoutingContext routingContext);
 
   protected Object[] getParameters(RoutingContext routingContext) throws WrongParameterException {
-    List<Object> params = new ArrayList<>();
-    for (Parameter param : parameters) {
-      Object paramInstance = getParameterInstance(routingContext, param.getAnnotations(), param.getType(), param.getName());
-      params.add(paramInstance);
+    final Object[] params = new Object[resolvers.length];
+    for (int i = 0; i < resolvers.length; i++) {
+      params[i] = resolvers[i].resolve(routingContext);
     }
-    return params.toArray();
+    return params;
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
-  private Object getParameterInstance(RoutingContext context, Annotation[] annotations, Class<?> parameterClass, String paramName) throws WrongParameterException {
-    final TypedParamInjectorRegistry typeInjectors = config.getTypeInjectors();
+  private ParamResolver createResolver(ParameterMetadata param) {
+    final Annotation[] annotations = param.annotations();
+    final Class<?> parameterClass = param.type();
+    final String paramName = param.name();
+    if (annotations.length > 1) {
+      throw new IllegalArgumentException("Every parameter should only have ONE annotation : " + paramName + " in " + method);
+    }
     if (annotations.length == 0) { // rely on type
-      final ParamInjector<?> injector = typeInjectors.getInjector(parameterClass);
-      if (injector == null) {
-        return null;
+      final ParamInjector<?> injector = config.getTypeInjectors().getInjector(parameterClass);
+      if (injector != null) {
+        return injector::resolve;
       }
-      return injector.resolve(context);
-    }
-    if (annotations.length > 1) {
-      throw new IllegalArgumentException("Every parameter should only have ONE annotation");
+      if (config.getParamHandler(parameterClass) == null && config.getTypeProcessor(parameterClass) == null) {
+        throw new IllegalArgumentException("Don't know how to inject parameter " + paramName + " of type " + parameterClass.getName() + " in " + method + ". Register a ParamInjector for this type, or annotate it.");
+      }
+      return ParamResolver.NULL;
     }
     final Annotation annotation = annotations[0]; // rely on annotation
-    final AnnotatedParamInjectorRegistry annotatedInjectors = config.getAnnotatedInjectors();
-    final AnnotatedParamInjector injector = annotatedInjectors.getInjector(annotation.annotationType());
+    final AnnotatedParamInjector injector = config.getAnnotatedInjectors().getInjector(annotation.annotationType());
     if (injector == null) {
-      return null;
+      return ParamResolver.NULL;
     }
-    return injector.resolve(context, annotation, paramName, parameterClass);
+    final Type genericType = param.genericType();
+    return context -> injector.resolve(context, annotation, paramName, parameterClass, genericType);
   }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.github.aesteve.vertx.nubes.handlers;
 import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,10 +26,10 @@ public class AnnotationProcessorRegistry {
   }
 
   @SuppressWarnings("unchecked")
-  public <T extends Annotation> AnnotationProcessor<T> getProcessor(T annotation) {
+  public <T extends Annotation> AnnotationProcessor<T> getProcessor(T annotation, AnnotatedElement annotated) {
     AnnotationProcessorFactory<T> factory = (AnnotationProcessorFactory<T>) getFactory(annotation.annotationType());
     if (factory != null) {
-      return factory.create(annotation);
+      return factory.create(annotation, annotated);
     }
     return getSimpleProcessor(annotation);
   }
@@ -10,4 +10,12 @@ public interface Processor {
 
   void afterAll(RoutingContext context);
 
+  /**
+   * Tells whether the processor reads the request body (context.getBody(), form attributes...) : if so, it's buffered for it.
+   * Assumed by default, built-in processors which don't read it say so.
+   */
+  default boolean readsBody() {
+    return true;
+  }
+
 }
@@ -33,4 +33,10 @@ public class CheckAuthorityProcessor extends NoopAfterAllProcessor implements An
   public void postHandle(RoutingContext context) {
     context.next();
   }
+
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
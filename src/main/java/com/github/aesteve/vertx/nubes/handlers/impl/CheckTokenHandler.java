@@ -50,7 +50,10 @@ public class CheckTokenHandler extends AuthHandlerImpl {
     });
   }
 
-  private String parseApiToken(HttpServerRequest request) throws BadRequestException {
+  /**
+   * @return the token from the "Authorization: token xxx" header, or the "access_token" parameter
+   */
+  public static String parseApiToken(HttpServerRequest request) throws BadRequestException {
     String authorization = request.headers().get(HttpHeaders.AUTHORIZATION);
     if (authorization != null) {
       String[] parts = authorization.split(" ");
@@ -0,0 +1,276 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.StreamFormat;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes a Stream, Iterator, Iterable or ReadStream payload element by element, as laid out by the marshaller's StreamFormat.
+ *
+ * Elements are gathered into chunks of CHUNK_SIZE bytes, and iterating (or reading) stops while the response's write queue is full :
+ * whatever the number of elements, only a few chunks are held in memory.
+ * A payload fitting in a single chunk is sent as a regular response, with a Content-Length.
+ * Iterators are consumed on the event-loop : they must not block.
+ *
+ * If the client goes away before the end, the source is released : Streams are closed, ReadStreams are closed (files) or drained.
+ * The response's close handler is taken over to notice it : controllers can rely on Stream.onClose instead.
+ *
+ * Routes hashing (ETag) or caching their response need the whole body : it's laid out in memory then, see marshallWhole.
+ */
+class ChunkedPayloadWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ChunkedPayloadWriter.class);
+  private static final int CHUNK_SIZE = 8192;
+  private static final Runnable NOTHING = () -> {};
+
+  private final RoutingContext context;
+  private final HttpServerResponse response;
+  private final PayloadMarshaller marshaller;
+  private final StreamFormat format;
+  private Buffer chunk;
+  private boolean firstElement;
+  private boolean closed;
+  // what to do with the source if the client goes away before the end
+  private Runnable releaseSource;
+
+  private ChunkedPayloadWriter(RoutingContext context, PayloadMarshaller marshaller, StreamFormat format) {
+    this.context = context;
+    this.response = context.response();
+    this.marshaller = marshaller;
+    this.format = format;
+    chunk = Buffer.buffer(CHUNK_SIZE).appendBuffer(format.getStart());
+    firstElement = true;
+    releaseSource = NOTHING;
+    response.closeHandler(v -> {
+      closed = true;
+      response.drainHandler(null);
+      Runnable release = releaseSource;
+      releaseSource = NOTHING;
+      release.run();
+    });
+  }
+
+  /**
+   * JsonObject is an Iterable of its entries, but it's a single object
+   */
+  static boolean isStreamed(Object payload) {
+    return payload instanceof Stream || payload instanceof Iterator || payload instanceof ReadStream
+        || (payload instanceof Iterable && !(payload instanceof JsonObject));
+  }
+
+  @SuppressWarnings("unchecked")
+  static void write(RoutingContext context, PayloadMarshaller marshaller, Object payload) {
+    context.response().setStatusCode(200);
+    StreamFormat format = marshaller.getStreamFormat();
+    if (format == null) {
+      marshallWhole(context, marshaller, payload, context.response()::end);
+      return;
+    }
+    ChunkedPayloadWriter writer = new ChunkedPayloadWriter(context, marshaller, format);
+    if (payload instanceof ReadStream) {
+      writer.pump((ReadStream<Object>) payload);
+    } else if (payload instanceof Stream) {
+      Stream<?> stream = (Stream<?>) payload;
+      writer.iterate(stream.iterator(), stream::close);
+    } else if (payload instanceof Iterator) {
+      writer.iterate((Iterator<?>) payload, () -> {});
+    } else {
+      writer.iterate(((Iterable<?>) payload).iterator(), () -> {});
+    }
+  }
+
+  /**
+   * Marshalls every element into a single Buffer, laid out as write() would stream them (or as a whole List, if the marshaller can't stream)
+   */
+  @SuppressWarnings("unchecked")
+  static void marshallWhole(RoutingContext context, PayloadMarshaller marshaller, Object payload, Handler<Buffer> handler) {
+    if (payload instanceof ReadStream) {
+      ReadStream<Object> stream = (ReadStream<Object>) payload;
+      List<Object> elements = new ArrayList<>();
+      stream.exceptionHandler(context::fail);
+      stream.endHandler(v -> marshallElements(context, marshaller, elements, handler));
+      stream.handler(elements::add);
+      return;
+    }
+    Collection<?> elements;
+    if (payload instanceof Collection) {
+      elements = (Collection<?>) payload;
+    } else if (payload instanceof Stream) {
+      try (Stream<?> stream = (Stream<?>) payload) {
+        elements = stream.collect(Collectors.toList());
+      }
+    } else {
+      List<Object> list = new ArrayList<>();
+      Iterator<Object> iterator = payload instanceof Iterator ? (Iterator<Object>) payload : ((Iterable<Object>) payload).iterator();
+      iterator.forEachRemaining(list::add);
+      elements = list;
+    }
+    marshallElements(context, marshaller, elements, handler);
+  }
+
+  private static void marshallElements(RoutingContext context, PayloadMarshaller marshaller, Collection<?> elements, Handler<Buffer> handler) {
+    Buffer body;
+    try {
+      StreamFormat format = marshaller.getStreamFormat();
+      if (format == null) {
+        body = marshaller.marshallPayloadToBuffer(elements);
+      } else {
+        body = Buffer.buffer().appendBuffer(format.getStart());
+        boolean first = true;
+        for (Object element : elements) {
+          if (!first) {
+            body.appendBuffer(format.getSeparator());
+          }
+          first = false;
+          body.appendBuffer(marshaller.marshallElement(element)).appendBuffer(format.getElementEnd());
+        }
+        body.appendBuffer(format.getEnd());
+      }
+    } catch (RuntimeException re) {
+      context.fail(re);
+      return;
+    }
+    handler.handle(body);
+  }
+
+  private void iterate(Iterator<?> elements, Runnable onEnd) {
+    try {
+      while (elements.hasNext()) {
+        if (closed) {
+          onEnd.run();
+          return;
+        }
+        append(elements.next());
+        if (chunk.length() >= CHUNK_SIZE) {
+          flush();
+          if (response.writeQueueFull()) {
+            releaseSource = onEnd;
+            awaitDrain(() -> {
+              releaseSource = NOTHING;
+              iterate(elements, onEnd);
+            });
+            return;
+          }
+        }
+      }
+    } catch (RuntimeException re) {
+      onEnd.run();
+      fail(re);
+      return;
+    }
+    onEnd.run();
+    end();
+  }
+
+  private void pump(ReadStream<Object> stream) {
+    releaseSource = () -> release(stream);
+    stream.exceptionHandler(error -> {
+      releaseSource = NOTHING;
+      fail(error);
+    });
+    stream.endHandler(v -> {
+      releaseSource = NOTHING;
+      end();
+    });
+    stream.handler(element -> {
+      if (closed) {
+        return;
+      }
+      try {
+        append(element);
+      } catch (RuntimeException re) {
+        releaseSource = NOTHING;
+        release(stream);
+        fail(re);
+        return;
+      }
+      if (chunk.length() >= CHUNK_SIZE) {
+        flush();
+        if (response.writeQueueFull()) {
+          stream.pause();
+          awaitDrain(stream::resume);
+        }
+      }
+    });
+  }
+
+  /**
+   * The drain handler is cleared if the client goes away meanwhile, see the close handler
+   */
+  private void awaitDrain(Runnable resume) {
+    response.drainHandler(v -> {
+      response.drainHandler(null);
+      resume.run();
+    });
+  }
+
+  /**
+   * Files are closed. Other sources are resumed, and their remaining elements dropped, so that they can run to their end and release what they hold
+   */
+  private static void release(ReadStream<?> stream) {
+    stream.exceptionHandler(null);
+    stream.endHandler(null);
+    if (stream instanceof AsyncFile) {
+      ((AsyncFile) stream).close();
+      return;
+    }
+    stream.handler(element -> {});
+    stream.resume();
+  }
+
+  private void append(Object element) {
+    if (firstElement) {
+      firstElement = false;
+    } else {
+      chunk.appendBuffer(format.getSeparator());
+    }
+    chunk.appendBuffer(marshaller.marshallElement(element));
+    chunk.appendBuffer(format.getElementEnd());
+  }
+
+  private void flush() {
+    if (!response.isChunked()) {
+      response.setChunked(true);
+    }
+    response.write(chunk);
+    chunk = Buffer.buffer(CHUNK_SIZE);
+  }
+
+  private void end() {
+    if (closed) {
+      return;
+    }
+    chunk.appendBuffer(format.getEnd());
+    response.end(chunk);
+  }
+
+  private void fail(Throwable error) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (!response.headWritten()) {
+      context.fail(error);
+    } else {
+      // the status has already been sent : the client can only notice the failure through a truncated response
+      LOG.error("Streamed response failed", error);
+      response.close();
+    }
+  }
+
+}
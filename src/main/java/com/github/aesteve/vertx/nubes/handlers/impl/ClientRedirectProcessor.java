@@ -32,4 +32,9 @@ public class ClientRedirectProcessor extends NoopAfterAllProcessor implements An
     response.end();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
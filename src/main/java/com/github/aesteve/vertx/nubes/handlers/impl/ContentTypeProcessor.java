@@ -2,37 +2,65 @@ package com.github.aesteve.vertx.nubes.handlers.impl;
 
 import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.impl.Utils;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.vertx.core.http.HttpHeaders.ACCEPT;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 
+/**
+ * Negotiates the response's content-type from the Accept header.
+ *
+ * Clients only send a handful of distinct Accept headers : the outcome of each one (including the ones leading to a 406) is cached per route.
+ * At most MAX_CACHED_ACCEPTS headers are cached, evicted with the CLOCK algorithm : a header which hasn't been sent again since the hand last passed it is replaced.
+ * Random headers only replace each other then, while the ones clients keep sending stay cached.
+ */
 public class ContentTypeProcessor extends NoopAfterAllProcessor implements AnnotationProcessor<ContentType> {
 
   public static final String BEST_CONTENT_TYPE = "nubes-best-content-type";
 
-  private final ContentType annotation;
+  static final int MAX_CACHED_ACCEPTS = 64;
+  private static final String NOT_ACCEPTABLE = "";
+
+  /**
+   * The produced types, and their pre-encoded Content-Type header value
+   */
+  private final Map<String, CharSequence> contentTypes;
+  private final ConcurrentMap<String, Negotiated> negotiated;
+  /**
+   * The cached headers, in the order the hand visits them, guarded by itself
+   */
+  private final String[] clock;
+  private int hand;
+  private int cached;
 
   public ContentTypeProcessor(ContentType annotation) {
-    this.annotation = annotation;
+    Map<String, CharSequence> types = new HashMap<>();
+    for (String type : annotation.value()) {
+      types.put(type, HttpHeaders.createOptimized(type));
+    }
+    contentTypes = Collections.unmodifiableMap(types);
+    negotiated = new ConcurrentHashMap<>();
+    clock = new String[MAX_CACHED_ACCEPTS];
   }
 
   @Override
   public void preHandle(RoutingContext context) {
-    String accept = context.request().getHeader(ACCEPT.toString());
+    String accept = context.request().getHeader(ACCEPT);
     if (accept == null) {
       context.fail(406);
       return;
     }
-    List<String> acceptableTypes = Utils.getSortedAcceptableMimeTypes(accept);
-    Optional<String> bestType = acceptableTypes.stream().filter(Arrays.asList(annotation.value())::contains).findFirst();
-    if (bestType.isPresent()) {
-      ContentTypeProcessor.setContentType(context, bestType.get());
+    String bestType = negotiate(accept);
+    if (bestType != null) {
+      ContentTypeProcessor.setContentType(context, bestType);
       context.next();
     } else {
       context.fail(406);
@@ -41,10 +69,67 @@ public class ContentTypeProcessor extends NoopAfterAllProcessor implements Annot
 
   @Override
   public void postHandle(RoutingContext context) {
-    context.response().putHeader(CONTENT_TYPE, ContentTypeProcessor.getContentType(context));
+    if (!context.response().headWritten()) { // a 304 may have been sent already (see ConditionalRequest)
+      String contentType = ContentTypeProcessor.getContentType(context);
+      CharSequence encoded = contentTypes.get(contentType);
+      context.response().putHeader(CONTENT_TYPE, encoded != null ? encoded : contentType);
+    }
     context.next();
   }
 
+  /**
+   * @return the produced type the client prefers, or null if it accepts none of them
+   */
+  public String negotiate(String accept) {
+    Negotiated cachedType = negotiated.get(accept);
+    if (cachedType != null) {
+      cachedType.referenced = true;
+      return cachedType.type.isEmpty() ? null : cachedType.type;
+    }
+    String bestType = NOT_ACCEPTABLE;
+    for (String acceptable : Utils.getSortedAcceptableMimeTypes(accept)) {
+      if (contentTypes.containsKey(acceptable)) {
+        bestType = acceptable;
+        break;
+      }
+    }
+    cache(accept, bestType);
+    return bestType.isEmpty() ? null : bestType;
+  }
+
+  private void cache(String accept, String bestType) {
+    synchronized (clock) {
+      if (negotiated.containsKey(accept)) {
+        return;
+      }
+      if (cached < clock.length) {
+        clock[cached++] = accept;
+      } else {
+        Negotiated victim = negotiated.get(clock[hand]);
+        while (victim.referenced) {
+          victim.referenced = false;
+          hand = (hand + 1) % clock.length;
+          victim = negotiated.get(clock[hand]);
+        }
+        negotiated.remove(clock[hand]);
+        clock[hand] = accept;
+        hand = (hand + 1) % clock.length;
+      }
+      negotiated.put(accept, new Negotiated(bestType));
+    }
+  }
+
+  /**
+   * @return the number of distinct Accept headers cached
+   */
+  public int cachedAccepts() {
+    return negotiated.size();
+  }
+
+  public boolean isCached(String accept) {
+    return negotiated.containsKey(accept);
+  }
+
   public static String getContentType(RoutingContext context) {
     return context.get(BEST_CONTENT_TYPE);
   }
@@ -53,4 +138,23 @@ public class ContentTypeProcessor extends NoopAfterAllProcessor implements Annot
     context.put(BEST_CONTENT_TYPE, contentType);
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
+  private static class Negotiated {
+
+    private final String type;
+    /**
+     * Set on every hit, cleared by the hand : racy, but a lost update only costs an early eviction
+     */
+    private boolean referenced;
+
+    private Negotiated(String type) {
+      this.type = type;
+    }
+
+  }
+
 }
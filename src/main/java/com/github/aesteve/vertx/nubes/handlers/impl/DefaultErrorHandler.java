@@ -8,6 +8,8 @@ import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
 import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
 import com.github.aesteve.vertx.nubes.views.TemplateEngineManager;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -15,12 +17,19 @@ import io.vertx.ext.web.RoutingContext;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 
+/**
+ * Error bodies with no dynamic detail (the default message of a status, for a content-type) are marshalled once, then sent as is.
+ * Static error pages are read once too, and served from memory.
+ */
 public class DefaultErrorHandler implements Handler<RoutingContext> {
 
   private static final String ERROR_DETAILS = "nubes-error-details";
+  private static final CharSequence TEXT_HTML = HttpHeaders.createOptimized("text/html");
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultErrorHandler.class);
 
@@ -29,6 +38,8 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
   private final Map<Integer, String> errorMessages;
   private final TemplateEngineManager templManager;
   private final Map<String, PayloadMarshaller> marshallers;
+  private final ConcurrentMap<String, Buffer> renderedErrors;
+  private final ConcurrentMap<String, Buffer> errorPages;
 
   public DefaultErrorHandler(Config config, TemplateEngineManager templManager, Map<String, PayloadMarshaller> marshallers) {
     this.config = config;
@@ -36,6 +47,8 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
     this.marshallers = marshallers;
     errorTemplates = new HashMap<>();
     errorMessages = new HashMap<>();
+    renderedErrors = new ConcurrentHashMap<>();
+    errorPages = new ConcurrentHashMap<>();
     addDefaultErrorPages();
     addDefaultErrorMessages();
   }
@@ -65,15 +78,16 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
   private void handleHttpError(RoutingContext context, HttpServerResponse response, PayloadMarshaller marshaller) {
     final int status = context.statusCode();
     response.setStatusCode(status);
-    String msg = errorMessages.getOrDefault(status, "Internal server error");
-    if (context.get(ERROR_DETAILS) != null) {
-      msg = context.get(ERROR_DETAILS);
-    }
+    String details = context.get(ERROR_DETAILS);
     if (marshaller != null) {
-      response.end(marshaller.marshallHttpStatus(status, msg));
+      if (details == null) {
+        response.end(renderedError(ContentTypeProcessor.getContentType(context), marshaller, status));
+      } else {
+        response.end(marshaller.marshallHttpStatusToBuffer(status, details));
+      }
     } else {
       if (!response.ended()) {
-        response.end(msg);
+        response.end(details == null ? renderedError(null, null, status) : Buffer.buffer(details));
       }
     }
   }
@@ -103,13 +117,29 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
       }
       response.putHeader(CONTENT_TYPE, contentType);
       if (statusCode == 500) {
-        response.end(marshaller.marshallUnexpectedError(cause, config.isDisplayErrors()));
+        response.end(marshaller.marshallUnexpectedErrorToBuffer(cause, config.isDisplayErrors()));
+      } else if (statusMsg != null && statusMsg.equals(errorMessages.get(statusCode))) {
+        response.end(renderedError(contentType, marshaller, statusCode));
       } else {
-        response.end(marshaller.marshallHttpStatus(statusCode, statusMsg));
+        response.end(marshaller.marshallHttpStatusToBuffer(statusCode, statusMsg));
       }
     }
   }
 
+  /**
+   * @return the error body for this status' default message, marshalled once (or as plain text, without marshaller)
+   */
+  private Buffer renderedError(String contentType, PayloadMarshaller marshaller, int status) {
+    String key = contentType + ' ' + status;
+    Buffer rendered = renderedErrors.get(key);
+    if (rendered == null) {
+      String msg = errorMessages.getOrDefault(status, "Internal server error");
+      rendered = marshaller == null ? Buffer.buffer(msg) : marshaller.marshallHttpStatusToBuffer(status, msg);
+      renderedErrors.putIfAbsent(key, rendered);
+    }
+    return rendered;
+  }
+
   private void addDefaultErrorPages() {
     errorTemplates.put(401, "web/views/errors/401.html");
     errorTemplates.put(403, "web/views/errors/403.html");
@@ -133,12 +163,31 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
     return ViewResolver.getViewName(context) != null;
   }
 
+  private void sendErrorPage(HttpServerResponse response, String file) {
+    Buffer page = errorPages.get(file);
+    if (page != null) {
+      response.putHeader(CONTENT_TYPE, TEXT_HTML);
+      response.end(page);
+      return;
+    }
+    config.getVertx().fileSystem().readFile(file, res -> {
+      if (res.failed()) {
+        response.sendFile(file);
+        return;
+      }
+      Buffer read = res.result();
+      errorPages.putIfAbsent(file, read);
+      response.putHeader(CONTENT_TYPE, TEXT_HTML);
+      response.end(read);
+    });
+  }
+
   private void renderViewError(String tpl, RoutingContext context, Throwable cause) {
     HttpServerResponse response = context.response();
     if (tpl != null) {
       context.put("error", cause);
       if (tpl.endsWith(".html")) {
-        response.sendFile(tpl);
+        sendErrorPage(response, tpl);
         return;
       }
       if (config.isDisplayErrors()) {
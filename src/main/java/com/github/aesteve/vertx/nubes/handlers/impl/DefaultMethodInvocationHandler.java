@@ -46,7 +46,7 @@ public class DefaultMethodInvocationHandler<T> extends AbstractMethodInvocationH
 
   @SuppressWarnings("unchecked")
   private void handleInvokation(RoutingContext routingContext, Object[] parameters) throws IllegalAccessException, InvocationTargetException {
-    final T returned = (T) method.invoke(instance, parameters);
+    final T returned = (T) invoker.invoke(parameters);
     if (returnsSomething) {
       handleMethodReturn(routingContext, returned);
     }
@@ -0,0 +1,30 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Asks PayloadTypeProcessor to hash the marshalled payload.
+ */
+public class ETagProcessor extends NoopAfterAllProcessor implements AnnotationProcessor<ETag> {
+
+  public static final String ETAG_ENABLED = "nubes-etag-enabled";
+
+  @Override
+  public void preHandle(RoutingContext context) {
+    context.put(ETAG_ENABLED, Boolean.TRUE);
+    context.next();
+  }
+
+  @Override
+  public void postHandle(RoutingContext context) {
+    context.next();
+  }
+
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
+}
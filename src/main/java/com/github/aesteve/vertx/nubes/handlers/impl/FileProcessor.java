@@ -27,4 +27,9 @@ public class FileProcessor extends NoopAfterAllProcessor implements AnnotationPr
     context.response().sendFile(FileResolver.getFileName(context));
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
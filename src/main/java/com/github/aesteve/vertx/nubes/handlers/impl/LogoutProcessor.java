@@ -17,4 +17,9 @@ public class LogoutProcessor extends AfterProcessor implements AnnotationProcess
     context.next();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
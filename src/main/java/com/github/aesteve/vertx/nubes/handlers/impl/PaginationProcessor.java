@@ -29,4 +29,9 @@ public class PaginationProcessor extends NoopAfterAllProcessor implements Proces
     context.next();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
@@ -3,17 +3,38 @@ package com.github.aesteve.vertx.nubes.handlers.impl;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
 import com.github.aesteve.vertx.nubes.marshallers.Payload;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.utils.ETags;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
 import java.util.Map;
 
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+
 public class PayloadTypeProcessor implements Processor {
 
+  /**
+   * A Handler&lt;Buffer&gt; receiving the marshalled payload before it's sent (see ResponseCacheProcessor)
+   */
+  public static final String PAYLOAD_LISTENER = "nubes-payload-listener";
+
   private final Map<String, PayloadMarshaller> marshallers;
+  private final boolean etags;
 
   public PayloadTypeProcessor(Map<String, PayloadMarshaller> marshallers) {
+    this(marshallers, false);
+  }
+
+  /**
+   * @param etags hash every marshalled payload into an ETag, not only the ones of @ETag routes
+   */
+  public PayloadTypeProcessor(Map<String, PayloadMarshaller> marshallers, boolean etags) {
     this.marshallers = marshallers;
+    this.etags = etags;
   }
 
   @Override
@@ -45,10 +66,43 @@ public class PayloadTypeProcessor implements Processor {
         context.fail(new IllegalArgumentException("No marshaller found for content-type : " + contentType));
         return;
       }
-      String marshalled = marshaller.marshallPayload(userPayload);
-      response.setStatusCode(200);
-      response.end(marshalled);
+      boolean etag = etags || context.get(ETagProcessor.ETAG_ENABLED) != null;
+      Handler<Buffer> listener = context.get(PAYLOAD_LISTENER);
+      if (!ChunkedPayloadWriter.isStreamed(userPayload)) {
+        send(context, marshaller.marshallPayloadToBuffer(userPayload), etag, listener);
+      } else if (etag || listener != null) {
+        // the whole body is hashed or cached : it can't be streamed
+        ChunkedPayloadWriter.marshallWhole(context, marshaller, userPayload, body -> send(context, body, etag, listener));
+      } else {
+        ChunkedPayloadWriter.write(context, marshaller, userPayload);
+      }
+    }
+  }
+
+  private static void send(RoutingContext context, Buffer marshalled, boolean etag, Handler<Buffer> listener) {
+    HttpServerResponse response = context.response();
+    response.setStatusCode(200);
+    if (etag && !response.headers().contains(ETAG)) {
+      response.putHeader(ETAG, ETags.hash(marshalled));
     }
+    if (listener != null) {
+      listener.handle(marshalled);
+    }
+    if (isNotModified(context)) {
+      response.setStatusCode(304);
+      response.end();
+      return;
+    }
+    response.end(marshalled);
+  }
+
+  /**
+   * @return true if the client already has the ETag of this response
+   */
+  static boolean isNotModified(RoutingContext context) {
+    HttpMethod method = context.request().method();
+    return (method == HttpMethod.GET || method == HttpMethod.HEAD)
+        && ETags.matches(context.request().getHeader(IF_NONE_MATCH), context.response().headers().get(ETAG));
   }
 
   @Override
@@ -56,4 +110,9 @@ public class PayloadTypeProcessor implements Processor {
     context.next();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
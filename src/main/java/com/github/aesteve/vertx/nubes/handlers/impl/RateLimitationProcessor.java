@@ -0,0 +1,48 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Throttled;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.throttling.KeyExtractor;
+import com.github.aesteve.vertx.nubes.throttling.KeyExtractors;
+import com.github.aesteve.vertx.nubes.throttling.RateLimiter;
+import io.vertx.ext.web.RoutingContext;
+
+public class RateLimitationProcessor extends NoopAfterAllProcessor implements AnnotationProcessor<Throttled> {
+
+  private final RateLimiter rateLimiter;
+  private final KeyExtractor keyExtractor;
+  private final long seed;
+
+  /**
+   * @param seed see KeyExtractors.hash(String, long)
+   */
+  public RateLimitationProcessor(RateLimiter rateLimiter, KeyExtractor keyExtractor, long seed) {
+    this.rateLimiter = rateLimiter;
+    this.keyExtractor = keyExtractor;
+    this.seed = seed;
+  }
+
+  @Override
+  public void preHandle(RoutingContext context) {
+    String key = keyExtractor.extract(context);
+    if (key == null) {
+      key = context.request().remoteAddress().host();
+    }
+    if (rateLimiter.tryAcquire(KeyExtractors.hash(key, seed))) {
+      context.next();
+    } else {
+      context.fail(420);
+    }
+  }
+
+  @Override
+  public void postHandle(RoutingContext context) {
+    context.next();
+  }
+
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
+}
@@ -0,0 +1,119 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.caching.CachedResponse;
+import com.github.aesteve.vertx.nubes.caching.ResponseCache;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.LocaleParamInjector;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.RoutingContext;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
+import static io.vertx.core.http.HttpHeaders.SET_COOKIE;
+import static io.vertx.core.http.HttpHeaders.TRANSFER_ENCODING;
+
+/**
+ * Sends the cached response if there's one, before any filter or parameter injection.
+ * Otherwise, the marshalled payload is handed over by PayloadTypeProcessor, and cached.
+ *
+ * Its preHandle runs once every other processor's has (see MVCRoute) : the content-type is negotiated, and throttling applies to cached responses too.
+ */
+public class ResponseCacheProcessor extends NoopAfterAllProcessor implements AnnotationProcessor<Cacheable> {
+
+  private final ResponseCache cache;
+  private final long timeToLive;
+  private final String[] queryParams;
+  private final String[] varyHeaders;
+
+  public ResponseCacheProcessor(ResponseCache cache, Cacheable annotation) {
+    this.cache = cache;
+    timeToLive = annotation.timeUnit().toMillis(annotation.ttl());
+    if (timeToLive <= 0) {
+      throw new IllegalArgumentException("Invalid @Cacheable ttl : " + annotation);
+    }
+    queryParams = annotation.key();
+    varyHeaders = annotation.vary();
+  }
+
+  @Override
+  public void preHandle(RoutingContext context) {
+    if (context.request().method() != HttpMethod.GET) {
+      context.next();
+      return;
+    }
+    String key = key(context);
+    CachedResponse cached = cache.get(key);
+    if (cached == null) {
+      context.put(PayloadTypeProcessor.PAYLOAD_LISTENER, (Handler<Buffer>) body -> store(context, key, body));
+      context.next();
+      return;
+    }
+    HttpServerResponse response = context.response();
+    MultiMap headers = cached.headers();
+    for (String name : headers.names()) {
+      response.headers().set(name, headers.getAll(name));
+    }
+    if (PayloadTypeProcessor.isNotModified(context)) {
+      response.setStatusCode(304);
+      response.end();
+      return;
+    }
+    response.setStatusCode(200);
+    response.end(cached.body());
+  }
+
+  @Override
+  public void postHandle(RoutingContext context) {
+    context.next();
+  }
+
+  private void store(RoutingContext context, String key, Buffer body) {
+    MultiMap headers = context.response().headers();
+    if (headers.contains(SET_COOKIE)) {
+      return;
+    }
+    MultiMap cachedHeaders = MultiMap.caseInsensitiveMultiMap().addAll(headers);
+    cachedHeaders.remove(CONTENT_LENGTH);
+    cachedHeaders.remove(TRANSFER_ENCODING);
+    cache.put(key, new CachedResponse(body, cachedHeaders, timeToLive));
+  }
+
+  private String key(RoutingContext context) {
+    HttpServerRequest request = context.request();
+    StringBuilder key = new StringBuilder(request.path());
+    if (queryParams.length == 0) {
+      if (request.query() != null) {
+        key.append('?').append(request.query());
+      }
+    } else {
+      MultiMap params = request.params();
+      for (String name : queryParams) {
+        for (String value : params.getAll(name)) {
+          key.append('&').append(name).append('=').append(value);
+        }
+      }
+    }
+    for (String header : varyHeaders) {
+      key.append('|').append(request.getHeader(header));
+    }
+    key.append('|').append(ContentTypeProcessor.getContentType(context));
+    key.append('|').append(context.<String>get(LocaleParamInjector.LOCALE_ATTR));
+    User user = context.user();
+    if (user != null) { // the payload may depend on who's asking for it : a user never gets another one's response
+      key.append('|').append(user.principal().encode());
+    }
+    return key.toString();
+  }
+
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
+}
@@ -23,4 +23,9 @@ public class UserProcessor extends NoopAfterAllProcessor implements Processor {
     context.next();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
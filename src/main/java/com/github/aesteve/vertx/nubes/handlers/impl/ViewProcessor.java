@@ -30,4 +30,9 @@ public class ViewProcessor extends NoopAfterAllProcessor implements AnnotationPr
     templateHandler.handle(context);
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
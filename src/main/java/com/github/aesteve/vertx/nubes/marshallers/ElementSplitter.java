@@ -0,0 +1,26 @@
+package com.github.aesteve.vertx.nubes.marshallers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Splits a request body into its elements as chunks arrive, so that a streamed @RequestBody never holds the whole body.
+ * Only the element being read is buffered. Not thread-safe : one instance per request.
+ */
+public interface ElementSplitter {
+
+  /**
+   * @param chunk the next bytes of the body
+   * @param elementHandler called with the bytes of every element completed by this chunk
+   * @throws IllegalArgumentException if the body is malformed
+   */
+  void feed(Buffer chunk, Handler<Buffer> elementHandler);
+
+  /**
+   * Called once the whole body has been fed.
+   *
+   * @throws IllegalArgumentException if the body is truncated
+   */
+  void end(Handler<Buffer> elementHandler);
+
+}
@@ -1,14 +1,95 @@
 package com.github.aesteve.vertx.nubes.marshallers;
 
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Reads request bodies from, and writes payloads into, Buffers : the bytes sent over the wire.
+ *
+ * The String methods and the Buffer methods default to each other, through UTF-8 : implement either set.
+ * Binary formats implement the Buffer methods, text formats may rather implement TextPayloadMarshaller, which requires the String ones.
+ */
 public interface PayloadMarshaller {
 
-  <T> T unmarshallPayload(String body, Class<T> clazz);
+  /**
+   * The default implementation encodes the body as UTF-8, see unmarshallPayload(Buffer, Class)
+   */
+  default <T> T unmarshallPayload(String body, Class<T> clazz) {
+    return unmarshallPayload(Buffer.buffer(body), clazz);
+  }
+
+  /**
+   * Unmarshalls the request body straight from its bytes.
+   * The default implementation decodes it as a UTF-8 String first, see unmarshallPayload(String, Class).
+   */
+  default <T> T unmarshallPayload(Buffer body, Class<T> clazz) {
+    return unmarshallPayload(body.toString("UTF-8"), clazz);
+  }
 
-  String marshallPayload(Object payload);
+  /**
+   * The default implementation decodes marshallPayloadToBuffer(Object) as UTF-8
+   */
+  default String marshallPayload(Object payload) {
+    return marshallPayloadToBuffer(payload).toString("UTF-8");
+  }
 
-  String marshallUnexpectedError(Throwable error, boolean displayDetails);
+  /**
+   * Marshalls the payload into the Buffer written to the response.
+   * The default implementation encodes marshallPayload(Object), without avoiding the intermediate String.
+   */
+  default Buffer marshallPayloadToBuffer(Object payload) {
+    return Buffer.buffer(marshallPayload(payload));
+  }
 
-  String marshallHttpStatus(int statusCode, String statusMessage);
+  /**
+   * @return how to lay out streamed payloads (Stream, Iterator, Iterable, ReadStream) element by element,
+   * or null to marshall them as a whole List, in memory
+   */
+  default StreamFormat getStreamFormat() {
+    return null;
+  }
+
+  /**
+   * Marshalls one element of a streamed payload, see getStreamFormat()
+   */
+  default Buffer marshallElement(Object element) {
+    return marshallPayloadToBuffer(element);
+  }
+
+  /**
+   * @return a new splitter for request bodies read as a ReadStream of elements, or null if this format can't be split
+   */
+  default ElementSplitter newElementSplitter() {
+    return null;
+  }
+
+  /**
+   * Unmarshalls one element of a streamed request body, see newElementSplitter()
+   */
+  default <T> T unmarshallElement(Buffer element, Class<T> clazz) {
+    return unmarshallPayload(element, clazz);
+  }
+
+  default String marshallUnexpectedError(Throwable error, boolean displayDetails) {
+    return marshallUnexpectedErrorToBuffer(error, displayDetails).toString("UTF-8");
+  }
+
+  default String marshallHttpStatus(int statusCode, String statusMessage) {
+    return marshallHttpStatusToBuffer(statusCode, statusMessage).toString("UTF-8");
+  }
+
+  /**
+   * Written by the error handler, in case of a bug (500)
+   */
+  default Buffer marshallUnexpectedErrorToBuffer(Throwable error, boolean displayDetails) {
+    return Buffer.buffer(marshallUnexpectedError(error, displayDetails));
+  }
+
+  /**
+   * Written by the error handler, for well known http statuses (404, 406, 400...)
+   */
+  default Buffer marshallHttpStatusToBuffer(int statusCode, String statusMessage) {
+    return Buffer.buffer(marshallHttpStatus(statusCode, statusMessage));
+  }
 
   final class Constants {
     public static final String ERROR_KEY = "error";
@@ -0,0 +1,51 @@
+package com.github.aesteve.vertx.nubes.marshallers;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * How the elements of a streamed payload (Stream, Iterator, Iterable, ReadStream) are laid out in the response.
+ */
+public class StreamFormat {
+
+  public static final StreamFormat JSON_ARRAY = new StreamFormat("[", ",", "]", "");
+  public static final StreamFormat LINES = new StreamFormat("", "", "", "\n");
+  /**
+   * Elements written one after the other, for self-delimiting binary formats (CBOR, MessagePack)
+   */
+  public static final StreamFormat SEQUENCE = new StreamFormat("", "", "", "");
+
+  private final Buffer start;
+  private final Buffer separator;
+  private final Buffer end;
+  private final Buffer elementEnd;
+
+  /**
+   * @param start written before the first element
+   * @param separator written between two elements
+   * @param end written after the last element
+   * @param elementEnd written after every element
+   */
+  public StreamFormat(String start, String separator, String end, String elementEnd) {
+    this.start = Buffer.buffer(start);
+    this.separator = Buffer.buffer(separator);
+    this.end = Buffer.buffer(end);
+    this.elementEnd = Buffer.buffer(elementEnd);
+  }
+
+  public Buffer getStart() {
+    return start;
+  }
+
+  public Buffer getSeparator() {
+    return separator;
+  }
+
+  public Buffer getEnd() {
+    return end;
+  }
+
+  public Buffer getElementEnd() {
+    return elementEnd;
+  }
+
+}
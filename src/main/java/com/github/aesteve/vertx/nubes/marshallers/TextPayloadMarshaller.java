@@ -0,0 +1,21 @@
+package com.github.aesteve.vertx.nubes.marshallers;
+
+/**
+ * A PayloadMarshaller for text formats : the String methods have to be implemented, the Buffer ones encode (and decode) them as UTF-8.
+ * The Buffer methods can still be overridden, to avoid the intermediate String.
+ */
+public interface TextPayloadMarshaller extends PayloadMarshaller {
+
+  @Override
+  <T> T unmarshallPayload(String body, Class<T> clazz);
+
+  @Override
+  String marshallPayload(Object payload);
+
+  @Override
+  String marshallUnexpectedError(Throwable error, boolean displayDetails);
+
+  @Override
+  String marshallHttpStatus(int statusCode, String statusMessage);
+
+}
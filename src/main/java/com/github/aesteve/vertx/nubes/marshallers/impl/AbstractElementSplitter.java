@@ -0,0 +1,79 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import com.github.aesteve.vertx.nubes.marshallers.ElementSplitter;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Scans the body byte by byte, and keeps track of the element being read.
+ * An element contained in a single chunk is sliced out of it, only elements spanning several chunks are copied.
+ */
+abstract class AbstractElementSplitter implements ElementSplitter {
+
+  private Buffer element;
+  private int elementStart = -1;
+
+  @Override
+  public void feed(Buffer chunk, Handler<Buffer> elementHandler) {
+    elementStart = element == null ? -1 : 0;
+    int length = chunk.length();
+    for (int i = 0; i < length; i++) {
+      consume(chunk, i, chunk.getByte(i), elementHandler);
+    }
+    if (elementStart >= 0) {
+      if (element == null) {
+        element = Buffer.buffer(length - elementStart);
+      }
+      element.appendBuffer(chunk, elementStart, length - elementStart);
+    }
+  }
+
+  protected abstract void consume(Buffer chunk, int index, byte b, Handler<Buffer> elementHandler);
+
+  protected boolean isReadingElement() {
+    return elementStart >= 0 || element != null;
+  }
+
+  /**
+   * The element starts at this index of the chunk
+   */
+  protected void startElement(int index) {
+    elementStart = index;
+  }
+
+  /**
+   * What looked like the beginning of an element is not (a comment, for instance)
+   */
+  protected void cancelElement() {
+    element = null;
+    elementStart = -1;
+  }
+
+  /**
+   * The element ends right before this index of the chunk
+   */
+  protected void endElement(Buffer chunk, int end, Handler<Buffer> elementHandler) {
+    Buffer completed;
+    if (element == null) {
+      completed = chunk.getBuffer(elementStart, end);
+    } else {
+      completed = element.appendBuffer(chunk, 0, end);
+    }
+    cancelElement();
+    elementHandler.handle(completed);
+  }
+
+  /**
+   * The element ends with the body
+   */
+  protected void endElement(Handler<Buffer> elementHandler) {
+    Buffer completed = element;
+    cancelElement();
+    elementHandler.handle(completed);
+  }
+
+  protected static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+  }
+
+}
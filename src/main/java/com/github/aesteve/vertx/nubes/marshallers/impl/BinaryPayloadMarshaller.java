@@ -0,0 +1,188 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.StreamFormat;
+import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_CODE_KEY;
+import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_KEY;
+import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_MESSAGE_KEY;
+
+/**
+ * Base class for binary formats with the same data model as json (maps, arrays, strings, numbers, booleans, null) plus byte arrays,
+ * backed by a Jackson dataformat module.
+ *
+ * Payloads are written straight into a Buffer, and read from the request's Buffer.
+ * Beans are bound the way vert.x binds them to json (same serializers, JsonObject and JsonArray included), null fields omitted.
+ * The String API maps every byte to one char (ISO-8859-1), so that no byte is lost on the way.
+ */
+public abstract class BinaryPayloadMarshaller implements PayloadMarshaller {
+
+  /**
+   * Deeper payloads are rejected instead of overflowing the stack
+   */
+  protected static final int MAX_DEPTH = 512;
+  private static final String BYTES_AS_CHARS = "ISO-8859-1";
+
+  protected final ObjectMapper mapper;
+
+  protected BinaryPayloadMarshaller(JsonFactory factory) {
+    mapper = new ObjectMapper(factory);
+    mapper.setSerializerFactory(Json.mapper.getSerializerFactory());
+    mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unmarshallPayload(Buffer body, Class<T> clazz) {
+    try (JsonParser parser = new DepthLimitedParser(mapper.getFactory().createParser(new ByteBufInputStream(body.getByteBuf())))) {
+      T value;
+      if (clazz.equals(JsonObject.class)) {
+        value = (T) new JsonObject(mapper.readValue(parser, Map.class));
+      } else if (clazz.equals(JsonArray.class)) {
+        value = (T) new JsonArray(mapper.readValue(parser, List.class));
+      } else {
+        value = mapper.readValue(parser, clazz);
+      }
+      if (parser.nextToken() != null) {
+        throw new IllegalArgumentException("Unexpected bytes after the payload");
+      }
+      return value;
+    } catch (JsonProcessingException jpe) {
+      throw new IllegalArgumentException("Malformed payload", jpe);
+    } catch (IOException ioe) {
+      throw new VertxException(ioe);
+    }
+  }
+
+  @Override
+  public <T> T unmarshallPayload(String body, Class<T> clazz) {
+    return unmarshallPayload(Buffer.buffer(body, BYTES_AS_CHARS), clazz);
+  }
+
+  @Override
+  public String marshallPayload(Object payload) {
+    return marshallPayloadToBuffer(payload).toString(BYTES_AS_CHARS);
+  }
+
+  @Override
+  public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
+    return marshallUnexpectedErrorToBuffer(error, displayDetails).toString(BYTES_AS_CHARS);
+  }
+
+  @Override
+  public String marshallHttpStatus(int statusCode, String statusMessage) {
+    return marshallHttpStatusToBuffer(statusCode, statusMessage).toString(BYTES_AS_CHARS);
+  }
+
+  @Override
+  public Buffer marshallPayloadToBuffer(Object payload) {
+    ByteBuf out = Unpooled.buffer();
+    try {
+      mapper.writeValue(new ByteBufOutputStream(out), payload);
+    } catch (IOException ioe) {
+      throw new VertxException(ioe);
+    }
+    return Buffer.buffer(out);
+  }
+
+  /**
+   * Elements are self-delimiting : they're simply concatenated
+   */
+  @Override
+  public StreamFormat getStreamFormat() {
+    return StreamFormat.SEQUENCE;
+  }
+
+  @Override
+  public Buffer marshallUnexpectedErrorToBuffer(Throwable error, boolean displayDetails) {
+    String message = displayDetails ? StackTracePrinter.asLineString(new StringBuilder(), error).toString() : "Internal Server Error";
+    return marshallHttpStatusToBuffer(500, message);
+  }
+
+  @Override
+  public Buffer marshallHttpStatusToBuffer(int statusCode, String statusMessage) {
+    Map<String, Object> error = new LinkedHashMap<>();
+    error.put(ERROR_CODE_KEY, statusCode);
+    error.put(ERROR_MESSAGE_KEY, statusMessage);
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put(ERROR_KEY, error);
+    return marshallPayloadToBuffer(payload);
+  }
+
+  /**
+   * Counts the containers opened while the payload is read, see MAX_DEPTH.
+   * Every token goes through nextToken : JsonParserDelegate would otherwise let nextValue and skipChildren bypass it.
+   */
+  private static class DepthLimitedParser extends JsonParserDelegate {
+
+    private int depth;
+
+    private DepthLimitedParser(JsonParser parser) {
+      super(parser);
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+      JsonToken token = super.nextToken();
+      if (token == null) {
+        return null;
+      }
+      if (token.isStructStart() && ++depth > MAX_DEPTH) {
+        throw new IllegalArgumentException("Payload nested too deeply");
+      } else if (token.isStructEnd()) {
+        depth--;
+      }
+      return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+      JsonToken token = nextToken();
+      return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+      if (!getCurrentToken().isStructStart()) {
+        return this;
+      }
+      int open = 1;
+      while (open > 0) {
+        JsonToken token = nextToken();
+        if (token == null) {
+          break;
+        } else if (token.isStructStart()) {
+          open++;
+        } else if (token.isStructEnd()) {
+          open--;
+        }
+      }
+      return this;
+    }
+  }
+
+}
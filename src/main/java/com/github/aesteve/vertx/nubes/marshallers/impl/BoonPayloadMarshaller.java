@@ -1,7 +1,11 @@
 package com.github.aesteve.vertx.nubes.marshallers.impl;
 
-import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.ElementSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.TextPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.StreamFormat;
 import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
+import com.github.aesteve.vertx.nubes.utils.Utf8Encoder;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.boon.json.JsonFactory;
@@ -13,14 +17,25 @@ import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Const
 import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_KEY;
 import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_MESSAGE_KEY;
 
-public class BoonPayloadMarshaller implements PayloadMarshaller {
+public class BoonPayloadMarshaller implements TextPayloadMarshaller {
+
+  private static final Buffer NULL = Buffer.buffer("null");
 
   protected final JsonSerializer serializer;
   protected final ObjectMapper mapper;
+  protected final StreamFormat streamFormat;
 
   public BoonPayloadMarshaller() {
+    this(StreamFormat.JSON_ARRAY);
+  }
+
+  /**
+   * @param streamFormat StreamFormat.JSON_ARRAY for "application/json", StreamFormat.LINES for "application/x-ndjson"
+   */
+  public BoonPayloadMarshaller(StreamFormat streamFormat) {
     this.serializer = new JsonSerializerFactory().useAnnotations().create();
     this.mapper = JsonFactory.create();
+    this.streamFormat = streamFormat;
   }
 
   @Override
@@ -34,6 +49,25 @@ public class BoonPayloadMarshaller implements PayloadMarshaller {
     return mapper.fromJson(body, clazz);
   }
 
+  /**
+   * Beans are read from the bytes, without an intermediate String
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unmarshallPayload(Buffer body, Class<T> clazz) {
+    if (clazz.equals(JsonObject.class)) {
+      return (T) new JsonObject(body.toString("UTF-8"));
+    } else if (clazz.equals(JsonArray.class)) {
+      return (T) new JsonArray(body.toString("UTF-8"));
+    }
+    return mapper.readValue(body.getBytes(), clazz);
+  }
+
+  @Override
+  public ElementSplitter newElementSplitter() {
+    return new JsonElementSplitter();
+  }
+
   @Override
   public String marshallPayload(Object payload) {
     if (payload instanceof JsonObject) {
@@ -44,6 +78,30 @@ public class BoonPayloadMarshaller implements PayloadMarshaller {
     return serializer.serialize(payload).toString();
   }
 
+  @Override
+  public Buffer marshallPayloadToBuffer(Object payload) {
+    if (payload instanceof JsonObject) {
+      return Buffer.buffer(((JsonObject) payload).encode());
+    } else if (payload instanceof JsonArray) {
+      return Buffer.buffer(((JsonArray) payload).encode());
+    }
+    // Boon's CharBuf is encoded as is, instead of being copied into a String first
+    return Utf8Encoder.encode(serializer.serialize(payload));
+  }
+
+  @Override
+  public StreamFormat getStreamFormat() {
+    return streamFormat;
+  }
+
+  @Override
+  public Buffer marshallElement(Object element) {
+    if (element == null) {
+      return NULL;
+    }
+    return marshallPayloadToBuffer(element);
+  }
+
   @Override
   public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
     JsonObject json = new JsonObject();
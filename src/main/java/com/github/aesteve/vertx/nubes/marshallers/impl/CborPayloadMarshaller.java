@@ -0,0 +1,16 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * "application/cbor", as specified by RFC 7049, through jackson-dataformat-cbor.
+ *
+ * Arrays and maps are written with indefinite lengths. Tags are ignored when reading : bignums are read as their bytes.
+ */
+public class CborPayloadMarshaller extends BinaryPayloadMarshaller {
+
+  public CborPayloadMarshaller() {
+    super(new CBORFactory());
+  }
+
+}
@@ -1,9 +1,15 @@
 package com.github.aesteve.vertx.nubes.marshallers.impl;
 
 import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
-import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.ElementSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.TextPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.StreamFormat;
 import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -15,6 +21,9 @@ import javax.xml.bind.Unmarshaller;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -24,37 +33,157 @@ import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Const
 import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_KEY;
 import static com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller.Constants.ERROR_MESSAGE_KEY;
 
-public class JAXBPayloadMarshaller implements PayloadMarshaller {
+public class JAXBPayloadMarshaller implements TextPayloadMarshaller {
 
-  protected Marshaller marshaller;
-  protected Unmarshaller unmarshaller;
+  /**
+   * Streamed payloads are wrapped into an <items> root element
+   */
+  public static final StreamFormat ITEMS = new StreamFormat("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><items>", "", "</items>", "");
+
+  /**
+   * Enough for every event-loop and a few workers : more are created when needed, see JAXBPool
+   */
+  public static final int DEFAULT_POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors() + 8;
+
+  private static final Buffer EMPTY = Buffer.buffer(0);
+  // configured once, then only used to create readers : safe to share
+  private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+  protected final JAXBPool<Marshaller> marshallers;
+  protected final JAXBPool<Marshaller> fragmentMarshallers;
+  protected final JAXBPool<Unmarshaller> unmarshallers;
 
   public JAXBPayloadMarshaller(Set<Class<?>> classes) throws JAXBException {
-    JAXBContext jc = JAXBContext.newInstance(classes.toArray(new Class<?>[0]));
-    marshaller = jc.createMarshaller();
-    unmarshaller = jc.createUnmarshaller();
+    this(JAXBContext.newInstance(classes.toArray(new Class<?>[0])));
+  }
+
+  public JAXBPayloadMarshaller(JAXBContext jc) throws JAXBException {
+    this(jc, DEFAULT_POOL_SIZE);
+  }
+
+  /**
+   * Thread-safe : can be shared by every verticle instance, and used from blocking handlers
+   *
+   * @param poolSize the maximum number of idle marshallers (and unmarshallers) kept
+   */
+  public JAXBPayloadMarshaller(JAXBContext jc, int poolSize) throws JAXBException {
+    marshallers = new JAXBPool<>(jc::createMarshaller, poolSize);
+    fragmentMarshallers = new JAXBPool<>(() -> {
+      Marshaller fragmentMarshaller = jc.createMarshaller();
+      fragmentMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+      return fragmentMarshaller;
+    }, poolSize);
+    unmarshallers = new JAXBPool<>(jc::createUnmarshaller, poolSize);
   }
 
   @Override
   public <T> T unmarshallPayload(String body, Class<T> clazz) {
     try {
-      return unmarshaller.unmarshal(loadXMLFromString(body), clazz).getValue();
-    } catch (MarshallingException | JAXBException e) {
+      return unmarshall(XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(body)), clazz);
+    } catch (XMLStreamException e) {
       throw new VertxException(e);
     }
   }
 
+  /**
+   * Read through StAX, straight from the body's bytes : neither a String nor a DOM is built
+   */
+  @Override
+  public <T> T unmarshallPayload(Buffer body, Class<T> clazz) {
+    try {
+      return unmarshall(XML_INPUT_FACTORY.createXMLStreamReader(new ByteBufInputStream(body.getByteBuf())), clazz);
+    } catch (XMLStreamException e) {
+      throw new VertxException(e);
+    }
+  }
+
+  private <T> T unmarshall(XMLStreamReader reader, Class<T> clazz) {
+    Unmarshaller unmarshaller = unmarshallers.borrow();
+    try {
+      T result = unmarshaller.unmarshal(reader, clazz).getValue();
+      unmarshallers.release(unmarshaller);
+      return result;
+    } catch (JAXBException je) {
+      throw new VertxException(je);
+    } finally {
+      try {
+        reader.close();
+      } catch (XMLStreamException ignored) { //NOSONAR
+        // nothing to release : the underlying stream is in memory
+      }
+    }
+  }
+
+  @Override
+  public ElementSplitter newElementSplitter() {
+    return new XmlElementSplitter();
+  }
+
   @Override
   public String marshallPayload(Object payload) {
     StringWriter writer = new StringWriter();
+    Marshaller marshaller = marshallers.borrow();
     try {
       marshaller.marshal(payload, writer);
     } catch (JAXBException je) {
       throw new VertxException(je);
     }
+    marshallers.release(marshaller);
     return writer.toString();
   }
 
+  @Override
+  public Buffer marshallPayloadToBuffer(Object payload) {
+    return marshall(marshallers, payload);
+  }
+
+  @Override
+  public StreamFormat getStreamFormat() {
+    return ITEMS;
+  }
+
+  /**
+   * Elements are marshalled without any XML declaration, null elements are skipped
+   */
+  @Override
+  public Buffer marshallElement(Object element) {
+    if (element == null) {
+      return EMPTY;
+    }
+    return marshall(fragmentMarshallers, element);
+  }
+
+  private static Buffer marshall(JAXBPool<Marshaller> pool, Object payload) {
+    ByteBufOutputStream out = new ByteBufOutputStream(Unpooled.buffer());
+    Marshaller marshaller = pool.borrow();
+    try {
+      marshaller.marshal(payload, out);
+    } catch (JAXBException je) {
+      throw new VertxException(je);
+    }
+    pool.release(marshaller);
+    return Buffer.buffer(out.buffer());
+  }
+
+  public JAXBPool<Marshaller> getMarshallerPool() {
+    return marshallers;
+  }
+
+  public JAXBPool<Marshaller> getFragmentMarshallerPool() {
+    return fragmentMarshallers;
+  }
+
+  public JAXBPool<Unmarshaller> getUnmarshallerPool() {
+    return unmarshallers;
+  }
+
+  private static XMLInputFactory createXMLInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    return factory;
+  }
+
   public static Document loadXMLFromString(String xml) throws MarshallingException {
     DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
     DocumentBuilder builder;
@@ -0,0 +1,104 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.VertxException;
+
+import javax.xml.bind.JAXBException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Marshallers and Unmarshallers are not thread-safe, and costly to create : they're borrowed for a single call, then given back.
+ *
+ * Never blocks : when every pooled instance is in use, a new one is created.
+ * At most maxIdle instances are kept once given back, the others are dropped.
+ */
+public class JAXBPool<T> {
+
+  @FunctionalInterface
+  interface Factory<T> {
+    T create() throws JAXBException;
+  }
+
+  private final Factory<T> factory;
+  private final int maxIdle;
+  private final Queue<T> idle;
+  private final AtomicInteger idleCount;
+  private final LongAdder created;
+  private final LongAdder borrowed;
+  private final LongAdder dropped;
+
+  JAXBPool(Factory<T> factory, int maxIdle) throws JAXBException {
+    if (maxIdle <= 0) {
+      throw new IllegalArgumentException("Invalid JAXB pool size : " + maxIdle);
+    }
+    this.factory = factory;
+    this.maxIdle = maxIdle;
+    idle = new ConcurrentLinkedQueue<>();
+    idleCount = new AtomicInteger();
+    created = new LongAdder();
+    borrowed = new LongAdder();
+    dropped = new LongAdder();
+    // fails fast if the JAXBContext can't create any
+    idle.add(factory.create());
+    idleCount.incrementAndGet();
+    created.increment();
+  }
+
+  T borrow() {
+    borrowed.increment();
+    T instance = idle.poll();
+    if (instance != null) {
+      idleCount.decrementAndGet();
+      return instance;
+    }
+    created.increment();
+    try {
+      return factory.create();
+    } catch (JAXBException je) {
+      throw new VertxException(je);
+    }
+  }
+
+  /**
+   * Must not be called with an instance which failed in the middle of a call : it may be left in an inconsistent state
+   */
+  void release(T instance) {
+    if (idleCount.incrementAndGet() > maxIdle) {
+      idleCount.decrementAndGet();
+      dropped.increment();
+      return;
+    }
+    idle.add(instance);
+  }
+
+  /**
+   * @return the number of instances currently available
+   */
+  public int idle() {
+    return idleCount.get();
+  }
+
+  /**
+   * @return the number of instances created since startup, a steady increase means maxIdle is too small
+   */
+  public long created() {
+    return created.sum();
+  }
+
+  /**
+   * @return the number of calls served since startup
+   */
+  public long borrowed() {
+    return borrowed.sum();
+  }
+
+  /**
+   * @return the number of instances dropped because maxIdle were already available
+   */
+  public long dropped() {
+    return dropped.sum();
+  }
+
+}
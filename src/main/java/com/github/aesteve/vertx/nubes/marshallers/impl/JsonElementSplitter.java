@@ -0,0 +1,108 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Splits either a json array into its items, or whitespace separated json documents (NDJSON) into documents.
+ * Only nesting and strings are tracked : elements themselves are validated when unmarshalled.
+ */
+public class JsonElementSplitter extends AbstractElementSplitter {
+
+  private enum Mode {UNKNOWN, ARRAY, DOCUMENTS, DONE}
+
+  private Mode mode = Mode.UNKNOWN;
+  private int base;
+  private int depth;
+  private boolean inString;
+  private boolean escaped;
+  private boolean inScalar;
+
+  @Override
+  protected void consume(Buffer chunk, int i, byte b, Handler<Buffer> elementHandler) {
+    if (mode == Mode.DONE) {
+      if (!isWhitespace(b)) {
+        throw new IllegalArgumentException("Unexpected content after the json array");
+      }
+      return;
+    }
+    if (mode == Mode.UNKNOWN) {
+      if (isWhitespace(b)) {
+        return;
+      }
+      if (b == '[') {
+        mode = Mode.ARRAY;
+        base = 1;
+        depth = 1;
+        return;
+      }
+      mode = Mode.DOCUMENTS;
+    }
+    if (inString) {
+      if (escaped) {
+        escaped = false;
+      } else if (b == '\\') {
+        escaped = true;
+      } else if (b == '"') {
+        inString = false;
+        if (depth == base) {
+          endElement(chunk, i + 1, elementHandler);
+        }
+      }
+    } else if (depth == base) {
+      between(chunk, i, b, elementHandler);
+    } else if (b == '"') {
+      inString = true;
+    } else if (b == '{' || b == '[') {
+      depth++;
+    } else if (b == '}' || b == ']') {
+      depth--;
+      if (depth == base) {
+        endElement(chunk, i + 1, elementHandler);
+      }
+    }
+  }
+
+  /**
+   * Outside of any element, or within a scalar one (number, boolean, null)
+   */
+  private void between(Buffer chunk, int i, byte b, Handler<Buffer> elementHandler) {
+    boolean closesArray = b == ']' && mode == Mode.ARRAY;
+    if (isWhitespace(b) || b == ',' || closesArray) {
+      if (inScalar) {
+        inScalar = false;
+        endElement(chunk, i, elementHandler);
+      }
+      if (closesArray) {
+        mode = Mode.DONE;
+      }
+      return;
+    }
+    if (inScalar) {
+      return;
+    }
+    if (b == '}' || b == ']') {
+      throw new IllegalArgumentException("Unexpected '" + (char) b + "' in json body");
+    }
+    startElement(i);
+    if (b == '"') {
+      inString = true;
+    } else if (b == '{' || b == '[') {
+      depth++;
+    } else {
+      inScalar = true;
+    }
+  }
+
+  @Override
+  public void end(Handler<Buffer> elementHandler) {
+    if (inScalar && mode == Mode.DOCUMENTS) {
+      inScalar = false;
+      endElement(elementHandler);
+    }
+    if (mode == Mode.ARRAY || isReadingElement()) {
+      throw new IllegalArgumentException("Truncated json body");
+    }
+  }
+
+}
@@ -0,0 +1,30 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.buffer.Buffer;
+import org.msgpack.core.MessagePackException;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+/**
+ * "application/x-msgpack", as specified by https://github.com/msgpack/msgpack/blob/master/spec.md, through jackson-dataformat-msgpack.
+ *
+ * Integers are written in their smallest form. Extension types are read as their raw data (a byte[]).
+ */
+public class MessagePackPayloadMarshaller extends BinaryPayloadMarshaller {
+
+  public MessagePackPayloadMarshaller() {
+    super(new MessagePackFactory());
+  }
+
+  /**
+   * The MessagePack parser reports malformed payloads with its own unchecked exceptions
+   */
+  @Override
+  public <T> T unmarshallPayload(Buffer body, Class<T> clazz) {
+    try {
+      return super.unmarshallPayload(body, clazz);
+    } catch (MessagePackException mpe) {
+      throw new IllegalArgumentException("Malformed payload", mpe);
+    }
+  }
+
+}
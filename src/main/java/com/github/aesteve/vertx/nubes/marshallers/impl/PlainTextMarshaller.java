@@ -1,10 +1,13 @@
 package com.github.aesteve.vertx.nubes.marshallers.impl;
 
-import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.TextPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.StreamFormat;
 import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
+import com.github.aesteve.vertx.nubes.utils.Utf8Encoder;
 import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
 
-public class PlainTextMarshaller implements PayloadMarshaller {
+public class PlainTextMarshaller implements TextPayloadMarshaller {
 
   @Override
   @SuppressWarnings("unchecked")
@@ -24,6 +27,19 @@ public class PlainTextMarshaller implements PayloadMarshaller {
     }
   }
 
+  @Override
+  public Buffer marshallPayloadToBuffer(Object payload) {
+    return Utf8Encoder.encode(marshallPayload(payload));
+  }
+
+  /**
+   * One String per line
+   */
+  @Override
+  public StreamFormat getStreamFormat() {
+    return StreamFormat.LINES;
+  }
+
   @Override
   public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
     if (displayDetails) {
@@ -0,0 +1,142 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Splits an xml document into the children of its root element, for instance every dog of <dogs><dog/><dog/></dogs>.
+ * Only markup is tracked (tags, comments, CDATA sections, processing instructions) : elements are validated when unmarshalled.
+ * Namespaces declared on the root element are not inherited by its children.
+ */
+public class XmlElementSplitter extends AbstractElementSplitter {
+
+  private enum State {TEXT, LT, BANG, START_TAG, END_TAG, PI, COMMENT, CDATA, DECLARATION}
+
+  private State state = State.TEXT;
+  private int depth;
+  private boolean rootRead;
+  private byte quote;
+  private byte previous;
+  private int closing;
+
+  @Override
+  protected void consume(Buffer chunk, int i, byte b, Handler<Buffer> elementHandler) {
+    switch (state) {
+      case TEXT:
+        if (b == '<') {
+          state = State.LT;
+          if (depth == 1) {
+            // provisionally : it may be a comment, or the end of the root element
+            startElement(i);
+          }
+        } else if (depth == 0 && !isWhitespace(b)) {
+          throw new IllegalArgumentException("Unexpected text outside of the xml root element");
+        }
+        break;
+      case LT:
+        if (b == '/') {
+          state = State.END_TAG;
+        } else if (b == '?') {
+          state = State.PI;
+        } else if (b == '!') {
+          state = State.BANG;
+        } else {
+          if (depth == 0 && rootRead) {
+            throw new IllegalArgumentException("Several xml root elements");
+          }
+          state = State.START_TAG;
+        }
+        if (depth == 1 && state != State.START_TAG) {
+          cancelElement();
+        }
+        break;
+      case BANG:
+        if (b == '-') {
+          state = State.COMMENT;
+          closing = -1; // the second dash of "<!--"
+        } else if (b == '[') {
+          state = State.CDATA;
+          closing = 0;
+        } else {
+          state = State.DECLARATION;
+          closing = 0;
+        }
+        break;
+      case START_TAG:
+        if (quote != 0) {
+          if (b == quote) {
+            quote = 0;
+          }
+        } else if (b == '"' || b == '\'') {
+          quote = b;
+        } else if (b == '>') {
+          state = State.TEXT;
+          if (previous != '/') {
+            depth++;
+            rootRead = true;
+          } else if (depth == 1) {
+            endElement(chunk, i + 1, elementHandler);
+          } else if (depth == 0) {
+            // an empty root element
+            rootRead = true;
+          }
+        }
+        break;
+      case END_TAG:
+        if (b == '>') {
+          state = State.TEXT;
+          depth--;
+          if (depth == 1) {
+            endElement(chunk, i + 1, elementHandler);
+          } else if (depth < 0) {
+            throw new IllegalArgumentException("Unexpected xml end tag");
+          }
+        }
+        break;
+      case PI:
+        if (b == '>' && previous == '?') {
+          state = State.TEXT;
+        }
+        break;
+      case COMMENT:
+        if (b == '-') {
+          closing++;
+        } else if (b == '>' && closing >= 2) {
+          state = State.TEXT;
+        } else {
+          closing = 0;
+        }
+        break;
+      case CDATA:
+        if (b == ']') {
+          closing++;
+        } else if (b == '>' && closing >= 2) {
+          state = State.TEXT;
+        } else {
+          closing = 0;
+        }
+        break;
+      case DECLARATION:
+        // nesting of the DOCTYPE internal subset
+        if (b == '[') {
+          closing++;
+        } else if (b == ']') {
+          closing--;
+        } else if (b == '>' && closing == 0) {
+          state = State.TEXT;
+        }
+        break;
+      default:
+        break;
+    }
+    previous = b;
+  }
+
+  @Override
+  public void end(Handler<Buffer> elementHandler) {
+    if (depth != 0 || state != State.TEXT) {
+      throw new IllegalArgumentException("Truncated xml body");
+    }
+  }
+
+}
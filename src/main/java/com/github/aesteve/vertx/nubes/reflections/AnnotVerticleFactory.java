@@ -5,7 +5,6 @@ import com.github.aesteve.vertx.nubes.annotations.services.Verticle;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import org.reflections.Reflections;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,8 +26,7 @@ public class AnnotVerticleFactory {
     if (verticlePackage == null) {
       return map;
     }
-    Reflections reflections = new Reflections(verticlePackage);
-    Set<Class<?>> classes = reflections.getTypesAnnotatedWith(Verticle.class);
+    Set<Class<?>> classes = config.getClassIndex().getTypesAnnotatedWith(verticlePackage, Verticle.class);
     classes.forEach(clazz -> {
       if (!io.vertx.core.Verticle.class.isAssignableFrom(clazz)) {
         LOG.error("Cannot create verticle " + clazz.getName() + " since it's not a subclass of io.vertx.core.Verticle");
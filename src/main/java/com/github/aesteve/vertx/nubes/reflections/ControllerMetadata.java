@@ -0,0 +1,28 @@
+package com.github.aesteve.vertx.nubes.reflections;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The methods declared by a controller class, shared by every VertxNubes instance with the same configuration (see Config.getControllerMetadata).
+ */
+public class ControllerMetadata {
+
+  private final List<MethodMetadata> methods;
+
+  public ControllerMetadata(Class<?> controller, Function<Method, MethodMetadata> metadata) {
+    List<MethodMetadata> declared = new ArrayList<>();
+    for (Method method : controller.getDeclaredMethods()) {
+      declared.add(metadata.apply(method));
+    }
+    methods = Collections.unmodifiableList(declared);
+  }
+
+  public List<MethodMetadata> methods() {
+    return methods;
+  }
+
+}
@@ -0,0 +1,67 @@
+package com.github.aesteve.vertx.nubes.reflections;
+
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvoker;
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvokerFactory;
+import com.github.aesteve.vertx.nubes.reflections.invokers.impl.MethodHandleInvoker;
+import com.github.aesteve.vertx.nubes.reflections.invokers.impl.ReflectiveMethodInvoker;
+import com.github.aesteve.vertx.nubes.routing.HttpMethodFactory;
+import io.vertx.core.http.HttpMethod;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * What's known about a controller method before it's bound to a controller instance : its routes, parameters, and the handle invoking it.
+ * Computed once per method, and shared by every VertxNubes instance with the same configuration (see Config.getMethodMetadata).
+ */
+public class MethodMetadata {
+
+  private final Method method;
+  private final Map<HttpMethod, String> routes;
+  private final ParameterMetadata[] parameters;
+  private final MethodHandle handle;
+
+  /**
+   * @param compile whether the method should be linked into a MethodHandle (see MethodInvokerFactory)
+   */
+  public MethodMetadata(Method method, boolean compile) {
+    this.method = method;
+    routes = HttpMethodFactory.isRouteMethod(method) ? Collections.unmodifiableMap(HttpMethodFactory.fromAnnotatedMethod(method)) : Collections.emptyMap();
+    Parameter[] params = method.getParameters();
+    parameters = new ParameterMetadata[params.length];
+    for (int i = 0; i < params.length; i++) {
+      parameters[i] = new ParameterMetadata(params[i]);
+    }
+    handle = compile ? MethodInvokerFactory.link(method) : null;
+  }
+
+  public Method method() {
+    return method;
+  }
+
+  /**
+   * @return the paths of this method for every HTTP method it's annotated with, empty if it's not a route
+   */
+  public Map<HttpMethod, String> routes() {
+    return routes;
+  }
+
+  public boolean isRoute() {
+    return !routes.isEmpty();
+  }
+
+  /**
+   * @return the parameters of the method, must not be modified
+   */
+  public ParameterMetadata[] parameters() {
+    return parameters;
+  }
+
+  public MethodInvoker invoker(Object instance) {
+    return handle == null ? new ReflectiveMethodInvoker(instance, method) : new MethodHandleInvoker(instance, handle);
+  }
+
+}
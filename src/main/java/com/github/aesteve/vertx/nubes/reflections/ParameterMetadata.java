@@ -0,0 +1,55 @@
+package com.github.aesteve.vertx.nubes.reflections;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+
+/**
+ * A method parameter, as read once through reflection (see MethodMetadata).
+ */
+public class ParameterMetadata {
+
+  private final String name;
+  private final Class<?> type;
+  private final Type genericType;
+  private final Annotation[] annotations;
+
+  public ParameterMetadata(Parameter parameter) {
+    name = parameter.getName();
+    type = parameter.getType();
+    genericType = parameter.getParameterizedType();
+    annotations = parameter.getAnnotations();
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public Class<?> type() {
+    return type;
+  }
+
+  public Type genericType() {
+    return genericType;
+  }
+
+  /**
+   * @return the annotations of the parameter, must not be modified
+   */
+  public Annotation[] annotations() {
+    return annotations;
+  }
+
+  /**
+   * @return the annotation of this type, or null if the parameter isn't annotated with it
+   */
+  public <T extends Annotation> T annotation(Class<T> annotationType) {
+    for (Annotation annotation : annotations) {
+      if (annotation.annotationType().equals(annotationType)) {
+        return annotationType.cast(annotation);
+      }
+    }
+    return null;
+  }
+
+}
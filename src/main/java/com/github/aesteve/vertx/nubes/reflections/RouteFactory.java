@@ -1,5 +1,6 @@
 package com.github.aesteve.vertx.nubes.reflections;
 
+import com.github.aesteve.vertx.nubes.BootstrapReport;
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.annotations.Controller;
 import com.github.aesteve.vertx.nubes.annotations.File;
@@ -9,10 +10,10 @@ import com.github.aesteve.vertx.nubes.context.ViewResolver;
 import com.github.aesteve.vertx.nubes.reflections.factories.AuthenticationFactory;
 import com.github.aesteve.vertx.nubes.reflections.visitors.ControllerVisitor;
 import com.github.aesteve.vertx.nubes.routing.MVCRoute;
+import com.github.aesteve.vertx.nubes.routing.RouteDispatcher;
 import io.vertx.core.VertxException;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
-import org.reflections.Reflections;
 
 import java.lang.annotation.Annotation;
 import java.util.*;
@@ -51,14 +52,19 @@ public class RouteFactory implements HandlerFactory {
   @Override
   public void createHandlers() {
     List<MVCRoute> routes = extractRoutesFromControllers();
-    routes.stream().filter(MVCRoute::isEnabled).forEach(route -> route.attachHandlersToRouter(router));
+    if (config.isTrieDispatcher()) {
+      RouteDispatcher dispatcher = new RouteDispatcher();
+      routes.stream().filter(MVCRoute::isEnabled).forEach(route -> dispatcher.addRoute(route.method(), route.path(), route.createStages(router)));
+      router.route().handler(dispatcher);
+    } else {
+      routes.stream().filter(MVCRoute::isEnabled).forEach(route -> route.attachHandlersToRouter(router));
+    }
   }
 
   private List<MVCRoute> extractRoutesFromControllers() {
     List<MVCRoute> routes = new ArrayList<>();
     config.forEachControllerPackage(controllerPackage -> {
-      Reflections reflections = new Reflections(controllerPackage);
-      Set<Class<?>> controllers = reflections.getTypesAnnotatedWith(Controller.class);
+      Set<Class<?>> controllers = config.getClassIndex().getTypesAnnotatedWith(controllerPackage, Controller.class);
       controllers.forEach(controller -> routes.addAll(extractRoutesFromController(controller)));
     });
     return routes;
@@ -66,8 +72,11 @@ public class RouteFactory implements HandlerFactory {
 
   private List<MVCRoute> extractRoutesFromController(Class<?> controller) {
     try {
+      final long start = System.nanoTime();
       ControllerVisitor<?> visitor = new ControllerVisitor<>(controller, config, router, authFactory, routeRegistry, returnHandlers);
-      return visitor.visit();
+      List<MVCRoute> routes = visitor.visit();
+      config.getBootstrapReport().record(BootstrapReport.CONTROLLERS, controller.getName(), start);
+      return routes;
     } catch (IllegalAccessException | InstantiationException e) {
       throw new VertxException(e);
     }
@@ -4,7 +4,6 @@ import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.annotations.sockjs.SockJS;
 import com.github.aesteve.vertx.nubes.reflections.visitors.SockJSVisitor;
 import io.vertx.ext.web.Router;
-import org.reflections.Reflections;
 
 import java.util.Set;
 
@@ -21,8 +20,7 @@ public class SocketFactory implements HandlerFactory {
   @Override
   public void createHandlers() {
     config.forEachControllerPackage(controllerPackage -> {
-      Reflections reflections = new Reflections(controllerPackage);
-      Set<Class<?>> controllers = reflections.getTypesAnnotatedWith(SockJS.class);
+      Set<Class<?>> controllers = config.getClassIndex().getTypesAnnotatedWith(controllerPackage, SockJS.class);
       controllers.forEach(this::createSocketHandlers);
     });
   }
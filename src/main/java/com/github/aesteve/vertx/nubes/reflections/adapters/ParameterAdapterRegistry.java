@@ -1,5 +1,6 @@
 package com.github.aesteve.vertx.nubes.reflections.adapters;
 
+import com.github.aesteve.vertx.nubes.reflections.adapters.impl.BeanParameterAdapter;
 import com.github.aesteve.vertx.nubes.reflections.adapters.impl.DefaultParameterAdapter;
 import io.vertx.core.MultiMap;
 
@@ -10,10 +11,12 @@ public class ParameterAdapterRegistry {
 
   private final Map<Class<?>, ParameterAdapter<?>> adapters;
   private final ParameterAdapter<Object> defaultParameterAdapter;
+  private final ParameterAdapter<Object> beanParameterAdapter;
 
   private ParameterAdapterRegistry(ParameterAdapter<Object> defaultParameterAdapter) {
     adapters = new HashMap<>();
     this.defaultParameterAdapter = defaultParameterAdapter;
+    beanParameterAdapter = new BeanParameterAdapter(defaultParameterAdapter);
   }
 
   public ParameterAdapterRegistry() {
@@ -49,9 +52,7 @@ public class ParameterAdapterRegistry {
     ParameterAdapter<T> adapter = getAdapter(parameterClass);
     if (adapter != null) {
       return adapter.adaptParams(values, parameterClass);
-    } else if (defaultParameterAdapter != null) {
-      return (T) defaultParameterAdapter.adaptParams(values, parameterClass);
     }
-    return null;
+    return (T) beanParameterAdapter.adaptParams(values, parameterClass);
   }
 }
@@ -0,0 +1,117 @@
+package com.github.aesteve.vertx.nubes.reflections.adapters.impl;
+
+import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapter;
+import io.vertx.core.MultiMap;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills a bean from request parameters through MethodHandles resolved once per class :
+ * the no-arg constructor, and the setter of every declared field (same properties as PropertyUtils would set).
+ */
+class BeanBinder {
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private final Class<?> beanClass;
+  private final MethodHandle constructor;
+  private final PropertyBinder[] properties;
+
+  BeanBinder(Class<?> beanClass) {
+    this.beanClass = beanClass;
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      Constructor<?> noArg = beanClass.getDeclaredConstructor();
+      noArg.setAccessible(true);
+      constructor = lookup.unreflectConstructor(noArg).asType(CONSTRUCTOR_TYPE);
+      Map<String, Method> setters = setters(beanClass);
+      List<PropertyBinder> binders = new ArrayList<>();
+      for (Field field : beanClass.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+          continue;
+        }
+        Method setter = setters.get(field.getName());
+        MethodHandle handle = null;
+        if (setter != null) {
+          setter.setAccessible(true);
+          handle = lookup.unreflect(setter).asType(SETTER_TYPE);
+        }
+        binders.add(new PropertyBinder(field.getName(), field.getType(), handle));
+      }
+      properties = binders.toArray(new PropertyBinder[binders.size()]);
+    } catch (NoSuchMethodException | IllegalAccessException | IntrospectionException e) {
+      throw new IllegalArgumentException("Cannot bind request parameters to " + beanClass.getName(), e);
+    }
+  }
+
+  Object bind(MultiMap params, ParameterAdapter<Object> adapter) {
+    final Object instance;
+    try {
+      instance = constructor.invokeExact();
+    } catch (Throwable t) { //NOSONAR : same contract as Class.newInstance
+      throw new IllegalArgumentException(t);
+    }
+    for (PropertyBinder property : properties) {
+      String requestValue = params.get(property.name);
+      if (requestValue != null) {
+        property.set(instance, adapter.adaptParam(requestValue, property.type));
+      }
+    }
+    return instance;
+  }
+
+  private static Map<String, Method> setters(Class<?> beanClass) throws IntrospectionException {
+    Map<String, Method> setters = new HashMap<>();
+    BeanInfo info = Introspector.getBeanInfo(beanClass);
+    for (PropertyDescriptor descriptor : info.getPropertyDescriptors()) {
+      if (descriptor.getWriteMethod() != null) {
+        setters.put(descriptor.getName(), descriptor.getWriteMethod());
+      }
+    }
+    return setters;
+  }
+
+  private class PropertyBinder {
+
+    private final String name;
+    private final Class<?> type;
+    private final MethodHandle setter;
+
+    private PropertyBinder(String name, Class<?> type, MethodHandle setter) {
+      this.name = name;
+      this.type = type;
+      this.setter = setter;
+    }
+
+    private void set(Object instance, Object value) {
+      if (setter == null) {
+        throw new IllegalArgumentException("Property '" + name + "' has no setter method in class '" + beanClass.getName() + "'");
+      }
+      try {
+        setter.invokeExact(instance, value);
+      } catch (ClassCastException | NullPointerException e) { //NOSONAR : value doesn't match the property type
+        throw new IllegalArgumentException("Cannot set property '" + name + "' of class '" + beanClass.getName() + "'", e);
+      } catch (RuntimeException re) {
+        throw re;
+      } catch (Throwable t) { //NOSONAR
+        throw new IllegalArgumentException(t);
+      }
+    }
+  }
+
+}
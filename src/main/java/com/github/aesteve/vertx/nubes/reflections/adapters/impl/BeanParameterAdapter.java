@@ -0,0 +1,34 @@
+package com.github.aesteve.vertx.nubes.reflections.adapters.impl;
+
+import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapter;
+import io.vertx.core.MultiMap;
+
+/**
+ * Binds request parameters to @Params beans.
+ * Setters are resolved once per bean class, single values are converted by the delegate adapter.
+ */
+public class BeanParameterAdapter implements ParameterAdapter<Object> {
+
+  private final ParameterAdapter<Object> delegate;
+  private final ClassValue<BeanBinder> binders = new ClassValue<BeanBinder>() {
+    @Override
+    protected BeanBinder computeValue(Class<?> type) {
+      return new BeanBinder(type);
+    }
+  };
+
+  public BeanParameterAdapter(ParameterAdapter<Object> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Object adaptParam(String value, Class<?> parameterClass) {
+    return delegate.adaptParam(value, parameterClass);
+  }
+
+  @Override
+  public Object adaptParams(MultiMap params, Class<?> parameterClass) {
+    return binders.get(parameterClass).bind(params, delegate);
+  }
+
+}
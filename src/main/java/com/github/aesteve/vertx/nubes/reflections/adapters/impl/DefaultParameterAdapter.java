@@ -2,39 +2,80 @@ package com.github.aesteve.vertx.nubes.reflections.adapters.impl;
 
 import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapter;
 import com.github.aesteve.vertx.nubes.utils.DateUtils;
+import com.github.aesteve.vertx.nubes.utils.IsoDateParser;
 import io.vertx.core.MultiMap;
 import org.apache.commons.beanutils.PropertyUtils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 public class DefaultParameterAdapter implements ParameterAdapter<Object> {
 
   private static final Map<Class<?>, Function<String, Object>> adapters = new HashMap<>();
+  private static final Map<Class<?>, Object> primitiveDefaults = new HashMap<>();
 
   static {
     adapters.put(String.class, String::valueOf);
     adapters.put(Long.class, Long::valueOf);
+    adapters.put(long.class, Long::parseLong);
     adapters.put(Integer.class, Integer::valueOf);
+    adapters.put(int.class, Integer::parseInt);
+    adapters.put(Short.class, Short::valueOf);
+    adapters.put(short.class, Short::parseShort);
     adapters.put(Float.class, Float::valueOf);
-    adapters.put(Date.class, DateUtils.INSTANCE::parseIso8601);
+    adapters.put(float.class, Float::parseFloat);
+    adapters.put(Double.class, Double::valueOf);
+    adapters.put(double.class, Double::parseDouble);
+    adapters.put(Boolean.class, DefaultParameterAdapter::parseBoolean);
+    adapters.put(boolean.class, DefaultParameterAdapter::parseBoolean);
+    adapters.put(UUID.class, UUID::fromString);
+    adapters.put(Date.class, DefaultParameterAdapter::parseDate);
+    adapters.put(Instant.class, IsoDateParser::parseInstant);
+    adapters.put(LocalDate.class, IsoDateParser::parseLocalDate);
+    adapters.put(OffsetDateTime.class, IsoDateParser::parseOffsetDateTime);
+
+    primitiveDefaults.put(long.class, 0L);
+    primitiveDefaults.put(int.class, 0);
+    primitiveDefaults.put(short.class, (short) 0);
+    primitiveDefaults.put(float.class, 0f);
+    primitiveDefaults.put(double.class, 0d);
+    primitiveDefaults.put(boolean.class, Boolean.FALSE);
   }
 
-  @SuppressWarnings("unchecked")
+  private static final ClassValue<Map<String, Object>> enumConstants = new ClassValue<Map<String, Object>>() {
+    @Override
+    protected Map<String, Object> computeValue(Class<?> type) {
+      Map<String, Object> constants = new HashMap<>();
+      for (Object constant : type.getEnumConstants()) {
+        constants.put(((Enum<?>) constant).name(), constant);
+      }
+      return Collections.unmodifiableMap(constants);
+    }
+  };
+
   @Override
   public Object adaptParam(String value, Class<?> parameterClass) {
     if (value == null) {
-      return null;
+      return primitiveDefaults.get(parameterClass);
     }
     Function<String, Object> adapter = adapters.get(parameterClass);
     if (adapter != null) {
       return adapter.apply(value);
     } else if (parameterClass.isEnum()) {
-      return Enum.valueOf((Class<Enum>) parameterClass, value);
+      Object constant = enumConstants.get(parameterClass).get(value);
+      if (constant == null) {
+        throw new IllegalArgumentException("No enum constant " + parameterClass.getCanonicalName() + "." + value);
+      }
+      return constant;
     }
     return null;
   }
@@ -57,4 +98,27 @@ public class DefaultParameterAdapter implements ParameterAdapter<Object> {
     }
     return instance;
   }
+
+  /**
+   * Unlike Boolean.valueOf, anything but "true" or "false" is considered invalid
+   */
+  private static Boolean parseBoolean(String value) {
+    if ("true".equalsIgnoreCase(value)) {
+      return Boolean.TRUE;
+    } else if ("false".equalsIgnoreCase(value)) {
+      return Boolean.FALSE;
+    }
+    throw new IllegalArgumentException("Invalid boolean value : " + value);
+  }
+
+  /**
+   * Dates with an explicit offset don't need the XMLGregorianCalendar detour
+   */
+  private static Date parseDate(String value) {
+    OffsetDateTime dateTime = IsoDateParser.parseCommonForm(value);
+    if (dateTime == null) {
+      return DateUtils.INSTANCE.parseIso8601(value);
+    }
+    return Date.from(dateTime.toInstant());
+  }
 }
@@ -3,8 +3,16 @@ package com.github.aesteve.vertx.nubes.reflections.factories;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 
 @FunctionalInterface
 public interface AnnotationProcessorFactory<T extends Annotation> {
   AnnotationProcessor<T> create(T annotation);
+
+  /**
+   * @param annotated the controller class or method carrying the annotation
+   */
+  default AnnotationProcessor<T> create(T annotation, AnnotatedElement annotated) {
+    return create(annotation);
+  }
 }
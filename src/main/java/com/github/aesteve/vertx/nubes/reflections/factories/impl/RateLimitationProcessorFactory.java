@@ -0,0 +1,70 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Throttled;
+import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.RateLimitationProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+import com.github.aesteve.vertx.nubes.throttling.RateLimiter;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the policy and key of every @Throttled at bootstrap : one processor per limiter and key,
+ * so that a route throttled by the same policy at controller and method level is only counted once.
+ */
+public class RateLimitationProcessorFactory implements AnnotationProcessorFactory<Throttled> {
+
+  private final Config config;
+  private final Map<RateLimiter, Map<String, RateLimitationProcessor>> processors;
+
+  public RateLimitationProcessorFactory(Config config) {
+    this.config = config;
+    processors = new HashMap<>();
+  }
+
+  @Override
+  public AnnotationProcessor<Throttled> create(Throttled annotation) {
+    return create(annotation, null);
+  }
+
+  /**
+   * @param annotated an inline policy is counted per controller or method declaring it, or per limits if it's unknown
+   */
+  @Override
+  public AnnotationProcessor<Throttled> create(Throttled annotation, AnnotatedElement annotated) {
+    RateLimiter rateLimiter;
+    String key = annotation.key();
+    if (annotation.count() >= 0) {
+      if (!"".equals(annotation.value())) {
+        throw new IllegalArgumentException("@Throttled should either reference a policy or declare a count, not both : " + annotation);
+      }
+      RateLimit limit = new RateLimit(annotation.count(), annotation.timeFrame(), annotation.timeUnit());
+      rateLimiter = config.getRateLimiter(limit, owner(annotated, limit));
+    } else {
+      rateLimiter = config.getRateLimiter(annotation.value());
+    }
+    if ("".equals(key)) {
+      key = config.getThrottlingKey(annotation.value());
+    }
+    return processors.computeIfAbsent(rateLimiter, limiter -> new HashMap<>())
+        .computeIfAbsent(key, spec -> new RateLimitationProcessor(rateLimiter, config.getKeyExtractor(spec), config.getThrottlingSeed()));
+  }
+
+  private static String owner(AnnotatedElement annotated, RateLimit limit) {
+    if (annotated instanceof Class) {
+      return ((Class<?>) annotated).getName();
+    }
+    if (annotated instanceof Method) {
+      Method method = (Method) annotated;
+      return method.getDeclaringClass().getName() + '#' + method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+    return limit.toString();
+  }
+
+}
@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.ResponseCacheProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class ResponseCacheProcessorFactory implements AnnotationProcessorFactory<Cacheable> {
+
+  private final Config config;
+
+  public ResponseCacheProcessorFactory(Config config) {
+    this.config = config;
+  }
+
+  @Override
+  public AnnotationProcessor<Cacheable> create(Cacheable annotation) {
+    return new ResponseCacheProcessor(config.getResponseCache(), annotation);
+  }
+
+}
@@ -0,0 +1,24 @@
+package com.github.aesteve.vertx.nubes.reflections.index;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
+/**
+ * Lists the application classes Nubes needs at bootstrap (controllers, verticles, fixtures, domain objects).
+ * Every method filters on a package prefix, as Reflections does.
+ */
+public interface ClassIndex {
+
+  String LOCATION = "META-INF/nubes/class-index.json";
+
+  String ANNOTATED = "annotated";
+  String FIXTURES = "fixtures";
+  String TYPES = "types";
+
+  Set<Class<?>> getTypesAnnotatedWith(String packageName, Class<? extends Annotation> annotation);
+
+  <T> Set<Class<? extends T>> getSubTypesOf(String packageName, Class<T> type);
+
+  Set<Class<?>> getAllTypes(String packageName);
+
+}
@@ -0,0 +1,68 @@
+package com.github.aesteve.vertx.nubes.reflections.index;
+
+import com.github.aesteve.vertx.nubes.reflections.index.impl.CompositeClassIndex;
+import com.github.aesteve.vertx.nubes.reflections.index.impl.GeneratedClassIndex;
+import com.github.aesteve.vertx.nubes.reflections.index.impl.ReflectionsClassIndex;
+import io.vertx.core.VertxException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class ClassIndexFactory {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClassIndexFactory.class);
+
+  private ClassIndexFactory() {}
+
+  /**
+   * Reads every index generated by the ClassIndexProcessor on the classpath,
+   * or falls back to scanning the given packages if there's none, or if they're not covered by the index (i.e. another module compiled without the processor).
+   * Blocking : must not be called from an event loop.
+   */
+  public static ClassIndex create(ClassLoader classLoader, Collection<String> packageNames) {
+    List<JsonObject> indexes = new ArrayList<>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(ClassIndex.LOCATION);
+      while (resources.hasMoreElements()) {
+        indexes.add(read(resources.nextElement()));
+      }
+    } catch (IOException ioe) {
+      throw new VertxException(ioe);
+    }
+    if (indexes.isEmpty()) {
+      LOG.debug("No class index found, will scan the classpath");
+      return new ReflectionsClassIndex(packageNames);
+    }
+    GeneratedClassIndex generated = new GeneratedClassIndex(classLoader, indexes);
+    List<String> uncovered = packageNames.stream().filter(packageName -> !generated.covers(packageName)).collect(Collectors.toList());
+    if (uncovered.isEmpty()) {
+      return generated;
+    }
+    LOG.debug("The class index doesn't cover " + uncovered + ", will scan them");
+    return new CompositeClassIndex(generated, uncovered);
+  }
+
+  private static JsonObject read(URL url) throws IOException {
+    try (InputStream in = url.openStream()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return new JsonObject(new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+  }
+
+}
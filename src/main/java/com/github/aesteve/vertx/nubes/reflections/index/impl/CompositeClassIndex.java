@@ -0,0 +1,48 @@
+package com.github.aesteve.vertx.nubes.reflections.index.impl;
+
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndex;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Reads the generated index, except for the packages it doesn't cover (compiled without the ClassIndexProcessor), which are scanned.
+ */
+public class CompositeClassIndex implements ClassIndex {
+
+  private final ClassIndex generated;
+  private final ClassIndex scanned;
+  private final Collection<String> scannedPackages;
+
+  public CompositeClassIndex(ClassIndex generated, Collection<String> scannedPackages) {
+    this.generated = generated;
+    this.scannedPackages = scannedPackages;
+    scanned = new ReflectionsClassIndex(scannedPackages);
+  }
+
+  @Override
+  public Set<Class<?>> getTypesAnnotatedWith(String packageName, Class<? extends Annotation> annotation) {
+    return indexOf(packageName).getTypesAnnotatedWith(packageName, annotation);
+  }
+
+  @Override
+  public <T> Set<Class<? extends T>> getSubTypesOf(String packageName, Class<T> type) {
+    return indexOf(packageName).getSubTypesOf(packageName, type);
+  }
+
+  @Override
+  public Set<Class<?>> getAllTypes(String packageName) {
+    return indexOf(packageName).getAllTypes(packageName);
+  }
+
+  private ClassIndex indexOf(String packageName) {
+    for (String scannedPackage : scannedPackages) {
+      if (packageName.startsWith(scannedPackage)) {
+        return scanned;
+      }
+    }
+    return generated;
+  }
+
+}
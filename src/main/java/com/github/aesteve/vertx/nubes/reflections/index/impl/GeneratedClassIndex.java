@@ -0,0 +1,95 @@
+package com.github.aesteve.vertx.nubes.reflections.index.impl;
+
+import com.github.aesteve.vertx.nubes.fixtures.Fixture;
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndex;
+import io.vertx.core.VertxException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Backed by the class names written at compile time by the ClassIndexProcessor.
+ * Only the classes matching the requested package are loaded.
+ */
+public class GeneratedClassIndex implements ClassIndex {
+
+  private final ClassLoader classLoader;
+  private final Map<String, Set<String>> annotated;
+  private final Set<String> fixtures;
+  private final Set<String> types;
+
+  public GeneratedClassIndex(ClassLoader classLoader, List<JsonObject> indexes) {
+    this.classLoader = classLoader;
+    annotated = new HashMap<>();
+    fixtures = new LinkedHashSet<>();
+    types = new LinkedHashSet<>();
+    indexes.forEach(this::merge);
+  }
+
+  private void merge(JsonObject index) {
+    JsonObject annots = index.getJsonObject(ANNOTATED, new JsonObject());
+    annots.fieldNames().forEach(annot -> addAll(annotated.computeIfAbsent(annot, k -> new LinkedHashSet<>()), annots.getJsonArray(annot)));
+    addAll(fixtures, index.getJsonArray(FIXTURES));
+    addAll(types, index.getJsonArray(TYPES));
+  }
+
+  @Override
+  public Set<Class<?>> getTypesAnnotatedWith(String packageName, Class<? extends Annotation> annotation) {
+    return load(packageName, annotated.getOrDefault(annotation.getName(), Collections.emptySet()));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Set<Class<? extends T>> getSubTypesOf(String packageName, Class<T> type) {
+    Set<String> candidates = Fixture.class.equals(type) ? fixtures : types;
+    Set<Class<? extends T>> subTypes = new LinkedHashSet<>();
+    load(packageName, candidates).forEach(clazz -> {
+      if (type.isAssignableFrom(clazz) && !type.equals(clazz)) {
+        subTypes.add((Class<? extends T>) clazz);
+      }
+    });
+    return subTypes;
+  }
+
+  @Override
+  public Set<Class<?>> getAllTypes(String packageName) {
+    return load(packageName, types);
+  }
+
+  /**
+   * @return true if some indexed class belongs to this package (or a sub-package)
+   */
+  public boolean covers(String packageName) {
+    String prefix = packageName + '.';
+    for (String type : types) {
+      if (type.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Set<Class<?>> load(String packageName, Set<String> classNames) {
+    Set<Class<?>> classes = new LinkedHashSet<>();
+    for (String className : classNames) {
+      if (className.startsWith(packageName)) {
+        try {
+          classes.add(Class.forName(className, false, classLoader));
+        } catch (ClassNotFoundException cnfe) {
+          throw new VertxException("Class " + className + " is listed in " + LOCATION + " but cannot be found", cnfe);
+        }
+      }
+    }
+    return classes;
+  }
+
+  private static void addAll(Set<String> set, JsonArray names) {
+    if (names == null) {
+      return;
+    }
+    names.forEach(name -> set.add((String) name));
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.github.aesteve.vertx.nubes.reflections.index.impl;
+
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndex;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scans the classpath once for all the packages Nubes will look into, used when no generated index is available.
+ * Classpath entries (directories, jars) are scanned in parallel, in a dedicated fork-join pool.
+ */
+public class ReflectionsClassIndex implements ClassIndex {
+
+  private final Reflections reflections;
+
+  public ReflectionsClassIndex(Collection<String> packageNames) {
+    if (packageNames.isEmpty()) {
+      reflections = null;
+      return;
+    }
+    ConfigurationBuilder configuration = new ConfigurationBuilder();
+    FilterBuilder filter = new FilterBuilder();
+    packageNames.forEach(packageName -> {
+      configuration.addUrls(ClasspathHelper.forPackage(packageName));
+      filter.includePackage(packageName);
+    });
+    configuration.filterInputsBy(filter);
+    configuration.setScanners(new TypeAnnotationsScanner(), new SubTypesScanner(false));
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      configuration.setExecutorService(pool);
+      reflections = new Reflections(configuration);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Override
+  public Set<Class<?>> getTypesAnnotatedWith(String packageName, Class<? extends Annotation> annotation) {
+    if (reflections == null) {
+      return Collections.emptySet();
+    }
+    return inPackage(packageName, reflections.getTypesAnnotatedWith(annotation));
+  }
+
+  @Override
+  public <T> Set<Class<? extends T>> getSubTypesOf(String packageName, Class<T> type) {
+    if (reflections == null) {
+      return Collections.emptySet();
+    }
+    return inPackage(packageName, reflections.getSubTypesOf(type));
+  }
+
+  @Override
+  public Set<Class<?>> getAllTypes(String packageName) {
+    if (reflections == null) {
+      return Collections.emptySet();
+    }
+    return inPackage(packageName, reflections.getSubTypesOf(Object.class));
+  }
+
+  private static <T> Set<T> inPackage(String packageName, Set<T> classes) {
+    Set<T> filtered = new LinkedHashSet<>();
+    classes.forEach(clazz -> {
+      if (((Class<?>) clazz).getName().startsWith(packageName)) {
+        filtered.add(clazz);
+      }
+    });
+    return filtered;
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.github.aesteve.vertx.nubes.reflections.index.processor;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.services.Verticle;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.SockJS;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.bridge.EventBusBridge;
+import com.github.aesteve.vertx.nubes.fixtures.Fixture;
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndex;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Writes the ClassIndex of the compiled sources to META-INF/nubes/class-index.json,
+ * so that Nubes doesn't have to scan the classpath at startup.
+ *
+ * Not registered as a service : add it to javac explicitly, with "-processor com.github.aesteve.vertx.nubes.reflections.index.processor.ClassIndexProcessor".
+ */
+@SupportedAnnotationTypes("*")
+public class ClassIndexProcessor extends AbstractProcessor {
+
+  private static final List<Class<? extends Annotation>> INDEXED = Arrays.asList(Controller.class, SockJS.class, EventBusBridge.class, Verticle.class);
+
+  private final Map<String, Set<String>> annotated = new TreeMap<>();
+  private final Set<String> fixtures = new TreeSet<>();
+  private final Set<String> types = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeIndex();
+      return false;
+    }
+    TypeMirror fixtureType = processingEnv.getElementUtils().getTypeElement(Fixture.class.getName()).asType();
+    for (Element element : roundEnv.getRootElements()) {
+      if (element instanceof TypeElement) {
+        visit((TypeElement) element, fixtureType);
+      }
+    }
+    return false;
+  }
+
+  private void visit(TypeElement type, TypeMirror fixtureType) {
+    String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+    types.add(name);
+    for (Class<? extends Annotation> annotation : INDEXED) {
+      if (type.getAnnotation(annotation) != null) {
+        annotated.computeIfAbsent(annotation.getName(), k -> new TreeSet<>()).add(name);
+      }
+    }
+    if (processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), fixtureType)) {
+      fixtures.add(name);
+    }
+    for (Element enclosed : type.getEnclosedElements()) {
+      if (enclosed instanceof TypeElement) {
+        visit((TypeElement) enclosed, fixtureType);
+      }
+    }
+  }
+
+  private void writeIndex() {
+    if (types.isEmpty()) {
+      return;
+    }
+    JsonObject annots = new JsonObject();
+    annotated.forEach((annot, names) -> annots.put(annot, new JsonArray(new ArrayList<>(names))));
+    JsonObject index = new JsonObject();
+    index.put(ClassIndex.ANNOTATED, annots);
+    index.put(ClassIndex.FIXTURES, new JsonArray(new ArrayList<>(fixtures)));
+    index.put(ClassIndex.TYPES, new JsonArray(new ArrayList<>(types)));
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ClassIndex.LOCATION);
+      try (Writer writer = file.openWriter()) {
+        writer.write(index.encodePrettily());
+      }
+    } catch (IOException ioe) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + ClassIndex.LOCATION + " : " + ioe.getMessage());
+    }
+  }
+
+}
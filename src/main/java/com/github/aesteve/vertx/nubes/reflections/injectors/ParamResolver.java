@@ -0,0 +1,17 @@
+package com.github.aesteve.vertx.nubes.reflections.injectors;
+
+import com.github.aesteve.vertx.nubes.exceptions.params.WrongParameterException;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Resolves the value of a single method parameter for the current request.
+ * Built once per parameter (injector, annotation, name and type already bound), then called on every request.
+ */
+@FunctionalInterface
+public interface ParamResolver {
+
+  ParamResolver NULL = context -> null;
+
+  Object resolve(RoutingContext context) throws WrongParameterException;
+
+}
@@ -4,8 +4,24 @@ import com.github.aesteve.vertx.nubes.exceptions.params.WrongParameterException;
 import io.vertx.ext.web.RoutingContext;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 @FunctionalInterface
 public interface AnnotatedParamInjector<T extends Annotation> {
   Object resolve(RoutingContext context, T annotation, String paramName, Class<?> resultClass) throws WrongParameterException;
+
+  /**
+   * For injectors which need the type arguments of the parameter (ReadStream<Dog> for instance)
+   */
+  default Object resolve(RoutingContext context, T annotation, String paramName, Class<?> resultClass, Type genericType) throws WrongParameterException {
+    return resolve(context, annotation, paramName, resultClass);
+  }
+
+  /**
+   * Tells whether the injector reads the request body (context.getBody(), form attributes...) : if so, it's buffered for it.
+   * Assumed by default, built-in injectors which don't read it say so.
+   */
+  default boolean readsBody() {
+    return true;
+  }
 }
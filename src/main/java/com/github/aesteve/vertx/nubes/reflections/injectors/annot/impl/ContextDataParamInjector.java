@@ -11,4 +11,9 @@ public class ContextDataParamInjector implements AnnotatedParamInjector<ContextD
     return context.data();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
@@ -25,4 +25,9 @@ public class CookieParamInjector implements AnnotatedParamInjector<CookieValue>
     return null;
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
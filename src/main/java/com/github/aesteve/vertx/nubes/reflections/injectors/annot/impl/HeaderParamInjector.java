@@ -34,4 +34,9 @@ public class HeaderParamInjector implements AnnotatedParamInjector<Header> {
     }
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
@@ -15,4 +15,9 @@ public class HeadersParamInjector implements AnnotatedParamInjector<Headers> {
     return context.request().headers();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
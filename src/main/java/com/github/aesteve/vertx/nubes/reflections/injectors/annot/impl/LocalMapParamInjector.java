@@ -17,4 +17,9 @@ public class LocalMapParamInjector implements AnnotatedParamInjector<VertxLocalM
     return sd.getLocalMap(mapName);
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
@@ -19,4 +19,9 @@ public class LocalMapValueParamInjector implements AnnotatedParamInjector<LocalM
     return map.get(key);
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
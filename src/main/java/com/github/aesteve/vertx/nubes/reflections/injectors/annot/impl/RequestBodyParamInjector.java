@@ -2,12 +2,16 @@ package com.github.aesteve.vertx.nubes.reflections.injectors.annot.impl;
 
 import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
 import com.github.aesteve.vertx.nubes.handlers.impl.ContentTypeProcessor;
+import com.github.aesteve.vertx.nubes.marshallers.ElementSplitter;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.RoutingContext;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Map;
 
 public class RequestBodyParamInjector implements AnnotatedParamInjector<RequestBody> {
@@ -22,10 +26,47 @@ public class RequestBodyParamInjector implements AnnotatedParamInjector<RequestB
 
   @Override
   public Object resolve(RoutingContext context, RequestBody annotation, String paramName, Class<?> resultClass) {
-    String body = context.getBodyAsString();
+    return resolve(context, annotation, paramName, resultClass, resultClass);
+  }
+
+  @Override
+  public Object resolve(RoutingContext context, RequestBody annotation, String paramName, Class<?> resultClass, Type genericType) {
+    if (resultClass.equals(ReadStream.class)) {
+      return resolveStream(context, annotation.maxSize(), elementClass(genericType));
+    }
     if (resultClass.equals(String.class)) {
-      return body;
+      return context.getBodyAsString();
+    }
+    PayloadMarshaller marshaller = getMarshaller(context);
+    if (marshaller == null) {
+      return null;
+    }
+    try {
+      return marshaller.unmarshallPayload(context.getBody(), resultClass);
+    } catch (Exception e) { //NOSONAR
+      // not logged, since it could lead to vulnerabilities (generating huge logs + overhead simply by sending bad payloads)
+      context.fail(400);
+      return null;
+    }
+  }
+
+  /**
+   * The body isn't read by the BodyHandler (see MVCRoute) : elements are unmarshalled one by one while the body is read
+   */
+  private ReadStream<?> resolveStream(RoutingContext context, long maxSize, Class<?> elementClass) {
+    PayloadMarshaller marshaller = getMarshaller(context);
+    if (marshaller == null) {
+      return null;
+    }
+    ElementSplitter splitter = marshaller.newElementSplitter();
+    if (splitter == null) {
+      LOG.error("The marshaller for Content-Type : " + ContentTypeProcessor.getContentType(context) + " can't split request bodies, request body can't be streamed");
+      return null;
     }
+    return new RequestBodyStream<>(context, marshaller, splitter, maxSize, elementClass);
+  }
+
+  private PayloadMarshaller getMarshaller(RoutingContext context) {
     String contentType = ContentTypeProcessor.getContentType(context);
     if (contentType == null) {
       LOG.error("No suitable Content-Type found, request body can't be read");
@@ -34,15 +75,23 @@ public class RequestBodyParamInjector implements AnnotatedParamInjector<RequestB
     PayloadMarshaller marshaller = marshallers.get(contentType);
     if (marshaller == null) {
       LOG.error("No marshaller found for Content-Type : " + contentType + ", request body can't be read");
-      return null;
     }
-    try {
-      return marshaller.unmarshallPayload(body, resultClass);
-    } catch (Exception e) { //NOSONAR
-      // not logged, since it could lead to vulnerabilities (generating huge logs + overhead simply by sending bad payloads)
-      context.fail(400);
-      return null;
+    return marshaller;
+  }
+
+  /**
+   * ReadStream<Dog> => Dog, a raw ReadStream reads generic objects
+   */
+  private static Class<?> elementClass(Type streamType) {
+    if (streamType instanceof ParameterizedType) {
+      Type element = ((ParameterizedType) streamType).getActualTypeArguments()[0];
+      if (element instanceof Class) {
+        return (Class<?>) element;
+      } else if (element instanceof ParameterizedType) {
+        return (Class<?>) ((ParameterizedType) element).getRawType();
+      }
     }
+    return Object.class;
   }
 
 }
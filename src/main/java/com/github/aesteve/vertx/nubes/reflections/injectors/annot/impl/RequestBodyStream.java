@@ -0,0 +1,168 @@
+package com.github.aesteve.vertx.nubes.reflections.injectors.annot.impl;
+
+import com.github.aesteve.vertx.nubes.marshallers.ElementSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The elements of a request body, unmarshalled one by one as the body's chunks arrive.
+ *
+ * The request is only read once a handler is set, and is paused as long as the elements of the last chunk haven't all been handled :
+ * pausing this stream applies back-pressure to the client.
+ * If no exception handler is set, a malformed body or element fails the routing context with a 400 status, a body larger than maxSize with a 413 status.
+ */
+class RequestBodyStream<T> implements ReadStream<T> {
+
+  private final RoutingContext context;
+  private final HttpServerRequest request;
+  private final PayloadMarshaller marshaller;
+  private final ElementSplitter splitter;
+  private final long maxSize;
+  private final Class<T> elementClass;
+  private final Deque<Buffer> pending;
+  private Handler<T> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private boolean reading;
+  private boolean paused;
+  private boolean requestEnded;
+  private boolean done;
+  private long size;
+
+  RequestBodyStream(RoutingContext context, PayloadMarshaller marshaller, ElementSplitter splitter, long maxSize, Class<T> elementClass) {
+    this.context = context;
+    this.request = context.request();
+    this.marshaller = marshaller;
+    this.splitter = splitter;
+    this.maxSize = maxSize;
+    this.elementClass = elementClass;
+    pending = new ArrayDeque<>();
+  }
+
+  @Override
+  public ReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> handler(Handler<T> handler) {
+    this.handler = handler;
+    if (handler != null && !reading) {
+      reading = true;
+      request.handler(this::handleChunk);
+      request.endHandler(v -> handleRequestEnd());
+      request.exceptionHandler(this::fail);
+      if (!paused) {
+        request.resume();
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> pause() {
+    paused = true;
+    request.pause();
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> resume() {
+    paused = false;
+    drain();
+    if (reading && !paused && !done && !requestEnded && pending.isEmpty()) {
+      request.resume();
+    }
+    return this;
+  }
+
+  @Override
+  public ReadStream<T> endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  private void handleChunk(Buffer chunk) {
+    if (done) {
+      // what remains of a malformed body is discarded
+      return;
+    }
+    size += chunk.length();
+    if (maxSize >= 0 && size > maxSize) {
+      fail(new IllegalArgumentException("Request body larger than " + maxSize + " bytes"), 413);
+      return;
+    }
+    try {
+      splitter.feed(chunk, pending::add);
+    } catch (IllegalArgumentException iae) {
+      fail(iae);
+      return;
+    }
+    drain();
+    if (!pending.isEmpty()) {
+      request.pause();
+    }
+  }
+
+  private void handleRequestEnd() {
+    requestEnded = true;
+    if (done) {
+      return;
+    }
+    try {
+      splitter.end(pending::add);
+    } catch (IllegalArgumentException iae) {
+      fail(iae);
+      return;
+    }
+    drain();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void drain() {
+    Buffer element;
+    while (!paused && !done && handler != null && (element = pending.poll()) != null) {
+      T value;
+      try {
+        value = elementClass.equals(Buffer.class) ? (T) element : marshaller.unmarshallElement(element, elementClass);
+      } catch (Exception e) { //NOSONAR
+        fail(e);
+        return;
+      }
+      handler.handle(value);
+    }
+    if (requestEnded && !paused && !done && pending.isEmpty()) {
+      done = true;
+      if (endHandler != null) {
+        endHandler.handle(null);
+      }
+    }
+  }
+
+  private void fail(Throwable error) {
+    fail(error, 400);
+  }
+
+  private void fail(Throwable error, int status) {
+    if (done) {
+      return;
+    }
+    done = true;
+    pending.clear();
+    if (exceptionHandler != null) {
+      exceptionHandler.handle(error);
+    } else {
+      // not logged, see RequestBodyParamInjector
+      context.fail(status);
+    }
+  }
+
+}
@@ -11,4 +11,9 @@ public class UserParamInjector implements AnnotatedParamInjector<User> {
     return context.user();
   }
 
+  @Override
+  public boolean readsBody() {
+    return false;
+  }
+
 }
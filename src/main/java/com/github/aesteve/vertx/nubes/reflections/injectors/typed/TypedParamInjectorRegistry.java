@@ -1,6 +1,7 @@
 package com.github.aesteve.vertx.nubes.reflections.injectors.typed;
 
 import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.context.ConditionalRequest;
 import com.github.aesteve.vertx.nubes.context.PaginationContext;
 import com.github.aesteve.vertx.nubes.marshallers.Payload;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.*;
@@ -14,6 +15,7 @@ import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.Session;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -29,8 +31,10 @@ public class TypedParamInjectorRegistry {
     registerInjector(RoutingContext.class, new RoutingContextParamInjector());
     registerInjector(Payload.class, new PayloadParamInjector());
     registerInjector(PaginationContext.class, new PaginationContextParamInjector());
+    registerInjector(ConditionalRequest.class, new ConditionalRequestParamInjector());
     registerInjector(EventBus.class, new EventBusParamInjector());
     registerInjector(ResourceBundle.class, new ResourceBundleParamInjector(config));
+    registerInjector(Locale.class, new LocaleParamInjector());
     registerInjector(HttpServerRequest.class, new RequestParamInjector());
     registerInjector(HttpServerResponse.class, new ResponseParamInjector());
     registerInjector(SocketAddress.class, new SocketAddressParamInjector());
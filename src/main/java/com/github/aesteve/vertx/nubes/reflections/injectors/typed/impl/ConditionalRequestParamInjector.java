@@ -0,0 +1,14 @@
+package com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl;
+
+import com.github.aesteve.vertx.nubes.context.ConditionalRequest;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
+import io.vertx.ext.web.RoutingContext;
+
+public class ConditionalRequestParamInjector implements ParamInjector<ConditionalRequest> {
+
+  @Override
+  public ConditionalRequest resolve(RoutingContext context) {
+    return new ConditionalRequest(context);
+  }
+
+}
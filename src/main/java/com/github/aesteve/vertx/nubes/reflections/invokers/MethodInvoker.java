@@ -0,0 +1,14 @@
+package com.github.aesteve.vertx.nubes.reflections.invokers;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes a method on the instance it has been bound to.
+ * Mirrors Method.invoke : whatever the target method throws is wrapped into an InvocationTargetException.
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+  Object invoke(Object[] args) throws InvocationTargetException, IllegalAccessException;
+
+}
@@ -0,0 +1,40 @@
+package com.github.aesteve.vertx.nubes.reflections.invokers;
+
+import com.github.aesteve.vertx.nubes.reflections.invokers.impl.MethodHandleInvoker;
+import com.github.aesteve.vertx.nubes.reflections.invokers.impl.ReflectiveMethodInvoker;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * Creates the invoker used to call a route (or filter) method once per request.
+ *
+ * When compilation is enabled, the method is linked into a MethodHandle spreading the arguments array,
+ * and falls back to plain Method.invoke if the handle couldn't be created.
+ */
+public final class MethodInvokerFactory {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MethodInvokerFactory.class);
+
+  private MethodInvokerFactory() {}
+
+  public static MethodInvoker create(Object instance, Method method, boolean compile) {
+    MethodHandle handle = compile ? link(method) : null;
+    return handle == null ? new ReflectiveMethodInvoker(instance, method) : new MethodHandleInvoker(instance, handle);
+  }
+
+  /**
+   * @return the handle every MethodHandleInvoker of this method can share, or null if it can't be linked
+   */
+  public static MethodHandle link(Method method) {
+    try {
+      return MethodHandleInvoker.link(method);
+    } catch (IllegalAccessException | SecurityException e) {
+      LOG.debug("Could not create a method handle for " + method + ", falling back to reflection", e);
+      return null;
+    }
+  }
+
+}
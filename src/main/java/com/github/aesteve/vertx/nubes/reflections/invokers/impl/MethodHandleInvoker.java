@@ -0,0 +1,78 @@
+package com.github.aesteve.vertx.nubes.reflections.invokers.impl;
+
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Calls the method through a MethodHandle taking the instance and spreading the arguments array (a single invokeExact, whatever the method's arity).
+ *
+ * Same contract as Method.invoke : whatever the method throws is wrapped into an InvocationTargetException (the handle catches it, see link),
+ * while arguments which can't be passed to the method (wrong type, null primitive, wrong count) lead to an IllegalArgumentException.
+ */
+public class MethodHandleInvoker implements MethodInvoker {
+
+  private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+  private static final MethodHandle WRAP_THROWN;
+
+  static {
+    try {
+      WRAP_THROWN = MethodHandles.lookup().findStatic(MethodHandleInvoker.class, "wrapThrown", MethodType.methodType(Object.class, Throwable.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Object instance;
+  private final MethodHandle handle;
+
+  public MethodHandleInvoker(Object instance, Method method) throws IllegalAccessException {
+    this(instance, link(method));
+  }
+
+  /**
+   * @param handle as returned by link : it isn't bound to any instance, thus can be shared by every invoker of the method
+   */
+  public MethodHandleInvoker(Object instance, MethodHandle handle) {
+    this.instance = instance;
+    this.handle = handle;
+  }
+
+  /**
+   * @return a handle of type (Object instance, Object[] args)Object, calling the method
+   */
+  public static MethodHandle link(Method method) throws IllegalAccessException {
+    method.setAccessible(true);
+    MethodHandle target = MethodHandles.lookup().unreflect(method);
+    // only exceptions thrown by the method itself are wrapped, not the ones adapting the arguments
+    target = MethodHandles.catchException(target, Throwable.class, WRAP_THROWN.asType(MethodType.methodType(target.type().returnType(), Throwable.class)));
+    if (Modifier.isStatic(method.getModifiers())) {
+      target = MethodHandles.dropArguments(target, 0, Object.class);
+    }
+    return target.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+  }
+
+  @Override
+  public Object invoke(Object[] args) throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(instance, args);
+    } catch (InvocationTargetException ite) {
+      throw ite;
+    } catch (ClassCastException | NullPointerException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cannot pass these arguments to the method", e);
+    } catch (Throwable t) { //NOSONAR : same contract as Method.invoke
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  @SuppressWarnings("unused") // see WRAP_THROWN
+  private static Object wrapThrown(Throwable thrown) throws InvocationTargetException {
+    throw new InvocationTargetException(thrown);
+  }
+
+}
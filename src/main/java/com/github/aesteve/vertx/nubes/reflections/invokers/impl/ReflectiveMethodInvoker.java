@@ -0,0 +1,23 @@
+package com.github.aesteve.vertx.nubes.reflections.invokers.impl;
+
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvoker;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ReflectiveMethodInvoker implements MethodInvoker {
+
+  private final Object instance;
+  private final Method method;
+
+  public ReflectiveMethodInvoker(Object instance, Method method) {
+    this.instance = instance;
+    this.method = method;
+  }
+
+  @Override
+  public Object invoke(Object[] args) throws InvocationTargetException, IllegalAccessException {
+    return method.invoke(instance, args);
+  }
+
+}
@@ -7,6 +7,7 @@ import com.github.aesteve.vertx.nubes.annotations.filters.BeforeFilter;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
 import com.github.aesteve.vertx.nubes.reflections.Filter;
+import com.github.aesteve.vertx.nubes.reflections.MethodMetadata;
 import com.github.aesteve.vertx.nubes.reflections.RouteRegistry;
 import com.github.aesteve.vertx.nubes.reflections.factories.AuthenticationFactory;
 import com.github.aesteve.vertx.nubes.routing.MVCRoute;
@@ -21,7 +22,7 @@ import java.util.function.BiConsumer;
 
 public class ControllerVisitor<T> extends BaseVisitor<T> {
 
-  private final Method[] methods;
+  private final List<MethodMetadata> methods;
   final String basePath;
   final AuthenticationFactory authFactory;
   final RouteRegistry routeRegistry;
@@ -35,7 +36,7 @@ public class ControllerVisitor<T> extends BaseVisitor<T> {
     super(controllerClass, config, router);
     this.routeRegistry = routeRegistry;
     this.returnHandlers = returnHandlers;
-    methods = controllerClass.getDeclaredMethods();
+    methods = config.getControllerMetadata(controllerClass).methods();
     Controller base = clazz.getAnnotation(Controller.class);
     basePath = base.value();
     this.authFactory = authFactory;
@@ -53,7 +54,7 @@ public class ControllerVisitor<T> extends BaseVisitor<T> {
       throw new VertxException(iae);
     }
     extractFilters();
-    for (Method method : methods) {
+    for (MethodMetadata method : methods) {
       MethodVisitor<T> visitor = new MethodVisitor<>(this, method);
       routes.addAll(visitor.visit());
     }
@@ -73,7 +74,8 @@ public class ControllerVisitor<T> extends BaseVisitor<T> {
       afterFilters.addAll(superClass.afterFilters);
       processors.addAll(superClass.processors);
     }
-    for (Method method : methods) {
+    for (MethodMetadata metadata : methods) {
+      Method method = metadata.method();
       BeforeFilter beforeAnnot = method.getAnnotation(BeforeFilter.class);
       AfterFilter afterAnnot = method.getAnnotation(AfterFilter.class);
       if (beforeAnnot != null) {
@@ -83,7 +85,7 @@ public class ControllerVisitor<T> extends BaseVisitor<T> {
       }
     }
     for (Annotation annotation : clazz.getDeclaredAnnotations()) {
-      AnnotationProcessor<?> controllerProcessor = config.getAnnotationProcessor(annotation);
+      AnnotationProcessor<?> controllerProcessor = config.getAnnotationProcessor(annotation, clazz);
       if (controllerProcessor != null) {
         processors.add(controllerProcessor);
       }
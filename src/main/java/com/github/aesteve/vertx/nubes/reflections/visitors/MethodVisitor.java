@@ -9,9 +9,10 @@ import com.github.aesteve.vertx.nubes.annotations.routing.Forward;
 import com.github.aesteve.vertx.nubes.auth.AuthMethod;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.reflections.MethodMetadata;
+import com.github.aesteve.vertx.nubes.reflections.ParameterMetadata;
 import com.github.aesteve.vertx.nubes.reflections.RouteRegistry;
 import com.github.aesteve.vertx.nubes.reflections.factories.AuthenticationFactory;
-import com.github.aesteve.vertx.nubes.routing.HttpMethodFactory;
 import com.github.aesteve.vertx.nubes.routing.MVCRoute;
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
@@ -22,7 +23,6 @@ import io.vertx.ext.web.Session;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
@@ -33,6 +33,7 @@ class MethodVisitor<T> {
 
   private final Class<T> controller;
   private final Method method;
+  private final MethodMetadata metadata;
   private final Config config;
   private final T instance;
   private final String basePath;
@@ -46,8 +47,9 @@ class MethodVisitor<T> {
   private boolean usesSession;
 
 
-  MethodVisitor(ControllerVisitor<T> parent, Method method) {
-    this.method = method;
+  MethodVisitor(ControllerVisitor<T> parent, MethodMetadata metadata) {
+    this.metadata = metadata;
+    method = metadata.method();
     controller = parent.clazz;
     config = parent.config;
     instance = parent.instance;
@@ -62,12 +64,11 @@ class MethodVisitor<T> {
   }
 
   List<MVCRoute> visit() {
-    if (!HttpMethodFactory.isRouteMethod(method)) {
+    if (!metadata.isRoute()) {
       return routes;
     }
     createParamsHandlers();
-    Map<HttpMethod, String> httpMethods = HttpMethodFactory.fromAnnotatedMethod(method);
-    routes.addAll(httpMethods.entrySet().stream().map(this::createHandlers).collect(Collectors.toList()));
+    routes.addAll(metadata.routes().entrySet().stream().map(this::createHandlers).collect(Collectors.toList()));
     return routes;
   }
 
@@ -116,7 +117,7 @@ class MethodVisitor<T> {
       if (handler != null) {
         route.attachHandlers(handler);
       }
-      AnnotationProcessor<?> annProcessor = config.getAnnotationProcessor(methodAnnotation);
+      AnnotationProcessor<?> annProcessor = config.getAnnotationProcessor(methodAnnotation, method);
       if (annProcessor != null) {
         route.addProcessor(annProcessor);
       }
@@ -143,8 +144,8 @@ class MethodVisitor<T> {
   }
 
   private void createParamsHandlers() {
-    for (Parameter p : method.getParameters()) {
-      Class<?> parameterClass = p.getType();
+    for (ParameterMetadata p : metadata.parameters()) {
+      Class<?> parameterClass = p.type();
       if (Session.class.isAssignableFrom(parameterClass)) {
         usesSession = true;
       }
@@ -160,14 +161,11 @@ class MethodVisitor<T> {
     }
   }
 
-  private void createParamAnnotationHandlers(Parameter p) {
-    Annotation[] paramAnnotations = p.getAnnotations();
-    if (paramAnnotations != null) {
-      for (Annotation annotation : paramAnnotations) {
-        Set<Handler<RoutingContext>> paramHandler = config.getAnnotationHandler(annotation.annotationType());
-        if (paramHandler != null) {
-          paramsHandlers.addAll(paramHandler);
-        }
+  private void createParamAnnotationHandlers(ParameterMetadata p) {
+    for (Annotation annotation : p.annotations()) {
+      Set<Handler<RoutingContext>> paramHandler = config.getAnnotationHandler(annotation.annotationType());
+      if (paramHandler != null) {
+        paramsHandlers.addAll(paramHandler);
       }
     }
   }
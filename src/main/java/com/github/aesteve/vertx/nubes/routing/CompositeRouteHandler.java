@@ -0,0 +1,25 @@
+package com.github.aesteve.vertx.nubes.routing;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.List;
+
+/**
+ * Runs every handler of an MVCRoute from a single vertx-web Route.
+ * Once the last handler calls next(), the Router takes over.
+ */
+public class CompositeRouteHandler implements Handler<RoutingContext> {
+
+  private final Handler<RoutingContext>[] stages;
+
+  public CompositeRouteHandler(List<Handler<RoutingContext>> stages) {
+    this.stages = StagesContext.toArray(stages);
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    new StagesContext(context, stages, context::next).next();
+  }
+
+}
@@ -2,27 +2,34 @@ package com.github.aesteve.vertx.nubes.routing;
 
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.annotations.Blocking;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
 import com.github.aesteve.vertx.nubes.handlers.impl.DefaultMethodInvocationHandler;
 import com.github.aesteve.vertx.nubes.handlers.impl.PayloadTypeProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.ResponseCacheProcessor;
 import com.github.aesteve.vertx.nubes.reflections.Filter;
+import com.github.aesteve.vertx.nubes.reflections.ParameterMetadata;
+import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
+import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjectorRegistry;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.AuthProvider;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.*;
 import io.vertx.ext.web.sstore.LocalSessionStore;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.LinkedHashSet;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.*;
 import java.util.function.BiConsumer;
 
 public class MVCRoute {
 
+  private static final Set<HttpMethod> NO_BODY_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.CONNECT);
+
   private final String path;
   private final HttpMethod httpMethod;
   private final Object instance;
@@ -119,67 +126,173 @@ public class MVCRoute {
   }
 
   public void attachHandlersToRouter(Router router) {
-    config.forEachGlobalHandler(handler -> router.route(httpMethod, path).handler(handler));
+    final List<Handler<RoutingContext>> stages = createStages(router);
+    if (config.isCompositeRoutes()) {
+      router.route(httpMethod, path).handler(new CompositeRouteHandler(stages));
+    } else {
+      stages.forEach(stage -> router.route(httpMethod, path).handler(stage));
+    }
+  }
+
+  /**
+   * @return every handler of this route, in execution order (the router is only needed to attach the login form route)
+   */
+  public List<Handler<RoutingContext>> createStages(Router router) {
+    final List<Handler<RoutingContext>> stages = new ArrayList<>();
+    final boolean streamsBody = streamsRequestBody();
+    if (streamsBody) {
+      // the body is read by the controller, while it arrives : hold it until then
+      stages.add(ctx -> {
+        ctx.request().pause();
+        ctx.addBodyEndHandler(v -> ctx.request().resume());
+        ctx.next();
+      });
+    } else if (readsBody()) {
+      stages.add(config.createBodyHandler(bodyLimit()));
+    }
+    config.forEachGlobalHandler(handler -> {
+      if (!streamsBody || !(handler instanceof BodyHandler)) {
+        stages.add(handler);
+      }
+    });
     final Vertx vertx = config.getVertx();
     if (authHandler != null) {
-      attachAuthHandler(router, vertx);
+      attachAuthHandler(router, vertx, stages);
     } else if (usesSession) {
-      router.route(httpMethod, path).handler(SessionHandler.create(LocalSessionStore.create(vertx)));
+      stages.add(SessionHandler.create(LocalSessionStore.create(vertx)));
     }
-    handlers.forEach(handler ->
-      router.route(httpMethod, path).handler(handler)
-    );
-    attachPreProcessingHandlers(router);
+    stages.addAll(handlers);
+    attachPreProcessingHandlers(stages);
     boolean hasPostProcessors = redirectRoute != null || postInterceptor != null || !afterFilters.isEmpty()|| !processors.isEmpty();
-    setHandler(router, mainHandler, hasPostProcessors);
+    setHandler(stages, mainHandler, hasPostProcessors);
     if (redirectRoute != null) {
       // intercepted -> redirected => do not call post processing handlers
-      router.route(httpMethod, path).handler(ctx ->
+      stages.add(ctx ->
         ctx.reroute(redirectRoute.method(), redirectRoute.path())
       );
     }
-    attachPostProcessingHandlers(router);
+    attachPostProcessingHandlers(stages);
+    return stages;
+  }
+
+  private boolean streamsRequestBody() {
+    if (mainHandler == null) {
+      return false;
+    }
+    for (ParameterMetadata param : config.getMethodMetadata(mainHandler).parameters()) {
+      if (param.annotation(RequestBody.class) != null && param.type().equals(ReadStream.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Buffering the body is only worth it if some method or processor of the route reads it :
+   * through an annotated parameter whose injector reads it (@RequestBody, form attributes through @Param or @Params, custom injectors...),
+   * or a processor which reads it (custom ones, see Processor.readsBody).
+   * A RoutingContext (or an interceptor) may read it too, unless "routing-context-reads-body" is false.
+   */
+  private boolean readsBody() {
+    if (NO_BODY_METHODS.contains(httpMethod)) {
+      return false;
+    }
+    if (readsBody(mainHandler)) {
+      return true;
+    }
+    for (Filter filter : beforeFilters) {
+      if (readsBody(filter.method())) {
+        return true;
+      }
+    }
+    for (Filter filter : afterFilters) {
+      if (readsBody(filter.method())) {
+        return true;
+      }
+    }
+    for (Processor processor : processors) {
+      if (processor.readsBody()) {
+        return true;
+      }
+    }
+    return config.isRoutingContextReadsBody() && (preInterceptor != null || postInterceptor != null);
+  }
+
+  private boolean readsBody(Method method) {
+    if (method == null) {
+      return false;
+    }
+    AnnotatedParamInjectorRegistry injectors = config.getAnnotatedInjectors();
+    for (ParameterMetadata param : config.getMethodMetadata(method).parameters()) {
+      for (Annotation annotation : param.annotations()) {
+        AnnotatedParamInjector<?> injector = injectors.getInjector(annotation.annotationType());
+        if (injector != null && injector.readsBody()) {
+          return true;
+        }
+      }
+      if (config.isRoutingContextReadsBody() && param.type().equals(RoutingContext.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the maxSize of the main handler's @RequestBody, -1 for the configured one
+   */
+  private long bodyLimit() {
+    if (mainHandler != null) {
+      for (ParameterMetadata param : config.getMethodMetadata(mainHandler).parameters()) {
+        RequestBody body = param.annotation(RequestBody.class);
+        if (body != null) {
+          return body.maxSize();
+        }
+      }
+    }
+    return -1;
   }
 
-  private void attachPreProcessingHandlers(Router router) {
-    processors.forEach(processor -> router.route(httpMethod, path).handler(processor::preHandle));
+  private void attachPreProcessingHandlers(List<Handler<RoutingContext>> stages) {
+    // a cached response is looked up once every other processor is done (content negotiation, throttling, ...)
+    processors.stream().filter(processor -> !(processor instanceof ResponseCacheProcessor)).forEach(processor -> stages.add(processor::preHandle));
+    processors.stream().filter(processor -> processor instanceof ResponseCacheProcessor).forEach(processor -> stages.add(processor::preHandle));
     int i = 0;
     boolean beforeFiltersHaveNext = mainHandler != null;
     for (Filter filter : beforeFilters) {
       boolean hasNext = beforeFiltersHaveNext || i < beforeFilters.size() - 1;
-      setHandler(router, filter.method(), hasNext);
+      setHandler(stages, filter.method(), hasNext);
       i++;
     }
     if (preInterceptor != null) {
-      router.route(httpMethod, path).handler(preInterceptor);
+      stages.add(preInterceptor);
     }
   }
 
-  private void attachPostProcessingHandlers(Router router) {
+  private void attachPostProcessingHandlers(List<Handler<RoutingContext>> stages) {
     if (postInterceptor != null) {
-      router.route(httpMethod, path).handler(postInterceptor);
+      stages.add(postInterceptor);
     }
     int i = 0;
     boolean afterFiltersHaveNext = !processors.isEmpty();
     for (Filter filter : afterFilters) {
       boolean hasNext = afterFiltersHaveNext || i < afterFilters.size() - 1;
-      setHandler(router, filter.method(), hasNext);
+      setHandler(stages, filter.method(), hasNext);
       i++;
     }
     if (!mainHandler.getReturnType().equals(Void.TYPE) && returnHandler == null) { // try to set as payload
-      processors.add(new PayloadTypeProcessor(config.getMarshallers()));
+      processors.add(new PayloadTypeProcessor(config.getMarshallers(), config.isETags()));
     }
-    processors.forEach(processor -> router.route(httpMethod, path).handler(processor::postHandle));
-    processors.forEach(processor -> router.route(httpMethod, path).handler(processor::afterAll));
+    processors.forEach(processor -> stages.add(processor::postHandle));
+    processors.forEach(processor -> stages.add(processor::afterAll));
 
   }
 
-  private void attachAuthHandler(Router router, Vertx vertx) {
+  private void attachAuthHandler(Router router, Vertx vertx, List<Handler<RoutingContext>> stages) {
     final AuthProvider authProvider = config.getAuthProvider();
-    router.route(httpMethod, path).handler(CookieHandler.create());
-    router.route(httpMethod, path).handler(UserSessionHandler.create(authProvider));
-    router.route(httpMethod, path).handler(SessionHandler.create(LocalSessionStore.create(vertx)));
-    router.route(httpMethod, path).handler(authHandler);
+    stages.add(CookieHandler.create());
+    stages.add(UserSessionHandler.create(authProvider));
+    stages.add(SessionHandler.create(LocalSessionStore.create(vertx)));
+    stages.add(authHandler);
     if (loginRedirect != null && !"".equals(loginRedirect)) {
       router.post(loginRedirect).handler(CookieHandler.create());
       router.post(loginRedirect).handler(BodyHandler.create());
@@ -189,12 +302,20 @@ public class MVCRoute {
     }
   }
 
-  private void setHandler(Router router, Method method, boolean hasNext) {
+  private void setHandler(List<Handler<RoutingContext>> stages, Method method, boolean hasNext) {
     Handler<RoutingContext> handler = new DefaultMethodInvocationHandler<>(instance, method, config, hasNext, returnHandler);
     if (method.isAnnotationPresent(Blocking.class)) {
-      router.route(httpMethod, path).blockingHandler(handler);
+      // same as Route.blockingHandler : ordered, and a failure fails the request
+      stages.add(context -> context.vertx().<Void>executeBlocking(future -> {
+        handler.handle(context);
+        future.complete();
+      }, true, res -> {
+        if (res.failed()) {
+          context.fail(res.cause());
+        }
+      }));
     } else {
-      router.route(httpMethod, path).handler(handler);
+      stages.add(handler);
     }
   }
 
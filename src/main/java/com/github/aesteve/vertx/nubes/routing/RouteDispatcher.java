@@ -0,0 +1,186 @@
+package com.github.aesteve.vertx.nubes.routing;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.*;
+
+/**
+ * Dispatches requests to MVCRoutes through a single vertx-web Route.
+ *
+ * Routes are indexed by HTTP method, then by path segment in a trie (":name" segments match any value, a trailing "*" matches any suffix).
+ * When several routes match, they're run in registration order, as the Router would.
+ * Path params are decoded and added to the request params and to pathParams(), as the Router does.
+ */
+public class RouteDispatcher implements Handler<RoutingContext> {
+
+  private final Map<HttpMethod, Node> roots;
+  private int nbRoutes;
+  private int maxParams;
+
+  public RouteDispatcher() {
+    roots = new EnumMap<>(HttpMethod.class);
+  }
+
+  public void addRoute(HttpMethod method, String path, List<Handler<RoutingContext>> stages) {
+    String pattern = path;
+    String prefix = null;
+    if (pattern.endsWith("*")) {
+      int lastSlash = pattern.lastIndexOf('/');
+      prefix = pattern.substring(lastSlash + 1, pattern.length() - 1);
+      pattern = pattern.substring(0, lastSlash + 1);
+    }
+    Node node = roots.computeIfAbsent(method, m -> new Node());
+    List<String> paramNames = new ArrayList<>();
+    for (String segment : pattern.split("/")) {
+      if (segment.isEmpty()) {
+        continue;
+      }
+      if (segment.charAt(0) == ':') {
+        paramNames.add(segment.substring(1));
+        if (node.paramChild == null) {
+          node.paramChild = new Node();
+        }
+        node = node.paramChild;
+      } else if (segment.indexOf(':') >= 0 || segment.indexOf('*') >= 0) {
+        throw new IllegalArgumentException("Path " + path + " cannot be handled by the route dispatcher : params and wildcards must be whole segments");
+      } else {
+        node = node.children.computeIfAbsent(segment, s -> new Node());
+      }
+    }
+    Entry entry = new Entry(nbRoutes++, paramNames.toArray(new String[paramNames.size()]), StagesContext.toArray(stages), prefix);
+    if (prefix == null) {
+      node.entries.add(entry);
+    } else {
+      node.prefixEntries.add(entry);
+    }
+    maxParams = Math.max(maxParams, paramNames.size());
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    Node root = roots.get(context.request().method());
+    if (root == null) {
+      context.next();
+      return;
+    }
+    String path = requestPath(context);
+    List<Match> matches = new ArrayList<>(1);
+    match(root, path, 0, new String[maxParams], 0, matches);
+    if (matches.isEmpty()) {
+      context.next();
+      return;
+    }
+    if (matches.size() > 1) {
+      matches.sort(Comparator.comparingInt(match -> match.entry.order));
+    }
+    run(context, matches, 0);
+  }
+
+  private static void run(RoutingContext context, List<Match> matches, int index) {
+    if (index == matches.size()) {
+      context.next();
+      return;
+    }
+    Match match = matches.get(index);
+    try {
+      addPathParams(context, match);
+    } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+      context.fail(e);
+      return;
+    }
+    new StagesContext(context, match.entry.stages, () -> run(context, matches, index + 1)).next();
+  }
+
+  private static void addPathParams(RoutingContext context, Match match) throws UnsupportedEncodingException {
+    String[] names = match.entry.paramNames;
+    if (names.length == 0) {
+      return;
+    }
+    Map<String, String> params = new HashMap<>(names.length);
+    for (int i = 0; i < names.length; i++) {
+      if (!context.request().params().contains(names[i])) {
+        params.put(names[i], URLDecoder.decode(match.values[i], "UTF-8"));
+      }
+    }
+    context.request().params().addAll(params);
+    context.pathParams().putAll(params);
+  }
+
+  private static String requestPath(RoutingContext context) {
+    String path = context.normalisedPath();
+    String mountPoint = context.mountPoint();
+    if (mountPoint != null && path.startsWith(mountPoint)) {
+      path = path.substring(mountPoint.length());
+    }
+    return path;
+  }
+
+  /**
+   * @param pos index of the first character of the remaining path
+   */
+  private static void match(Node node, String path, int pos, String[] values, int nbValues, List<Match> matches) {
+    int start = pos;
+    while (start < path.length() && path.charAt(start) == '/') {
+      start++;
+    }
+    for (Entry entry : node.prefixEntries) {
+      if (path.startsWith(entry.prefix, start)) {
+        matches.add(new Match(entry, Arrays.copyOf(values, nbValues)));
+      }
+    }
+    if (start == path.length()) {
+      for (Entry entry : node.entries) {
+        matches.add(new Match(entry, Arrays.copyOf(values, nbValues)));
+      }
+      return;
+    }
+    int end = path.indexOf('/', start);
+    if (end < 0) {
+      end = path.length();
+    }
+    Node child = node.children.get(path.substring(start, end));
+    if (child != null) {
+      match(child, path, end, values, nbValues, matches);
+    }
+    if (node.paramChild != null) {
+      values[nbValues] = path.substring(start, end);
+      match(node.paramChild, path, end, values, nbValues + 1, matches);
+    }
+  }
+
+  private static class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>(1);
+    private final List<Entry> prefixEntries = new ArrayList<>(0);
+    private Node paramChild;
+  }
+
+  private static class Entry {
+    private final int order;
+    private final String[] paramNames;
+    private final Handler<RoutingContext>[] stages;
+    private final String prefix;
+
+    private Entry(int order, String[] paramNames, Handler<RoutingContext>[] stages, String prefix) {
+      this.order = order;
+      this.paramNames = paramNames;
+      this.stages = stages;
+      this.prefix = prefix;
+    }
+  }
+
+  private static class Match {
+    private final Entry entry;
+    private final String[] values;
+
+    private Match(Entry entry, String[] values) {
+      this.entry = entry;
+      this.values = values;
+    }
+  }
+
+}
@@ -0,0 +1,265 @@
+package com.github.aesteve.vertx.nubes.routing;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.Cookie;
+import io.vertx.ext.web.FileUpload;
+import io.vertx.ext.web.Locale;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.Session;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calling next() moves to the following stage, without the Router matching the path again.
+ * Once the last stage calls next(), onDone is called.
+ * Everything else is delegated to the Router's context : fail() too, so that failed() is true as soon as fail() returns, as with the Router.
+ */
+class StagesContext implements RoutingContext {
+
+  private final RoutingContext context;
+  private final Handler<RoutingContext>[] stages;
+  private final Runnable onDone;
+  private int index;
+
+  StagesContext(RoutingContext context, Handler<RoutingContext>[] stages, Runnable onDone) {
+    this.context = context;
+    this.stages = stages;
+    this.onDone = onDone;
+  }
+
+  /**
+   * The only unchecked conversion : arrays of a generic type can't be created
+   */
+  @SuppressWarnings("unchecked")
+  static Handler<RoutingContext>[] toArray(List<Handler<RoutingContext>> stages) {
+    return stages.toArray((Handler<RoutingContext>[]) new Handler<?>[stages.size()]);
+  }
+
+  @Override
+  public void next() {
+    if (index < stages.length) {
+      stages[index++].handle(this);
+    } else {
+      onDone.run();
+    }
+  }
+
+  @Override
+  public void fail(int statusCode) {
+    context.fail(statusCode);
+  }
+
+  @Override
+  public void fail(Throwable throwable) {
+    context.fail(throwable);
+  }
+
+  @Override
+  public HttpServerRequest request() {
+    return context.request();
+  }
+
+  @Override
+  public HttpServerResponse response() {
+    return context.response();
+  }
+
+  @Override
+  public RoutingContext put(String key, Object obj) {
+    context.put(key, obj);
+    return this;
+  }
+
+  @Override
+  public <T> T get(String key) {
+    return context.get(key);
+  }
+
+  @Override
+  public Map<String, Object> data() {
+    return context.data();
+  }
+
+  @Override
+  public Vertx vertx() {
+    return context.vertx();
+  }
+
+  @Override
+  public String mountPoint() {
+    return context.mountPoint();
+  }
+
+  @Override
+  public Route currentRoute() {
+    return context.currentRoute();
+  }
+
+  @Override
+  public String normalisedPath() {
+    return context.normalisedPath();
+  }
+
+  @Override
+  public Cookie getCookie(String name) {
+    return context.getCookie(name);
+  }
+
+  @Override
+  public RoutingContext addCookie(Cookie cookie) {
+    context.addCookie(cookie);
+    return this;
+  }
+
+  @Override
+  public Cookie removeCookie(String name) {
+    return context.removeCookie(name);
+  }
+
+  @Override
+  public int cookieCount() {
+    return context.cookieCount();
+  }
+
+  @Override
+  public Set<Cookie> cookies() {
+    return context.cookies();
+  }
+
+  @Override
+  public String getBodyAsString() {
+    return context.getBodyAsString();
+  }
+
+  @Override
+  public String getBodyAsString(String encoding) {
+    return context.getBodyAsString(encoding);
+  }
+
+  @Override
+  public JsonObject getBodyAsJson() {
+    return context.getBodyAsJson();
+  }
+
+  @Override
+  public JsonArray getBodyAsJsonArray() {
+    return context.getBodyAsJsonArray();
+  }
+
+  @Override
+  public Buffer getBody() {
+    return context.getBody();
+  }
+
+  @Override
+  public Set<FileUpload> fileUploads() {
+    return context.fileUploads();
+  }
+
+  @Override
+  public Session session() {
+    return context.session();
+  }
+
+  @Override
+  public User user() {
+    return context.user();
+  }
+
+  @Override
+  public Throwable failure() {
+    return context.failure();
+  }
+
+  @Override
+  public int statusCode() {
+    return context.statusCode();
+  }
+
+  @Override
+  public String getAcceptableContentType() {
+    return context.getAcceptableContentType();
+  }
+
+  @Override
+  public int addHeadersEndHandler(Handler<Void> handler) {
+    return context.addHeadersEndHandler(handler);
+  }
+
+  @Override
+  public boolean removeHeadersEndHandler(int handlerID) {
+    return context.removeHeadersEndHandler(handlerID);
+  }
+
+  @Override
+  public int addBodyEndHandler(Handler<Void> handler) {
+    return context.addBodyEndHandler(handler);
+  }
+
+  @Override
+  public boolean removeBodyEndHandler(int handlerID) {
+    return context.removeBodyEndHandler(handlerID);
+  }
+
+  @Override
+  public boolean failed() {
+    return context.failed();
+  }
+
+  @Override
+  public void setBody(Buffer body) {
+    context.setBody(body);
+  }
+
+  @Override
+  public void setSession(Session session) {
+    context.setSession(session);
+  }
+
+  @Override
+  public void setUser(User user) {
+    context.setUser(user);
+  }
+
+  @Override
+  public void clearUser() {
+    context.clearUser();
+  }
+
+  @Override
+  public void setAcceptableContentType(String contentType) {
+    context.setAcceptableContentType(contentType);
+  }
+
+  @Override
+  public void reroute(HttpMethod method, String path) {
+    context.reroute(method, path);
+  }
+
+  @Override
+  public List<Locale> acceptableLocales() {
+    return context.acceptableLocales();
+  }
+
+  @Override
+  public Map<String, String> pathParams() {
+    return context.pathParams();
+  }
+
+  @Override
+  public String pathParam(String name) {
+    return context.pathParam(name);
+  }
+
+}
@@ -1,5 +1,6 @@
 package com.github.aesteve.vertx.nubes.services;
 
+import com.github.aesteve.vertx.nubes.BootstrapReport;
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.annotations.services.Consumer;
 import com.github.aesteve.vertx.nubes.annotations.services.PeriodicTask;
@@ -85,19 +86,23 @@ public class ServiceRegistry {
       return;
     }
     MultipleFutures<Void> futures = new MultipleFutures<>(future);
-    futures.addAll(services(), obj -> {
+    final BootstrapReport report = config.getBootstrapReport();
+    futures.addAll(services.entrySet(), entry -> report.timed(BootstrapReport.SERVICES, entry.getKey(), fut -> {
+      Object obj = entry.getValue();
       try {
         introspectService(obj);
       } catch (Exception e) {
-        return res -> res.fail(e);
+        fut.fail(e);
+        return;
       }
       if (obj instanceof Service) {
         Service service = (Service) obj;
         service.init(vertx, config.json());
-        return service::start;
+        service.start(fut);
+      } else {
+        fut.complete();
       }
-      return null;
-    });
+    }));
     futures.start();
   }
 
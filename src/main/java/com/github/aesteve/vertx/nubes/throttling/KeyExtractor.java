@@ -0,0 +1,17 @@
+package com.github.aesteve.vertx.nubes.throttling;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Identifies the client a rate limit applies to.
+ * Referenced by name, through the "key" of a throttling policy or @Throttled(key = ...).
+ */
+@FunctionalInterface
+public interface KeyExtractor {
+
+  /**
+   * @return the client key, or null if it can't be determined for this request (the remote address is used instead)
+   */
+  String extract(RoutingContext context);
+
+}
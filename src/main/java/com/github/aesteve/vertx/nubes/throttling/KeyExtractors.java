@@ -0,0 +1,145 @@
+package com.github.aesteve.vertx.nubes.throttling;
+
+import com.github.aesteve.vertx.nubes.exceptions.http.impl.BadRequestException;
+import com.github.aesteve.vertx.nubes.handlers.impl.CheckTokenHandler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Built-in key extractors.
+ */
+public final class KeyExtractors {
+
+  private static final String FORWARDED_FOR = "X-Forwarded-For";
+  private static final char SEPARATOR = '\u0000';
+
+  private KeyExtractors() {
+  }
+
+  /**
+   * @return the address of the peer, i.e. the closest proxy if there's one
+   */
+  public static KeyExtractor remoteAddress() {
+    return context -> context.request().remoteAddress().host();
+  }
+
+  /**
+   * Every proxy appends the address of its peer to X-Forwarded-For : only the entries appended by trusted proxies can be trusted.
+   *
+   * @param trustedProxies the number of proxies in front of the server
+   * @return the address the farthest trusted proxy received the request from
+   */
+  public static KeyExtractor forwardedFor(int trustedProxies) {
+    if (trustedProxies < 1) {
+      throw new IllegalArgumentException("The number of trusted proxies should be positive : " + trustedProxies);
+    }
+    return context -> {
+      String forwardedFor = context.request().getHeader(FORWARDED_FOR);
+      if (forwardedFor == null) {
+        return null;
+      }
+      String[] addresses = forwardedFor.split(",");
+      return addresses[Math.max(0, addresses.length - trustedProxies)].trim();
+    };
+  }
+
+  /**
+   * @return the "sub" (JWT) or "username" (JDBC, Shiro) of the authenticated user
+   */
+  public static KeyExtractor user() {
+    return context -> {
+      User user = context.user();
+      if (user == null) {
+        return null;
+      }
+      JsonObject principal = user.principal();
+      Object id = principal.getValue("sub");
+      if (id == null) {
+        id = principal.getValue("username");
+      }
+      return id == null ? null : id.toString();
+    };
+  }
+
+  /**
+   * @return the API token, as read by CheckTokenHandler
+   */
+  public static KeyExtractor apiToken() {
+    return context -> {
+      try {
+        return CheckTokenHandler.parseApiToken(context.request());
+      } catch (BadRequestException bre) { //NOSONAR
+        return null;
+      }
+    };
+  }
+
+  public static KeyExtractor header(String name) {
+    return context -> context.request().getHeader(name);
+  }
+
+  /**
+   * @return the path of the route (the declared one, not the actual one : "/dogs/:name" for instance)
+   */
+  public static KeyExtractor route() {
+    return context -> {
+      Route route = context.currentRoute();
+      String path = route == null ? null : route.getPath();
+      return path == null ? context.normalisedPath() : path;
+    };
+  }
+
+  /**
+   * @return a key made of every key (per user and per route for instance), or null if one of them is missing
+   */
+  public static KeyExtractor composite(KeyExtractor... extractors) {
+    List<KeyExtractor> parts = Arrays.asList(extractors);
+    return context -> {
+      StringBuilder key = new StringBuilder();
+      for (KeyExtractor part : parts) {
+        String value = part.extract(context);
+        if (value == null) {
+          return null;
+        }
+        key.append(value).append(SEPARATOR);
+      }
+      return key.toString();
+    };
+  }
+
+  /**
+   * Unseeded : see hash(String, long)
+   */
+  public static long hash(String key) {
+    return hash(key, 0L);
+  }
+
+  /**
+   * Limiters only hold the 64 bits hash of the keys, whatever their length.
+   * Collisions are negligible for the number of clients a limiter can track, unless keys are crafted to collide :
+   * the seed (see the "throttling-seed" configuration) makes the hashes unpredictable for clients.
+   * Every node of a cluster must use the same seed, since deltas are published by hash.
+   *
+   * @return FNV-1a of the key, starting from the seed, followed by MurmurHash3's finalizer to spread the bits
+   */
+  public static long hash(String key, long seed) {
+    long hash = 0xcbf29ce484222325L ^ seed;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= seed;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+}
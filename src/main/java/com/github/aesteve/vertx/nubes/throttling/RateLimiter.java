@@ -0,0 +1,44 @@
+package com.github.aesteve.vertx.nubes.throttling;
+
+/**
+ * Decides whether a client (identified by the hash of its key, see KeyExtractors.hash) can access a throttled route.
+ * Implementations are shared between event-loops and must be thread-safe.
+ */
+public interface RateLimiter extends AutoCloseable {
+
+  /**
+   * Records an access for this client.
+   *
+   * @param key the client identifier
+   * @return false if the client exceeded the rate limit
+   */
+  boolean tryAcquire(long key);
+
+  /**
+   * Forgets the clients which haven't accessed any throttled route recently.
+   */
+  void evictIdle();
+
+  /**
+   * @return the number of clients currently tracked
+   */
+  int size();
+
+  /**
+   * @return the number of clients dropped because the limiter was full
+   */
+  long evictions();
+
+  /**
+   * @return the number of clients dropped because they didn't access any throttled route recently
+   */
+  long expirations();
+
+  /**
+   * Releases what the limiter registered (event-bus consumers, timers...) : called once no VertxNubes instance uses it anymore.
+   */
+  @Override
+  default void close() {
+  }
+
+}
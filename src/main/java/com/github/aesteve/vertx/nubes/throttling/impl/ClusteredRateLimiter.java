@@ -0,0 +1,147 @@
+package com.github.aesteve.vertx.nubes.throttling.impl;
+
+import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.throttling.RateLimiter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.UUID;
+
+/**
+ * Rate limiter shared by every node of a cluster, without any cluster round-trip while handling a request.
+ *
+ * Every node decides on its own : its local sliding window count, plus the counts the other nodes told it about.
+ * Local accesses are aggregated per client, in primitive tables striped by the high bits of the client's hash,
+ * and published as a single batch of deltas on the event-bus every sync interval.
+ * Thus, a client can exceed the limit by the accesses made on other nodes during the last sync interval, at most.
+ *
+ * Nothing is stored cluster-wide : remote counts are kept in a bounded local limiter, and expire the same way local ones do.
+ * Deltas are counted when they're received, since the clocks of the nodes may differ.
+ *
+ * The event-bus consumer and the sync timer are registered on the context given at creation (the one of the VertxNubes instance creating the limiter) :
+ * undeploying this instance's verticle releases them, as close does. Instances sharing the limiter (see SharedModel) belong to the same deployment.
+ */
+public class ClusteredRateLimiter implements RateLimiter {
+
+  private static final String ADDRESS_PREFIX = "nubes.throttling.";
+  private static final int DELTA_STRIPE_BITS = 4;
+  private static final int DELTA_STRIPES = 1 << DELTA_STRIPE_BITS;
+
+  private final String address;
+  private final String nodeId;
+  private final SlidingWindowRateLimiter local;
+  private final SlidingWindowRateLimiter remote;
+  private final PendingDeltas[] pendingDeltas;
+  private final Vertx vertx;
+  private final Context context;
+  private MessageConsumer<JsonObject> consumer;
+  private long timerId;
+
+  /**
+   * @param context where the event-bus consumer and the sync timer are registered
+   */
+  public ClusteredRateLimiter(Vertx vertx, Context context, String name, RateLimit rateLimit, long syncInterval) {
+    this.vertx = vertx;
+    this.context = context;
+    address = ADDRESS_PREFIX + name;
+    nodeId = UUID.randomUUID().toString();
+    local = new SlidingWindowRateLimiter(rateLimit);
+    remote = new SlidingWindowRateLimiter(rateLimit);
+    pendingDeltas = new PendingDeltas[DELTA_STRIPES];
+    for (int i = 0; i < DELTA_STRIPES; i++) {
+      pendingDeltas[i] = new PendingDeltas();
+    }
+    context.runOnContext(v -> {
+      consumer = vertx.eventBus().consumer(address, this::applyDeltas);
+      timerId = vertx.setPeriodic(syncInterval, id -> publishDeltas());
+    });
+  }
+
+  @Override
+  public boolean tryAcquire(long key) {
+    long now = System.currentTimeMillis();
+    long count = local.record(key, now, 1) + remote.weightedCount(key, now);
+    PendingDeltas stripe = pendingDeltas[(int) (key >>> (Long.SIZE - DELTA_STRIPE_BITS))];
+    synchronized (stripe) {
+      stripe.deltas.add(key, 1);
+    }
+    return count <= local.maxWeightedCount();
+  }
+
+  @Override
+  public void evictIdle() {
+    long now = System.currentTimeMillis();
+    local.evictIdle(now);
+    remote.evictIdle(now);
+  }
+
+  /**
+   * Clients known through other nodes only are counted too.
+   */
+  @Override
+  public int size() {
+    return local.size() + remote.size();
+  }
+
+  @Override
+  public long evictions() {
+    return local.evictions() + remote.evictions();
+  }
+
+  @Override
+  public long expirations() {
+    return local.expirations() + remote.expirations();
+  }
+
+  /**
+   * Runs on the limiter's context, after the registrations
+   */
+  @Override
+  public void close() {
+    context.runOnContext(v -> {
+      consumer.unregister();
+      vertx.cancelTimer(timerId);
+    });
+  }
+
+  private void publishDeltas() {
+    JsonObject deltas = new JsonObject();
+    for (PendingDeltas stripe : pendingDeltas) {
+      LongLongMap published;
+      synchronized (stripe) {
+        if (stripe.deltas.size() == 0) {
+          continue;
+        }
+        published = stripe.deltas;
+        stripe.deltas = new LongLongMap();
+      }
+      published.forEach((key, delta) -> deltas.put(Long.toString(key), delta));
+    }
+    if (deltas.isEmpty()) {
+      return;
+    }
+    vertx.eventBus().publish(address, new JsonObject()
+        .put("node", nodeId)
+        .put("deltas", deltas));
+  }
+
+  private void applyDeltas(Message<JsonObject> message) {
+    JsonObject body = message.body();
+    if (nodeId.equals(body.getString("node"))) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    body.getJsonObject("deltas").forEach(delta -> remote.record(Long.parseLong(delta.getKey()), now, ((Number) delta.getValue()).longValue()));
+  }
+
+  /**
+   * The accesses counted since the last sync, for the clients of one stripe : swapped for an empty table on every sync
+   */
+  private static class PendingDeltas {
+    private LongLongMap deltas = new LongLongMap();
+  }
+
+}
@@ -0,0 +1,136 @@
+package com.github.aesteve.vertx.nubes.throttling.impl;
+
+/**
+ * Open-addressing hash table from long keys to long values, with linear probing : neither keys nor values are boxed.
+ * Removals shift the following entries back instead of leaving tombstones, so that lookups never degrade.
+ *
+ * Not thread-safe : callers guard it with their own lock.
+ */
+class LongLongMap {
+
+  interface EntryVisitor {
+    void visit(long key, long value);
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] keys;
+  private long[] values;
+  private boolean[] used;
+  private int mask;
+  private int size;
+
+  LongLongMap() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return the slot of this key, or -1 if it's absent
+   */
+  int indexOf(long key) {
+    for (int slot = slot(key); used[slot]; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  long valueAt(int slot) {
+    return values[slot];
+  }
+
+  void setValueAt(int slot, long value) {
+    values[slot] = value;
+  }
+
+  void put(long key, long value) {
+    int slot = slot(key);
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    used[slot] = true;
+    if (++size > keys.length / 2) {
+      resize();
+    }
+  }
+
+  /**
+   * @return the value after the addition (absent keys start at 0)
+   */
+  long add(long key, long delta) {
+    int slot = indexOf(key);
+    if (slot < 0) {
+      put(key, delta);
+      return delta;
+    }
+    values[slot] += delta;
+    return values[slot];
+  }
+
+  void removeAt(int slot) {
+    int hole = slot;
+    for (int next = (slot + 1) & mask; used[next]; next = (next + 1) & mask) {
+      // entries between their ideal slot and the hole are moved into it
+      int ideal = slot(keys[next]);
+      if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    used[hole] = false;
+    size--;
+  }
+
+  void forEach(EntryVisitor visitor) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (used[slot]) {
+        visitor.visit(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /**
+   * Keys are hashes already : folding them is enough
+   */
+  private int slot(long key) {
+    return (int) (key ^ (key >>> 32)) & mask;
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    boolean[] oldUsed = used;
+    allocate(keys.length * 2);
+    for (int slot = 0; slot < oldKeys.length; slot++) {
+      if (oldUsed[slot]) {
+        int target = slot(oldKeys[slot]);
+        while (used[target]) {
+          target = (target + 1) & mask;
+        }
+        keys[target] = oldKeys[slot];
+        values[target] = oldValues[slot];
+        used[target] = true;
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    used = new boolean[capacity];
+    mask = capacity - 1;
+  }
+
+}
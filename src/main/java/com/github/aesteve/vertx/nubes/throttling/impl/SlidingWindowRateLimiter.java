@@ -0,0 +1,316 @@
+package com.github.aesteve.vertx.nubes.throttling.impl;
+
+import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.throttling.RateLimiter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding window counter : the number of accesses in the current fixed window, plus the number of accesses
+ * in the previous window weighted by the part of it still covered by the sliding window.
+ *
+ * The whole state of a client is packed into a single long (window number | current count | previous count),
+ * stored in a primitive hash table : neither the client nor its state is boxed.
+ * Clients are split into segments by the high bits of their hash (up to MAX_SEGMENTS, with at least MIN_SEGMENT_CLIENTS each),
+ * every segment being guarded by its own lock (striped locking) : a decision only holds one of them, for a lookup and a few arithmetic operations.
+ *
+ * This limiter is not lock-free. A CAS on the packed long would need a stable cell per client, while the primitive table moves entries
+ * around (backward-shift removals, resizes) and expiring or evicting clients has to update the table and the queue below together.
+ * A lock-free table would need tombstones and a table allocated for max-clients up front : with a handful of event-loops spread over
+ * the segments, an uncontended lock held for a few operations costs less than that.
+ * As with the former access history, every access is counted, even rejected ones.
+ *
+ * The number of clients is bounded by RateLimit.getMaxClients(), split between segments. Each time a client enters a new window,
+ * it's appended to its segment's queue, which thus orders clients by the window of their last access.
+ * The head of this queue is used for both :
+ * - expiry : clients with no access during the current and previous windows are useless, a few of them are removed on every access
+ * - eviction : when the segment is full, the least recently used client (at the window granularity) is dropped
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+  private static final int COUNT_BITS = 20;
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+  private static final long WINDOW_MASK = (1L << (Long.SIZE - 2 * COUNT_BITS)) - 1;
+  private static final int EXPIRED_PER_ACCESS = 2;
+  private static final int MAX_SEGMENTS = 16;
+  private static final int MIN_SEGMENT_CLIENTS = 1024;
+
+  private final long windowMillis;
+  private final long limit;
+  private final Segment[] segments;
+  private final int segmentShift;
+  private final LongAdder evictions;
+  private final LongAdder expirations;
+
+  public SlidingWindowRateLimiter(RateLimit rateLimit) {
+    windowMillis = rateLimit.getTimeUnit().toMillis(rateLimit.getValue());
+    if (windowMillis <= 0) {
+      throw new IllegalArgumentException("Invalid throttling time-frame : " + rateLimit);
+    }
+    if (rateLimit.getCount() < 0 || rateLimit.getCount() >= COUNT_MASK) {
+      throw new IllegalArgumentException("Invalid throttling count : " + rateLimit);
+    }
+    int maxClients = rateLimit.getMaxClients();
+    if (maxClients <= 0) {
+      throw new IllegalArgumentException("Invalid throttling max-clients : " + rateLimit);
+    }
+    limit = rateLimit.getCount();
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && maxClients / (segmentCount * 2) >= MIN_SEGMENT_CLIENTS) {
+      segmentCount *= 2;
+    }
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment(maxClients / segmentCount);
+    }
+    segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+    evictions = new LongAdder();
+    expirations = new LongAdder();
+  }
+
+  @Override
+  public boolean tryAcquire(long key) {
+    return tryAcquire(key, System.currentTimeMillis());
+  }
+
+  /**
+   * @param now the current time, in milliseconds
+   */
+  public boolean tryAcquire(long key, long now) {
+    return record(key, now, 1) <= limit * windowMillis;
+  }
+
+  /**
+   * Adds accesses to the client's count.
+   *
+   * @return the sliding window count after this update, multiplied by the window length (see weightedCount)
+   */
+  long record(long key, long now, long accesses) {
+    return segment(key).record(key, (now / windowMillis) & WINDOW_MASK, now, accesses);
+  }
+
+  /**
+   * @return the sliding window count of this client, multiplied by the window length to avoid floating point
+   */
+  long weightedCount(long key, long now) {
+    return segment(key).weightedCount(key, (now / windowMillis) & WINDOW_MASK, now);
+  }
+
+  /**
+   * previous * (1 - elapsed / windowMillis) + current, multiplied by windowMillis
+   */
+  private long weigh(long current, long previous, long now) {
+    long elapsed = now % windowMillis;
+    return previous * (windowMillis - elapsed) + current * windowMillis;
+  }
+
+  long maxWeightedCount() {
+    return limit * windowMillis;
+  }
+
+  @Override
+  public void evictIdle() {
+    evictIdle(System.currentTimeMillis());
+  }
+
+  /**
+   * Only walks through the expired clients, not the whole table.
+   */
+  public void evictIdle(long now) {
+    long window = (now / windowMillis) & WINDOW_MASK;
+    for (Segment segment : segments) {
+      segment.expireAll(window);
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  @Override
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public long expirations() {
+    return expirations.sum();
+  }
+
+  /**
+   * The high bits of the key : the table of the segment is indexed by the low ones
+   */
+  private Segment segment(long key) {
+    return segments.length == 1 ? segments[0] : segments[(int) (key >>> segmentShift)];
+  }
+
+  private static boolean isExpired(long accessWindow, long window) {
+    long elapsedWindows = elapsed(window, accessWindow);
+    return elapsedWindows > 1 && elapsedWindows <= WINDOW_MASK / 2;
+  }
+
+  private static long elapsed(long window, long since) {
+    return (window - since) & WINDOW_MASK;
+  }
+
+  private static long pack(long window, long current, long previous) {
+    return (window << (2 * COUNT_BITS)) | (current << COUNT_BITS) | previous;
+  }
+
+  private static long window(long packed) {
+    return (packed >>> (2 * COUNT_BITS)) & WINDOW_MASK;
+  }
+
+  private static long current(long packed) {
+    return (packed >>> COUNT_BITS) & COUNT_MASK;
+  }
+
+  private static long previous(long packed) {
+    return packed & COUNT_MASK;
+  }
+
+  private class Segment {
+
+    private final int maxClients;
+    private final LongLongMap clients;
+    // ring buffer of (client, window) accesses, oldest first
+    private long[] queuedKeys;
+    private long[] queuedWindows;
+    private int head;
+    private int queued;
+
+    private Segment(int maxClients) {
+      this.maxClients = maxClients;
+      clients = new LongLongMap();
+      queuedKeys = new long[16];
+      queuedWindows = new long[16];
+    }
+
+    private synchronized long record(long key, long window, long now, long accesses) {
+      expire(window, EXPIRED_PER_ACCESS);
+      int slot = clients.indexOf(key);
+      long packed;
+      if (slot < 0) {
+        while (clients.size() >= maxClients && evictOldest()) {
+          evictions.increment();
+        }
+        packed = pack(window, 0, 0);
+        enqueue(key, window);
+      } else {
+        packed = clients.valueAt(slot);
+      }
+      long elapsedWindows = elapsed(window, window(packed));
+      long current;
+      long previous;
+      long stateWindow = window;
+      if (elapsedWindows > WINDOW_MASK / 2) {
+        // another event-loop already moved to the next window : count it there
+        stateWindow = window(packed);
+        current = current(packed);
+        previous = previous(packed);
+      } else if (elapsedWindows == 0) {
+        current = current(packed);
+        previous = previous(packed);
+      } else if (elapsedWindows == 1) {
+        current = 0;
+        previous = current(packed);
+      } else {
+        current = 0;
+        previous = 0;
+      }
+      current = Math.min(current + accesses, COUNT_MASK);
+      if (slot < 0) {
+        clients.put(key, pack(stateWindow, current, previous));
+      } else {
+        clients.setValueAt(slot, pack(stateWindow, current, previous));
+        if (stateWindow != window(packed)) {
+          enqueue(key, stateWindow);
+        }
+      }
+      return weigh(current, previous, now);
+    }
+
+    private synchronized long weightedCount(long key, long window, long now) {
+      int slot = clients.indexOf(key);
+      if (slot < 0) {
+        return 0;
+      }
+      long packed = clients.valueAt(slot);
+      long elapsedWindows = elapsed(window, window(packed));
+      if (elapsedWindows == 0 || elapsedWindows > WINDOW_MASK / 2) {
+        return weigh(current(packed), previous(packed), now);
+      } else if (elapsedWindows == 1) {
+        return weigh(0, current(packed), now);
+      }
+      return 0;
+    }
+
+    private synchronized int size() {
+      return clients.size();
+    }
+
+    private synchronized void expireAll(long window) {
+      expire(window, Integer.MAX_VALUE);
+    }
+
+    private void expire(long window, int max) {
+      for (int i = 0; i < max && queued > 0 && isExpired(queuedWindows[head], window); i++) {
+        if (removeOldest()) {
+          expirations.increment();
+        }
+      }
+    }
+
+    /**
+     * @return false if there's nothing left to evict
+     */
+    private boolean evictOldest() {
+      while (queued > 0) {
+        if (removeOldest()) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Dequeues the oldest access, and removes its client if it's the client's latest access (otherwise, the client has been queued again since then)
+     */
+    private boolean removeOldest() {
+      long key = queuedKeys[head];
+      long window = queuedWindows[head];
+      head = (head + 1) & (queuedKeys.length - 1);
+      queued--;
+      int slot = clients.indexOf(key);
+      if (slot >= 0 && window(clients.valueAt(slot)) == window) {
+        clients.removeAt(slot);
+        return true;
+      }
+      return false;
+    }
+
+    private void enqueue(long key, long window) {
+      if (queued == queuedKeys.length) {
+        long[] keys = new long[queued * 2];
+        long[] windows = new long[queued * 2];
+        for (int i = 0; i < queued; i++) {
+          keys[i] = queuedKeys[(head + i) & (queued - 1)];
+          windows[i] = queuedWindows[(head + i) & (queued - 1)];
+        }
+        queuedKeys = keys;
+        queuedWindows = windows;
+        head = 0;
+      }
+      int tail = (head + queued) & (queuedKeys.length - 1);
+      queuedKeys[tail] = key;
+      queuedWindows[tail] = window;
+      queued++;
+    }
+  }
+
+}
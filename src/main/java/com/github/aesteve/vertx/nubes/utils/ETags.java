@@ -0,0 +1,67 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Entity tags (RFC 7232) : computing them from a marshalled body, and comparing them with If-None-Match.
+ */
+public interface ETags {
+
+  /**
+   * A fast, non-cryptographic, 64 bits hash of the body (read 8 bytes at a time) : a strong ETag, quoted.
+   */
+  static String hash(Buffer body) {
+    final long prime1 = 0x9E3779B185EBCA87L;
+    final long prime2 = 0xC2B2AE3D27D4EB4FL;
+    ByteBuf bytes = body.getByteBuf();
+    int index = bytes.readerIndex();
+    int end = bytes.writerIndex();
+    long hash = prime2 ^ (end - index);
+    for (; index + 8 <= end; index += 8) {
+      hash = Long.rotateLeft(hash ^ (bytes.getLong(index) * prime1), 31) * prime2;
+    }
+    for (; index < end; index++) {
+      hash = Long.rotateLeft(hash ^ (bytes.getByte(index) * prime1), 11) * prime2;
+    }
+    hash ^= hash >>> 33;
+    hash *= prime1;
+    hash ^= hash >>> 29;
+    return quote(Long.toHexString(hash));
+  }
+
+  /**
+   * @param version anything identifying the current state of the resource (a revision number, a timestamp...)
+   * @return the corresponding ETag, quoted
+   */
+  static String quote(String version) {
+    return '"' + version + '"';
+  }
+
+  /**
+   * Weak comparison, as required for If-None-Match : W/"a" matches "a".
+   *
+   * @param ifNoneMatch the header value : "*", or a comma-separated list of ETags
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || etag == null) {
+      return false;
+    }
+    String opaqueTag = opaque(etag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if ("*".equals(trimmed) || opaque(trimmed).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the ETag without its weakness indicator
+   */
+  static String opaque(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+}
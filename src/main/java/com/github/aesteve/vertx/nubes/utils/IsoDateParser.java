@@ -0,0 +1,148 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the usual ISO-8601 forms ("2016-05-12", "2016-05-12T10:15:30.123Z", "2016-05-12T10:15:30+02:00") by hand,
+ * and only relies on DateTimeFormatter for the other ones.
+ *
+ * Every failure is reported as an IllegalArgumentException.
+ */
+public final class IsoDateParser {
+
+  private IsoDateParser() {}
+
+  public static LocalDate parseLocalDate(CharSequence text) {
+    if (text.length() == 10 && isDate(text)) {
+      try {
+        return LocalDate.of(digits(text, 0, 4), digits(text, 5, 7), digits(text, 8, 10));
+      } catch (DateTimeException dte) {
+        throw new IllegalArgumentException(dte);
+      }
+    }
+    try {
+      return LocalDate.parse(text, DateTimeFormatter.ISO_LOCAL_DATE);
+    } catch (DateTimeParseException dtpe) {
+      throw new IllegalArgumentException(dtpe);
+    }
+  }
+
+  public static OffsetDateTime parseOffsetDateTime(CharSequence text) {
+    OffsetDateTime dateTime = parseCommonForm(text);
+    if (dateTime != null) {
+      return dateTime;
+    }
+    try {
+      return OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    } catch (DateTimeParseException dtpe) {
+      throw new IllegalArgumentException(dtpe);
+    }
+  }
+
+  public static Instant parseInstant(CharSequence text) {
+    OffsetDateTime dateTime = parseCommonForm(text);
+    if (dateTime != null) {
+      return dateTime.toInstant();
+    }
+    try {
+      return DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from);
+    } catch (DateTimeParseException dtpe) {
+      throw new IllegalArgumentException(dtpe);
+    }
+  }
+
+  /**
+   * @return the date time, or null if text isn't "yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]](Z|+HH:mm|-HH:mm)"
+   */
+  public static OffsetDateTime parseCommonForm(CharSequence text) {
+    final int length = text.length();
+    if (length < 17 || !isDate(text) || text.charAt(10) != 'T' || !isDigits(text, 11, 13) || text.charAt(13) != ':' || !isDigits(text, 14, 16)) {
+      return null;
+    }
+    int pos = 16;
+    int second = 0;
+    int nano = 0;
+    if (pos < length && text.charAt(pos) == ':') {
+      if (length < pos + 3 || !isDigits(text, pos + 1, pos + 3)) {
+        return null;
+      }
+      second = digits(text, pos + 1, pos + 3);
+      pos += 3;
+      if (pos < length && text.charAt(pos) == '.') {
+        int start = ++pos;
+        while (pos < length && pos - start < 9 && isDigit(text.charAt(pos))) {
+          nano = nano * 10 + (text.charAt(pos) - '0');
+          pos++;
+        }
+        if (pos == start) {
+          return null;
+        }
+        for (int i = pos - start; i < 9; i++) {
+          nano *= 10;
+        }
+      }
+    }
+    ZoneOffset offset = parseOffset(text, pos);
+    if (offset == null) {
+      return null;
+    }
+    try {
+      return OffsetDateTime.of(digits(text, 0, 4), digits(text, 5, 7), digits(text, 8, 10), digits(text, 11, 13), digits(text, 14, 16), second, nano, offset);
+    } catch (DateTimeException dte) {
+      throw new IllegalArgumentException(dte);
+    }
+  }
+
+  private static ZoneOffset parseOffset(CharSequence text, int pos) {
+    final int length = text.length();
+    if (length == pos + 1 && text.charAt(pos) == 'Z') {
+      return ZoneOffset.UTC;
+    }
+    if (length != pos + 6 || text.charAt(pos + 3) != ':' || !isDigits(text, pos + 1, pos + 3) || !isDigits(text, pos + 4, pos + 6)) {
+      return null;
+    }
+    char sign = text.charAt(pos);
+    if (sign != '+' && sign != '-') {
+      return null;
+    }
+    int hours = digits(text, pos + 1, pos + 3);
+    int minutes = digits(text, pos + 4, pos + 6);
+    try {
+      return sign == '+' ? ZoneOffset.ofHoursMinutes(hours, minutes) : ZoneOffset.ofHoursMinutes(-hours, -minutes);
+    } catch (DateTimeException dte) {
+      throw new IllegalArgumentException(dte);
+    }
+  }
+
+  private static boolean isDate(CharSequence text) {
+    return text.length() >= 10 && isDigits(text, 0, 4) && text.charAt(4) == '-' && isDigits(text, 5, 7) && text.charAt(7) == '-' && isDigits(text, 8, 10);
+  }
+
+  private static boolean isDigits(CharSequence text, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!isDigit(text.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static int digits(CharSequence text, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      value = value * 10 + (text.charAt(i) - '0');
+    }
+    return value;
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Encodes characters straight into a Buffer of the exact size.
+ * Buffer.buffer(String) goes through String.getBytes, which can't be used with a CharSequence without copying it.
+ * The Buffer wraps the encoded bytes : it can't grow, and is meant to be written as is.
+ */
+public interface Utf8Encoder {
+
+  static Buffer encode(CharSequence chars) {
+    int length = chars.length();
+    byte[] bytes = new byte[encodedLength(chars)];
+    int pos = 0;
+    for (int i = 0; i < length; i++) {
+      char c = chars.charAt(i);
+      if (c < 0x80) {
+        bytes[pos++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[pos++] = (byte) (0xC0 | (c >> 6));
+        bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+        bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        bytes[pos++] = '?'; // lone surrogate, as String.getBytes does
+      } else {
+        bytes[pos++] = (byte) (0xE0 | (c >> 12));
+        bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    return Buffer.buffer(Unpooled.wrappedBuffer(bytes));
+  }
+
+  static int encodedLength(CharSequence chars) {
+    int length = chars.length();
+    int encoded = 0;
+    for (int i = 0; i < length; i++) {
+      char c = chars.charAt(i);
+      if (c < 0x80) {
+        encoded++;
+      } else if (c < 0x800) {
+        encoded += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        encoded += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        encoded++;
+      } else {
+        encoded += 3;
+      }
+    }
+    return encoded;
+  }
+
+}
@@ -0,0 +1,133 @@
+package benchmark;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.BoonPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.CborPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.MessagePackPayloadMarshaller;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes then decodes an order of 50 lines, through json (Boon), CBOR and MessagePack.
+ * Prints the payload size, and the time spent encoding and decoding.
+ *
+ * Not a test : run its main method.
+ */
+public class BinaryMarshallersBenchmark {
+
+  private static final int WARMUP = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  public static void main(String... args) {
+    Order order = new Order();
+    order.setId(123_456_789L);
+    order.setCustomer("Charlie Brown");
+    order.setPaid(true);
+    for (int i = 0; i < 50; i++) {
+      OrderLine line = new OrderLine();
+      line.setProduct("product-" + i);
+      line.setQuantity(i % 7 + 1);
+      line.setPrice(9.99 + i);
+      order.getLines().add(line);
+    }
+    for (int run = 0; run < 3; run++) {
+      measure("json (Boon)", new BoonPayloadMarshaller(), order);
+      measure("CBOR       ", new CborPayloadMarshaller(), order);
+      measure("MessagePack", new MessagePackPayloadMarshaller(), order);
+    }
+  }
+
+  private static void measure(String name, PayloadMarshaller marshaller, Order order) {
+    Buffer encoded = null;
+    for (int i = 0; i < WARMUP; i++) {
+      encoded = marshaller.marshallPayloadToBuffer(order);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      encoded = marshaller.marshallPayloadToBuffer(order);
+    }
+    long encoding = System.nanoTime() - start;
+    Order decoded = null;
+    for (int i = 0; i < WARMUP; i++) {
+      decoded = marshaller.unmarshallPayload(encoded, Order.class);
+    }
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      decoded = marshaller.unmarshallPayload(encoded, Order.class);
+    }
+    long decoding = System.nanoTime() - start;
+    System.out.println(name + " : " + encoded.length() + " bytes, encode " + (encoding / ITERATIONS) + " ns/op, decode " + (decoding / ITERATIONS) + " ns/op (" + decoded.getLines().size() + ")");
+  }
+
+  public static class Order {
+    private Long id;
+    private String customer;
+    private Boolean paid;
+    private List<OrderLine> lines = new ArrayList<>();
+
+    public Long getId() {
+      return id;
+    }
+
+    public void setId(Long id) {
+      this.id = id;
+    }
+
+    public String getCustomer() {
+      return customer;
+    }
+
+    public void setCustomer(String customer) {
+      this.customer = customer;
+    }
+
+    public Boolean getPaid() {
+      return paid;
+    }
+
+    public void setPaid(Boolean paid) {
+      this.paid = paid;
+    }
+
+    public List<OrderLine> getLines() {
+      return lines;
+    }
+
+    public void setLines(List<OrderLine> lines) {
+      this.lines = lines;
+    }
+  }
+
+  public static class OrderLine {
+    private String product;
+    private Integer quantity;
+    private Double price;
+
+    public String getProduct() {
+      return product;
+    }
+
+    public void setProduct(String product) {
+      this.product = product;
+    }
+
+    public Integer getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+      this.quantity = quantity;
+    }
+
+    public Double getPrice() {
+      return price;
+    }
+
+    public void setPrice(Double price) {
+      this.price = price;
+    }
+  }
+
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapter;
+import com.github.aesteve.vertx.nubes.reflections.adapters.impl.BeanParameterAdapter;
+import com.github.aesteve.vertx.nubes.reflections.adapters.impl.DefaultParameterAdapter;
+import io.vertx.core.MultiMap;
+
+/**
+ * Binds a 20 fields @Params bean, through commons-beanutils (DefaultParameterAdapter) then through cached setters (BeanParameterAdapter).
+ *
+ * Not a test : run its main method.
+ */
+public class ParamsBindingBenchmark {
+
+  private static final int WARMUP = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  public static void main(String... args) {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    for (int i = 0; i < 20; i++) {
+      params.add("filter" + i, String.valueOf(i));
+    }
+    DefaultParameterAdapter reflective = new DefaultParameterAdapter();
+    BeanParameterAdapter binder = new BeanParameterAdapter(reflective);
+    for (int run = 0; run < 3; run++) {
+      measure("PropertyUtils", reflective, params);
+      measure("BeanBinder   ", binder, params);
+    }
+  }
+
+  private static void measure(String name, ParameterAdapter<Object> adapter, MultiMap params) {
+    Object result = null;
+    for (int i = 0; i < WARMUP; i++) {
+      result = adapter.adaptParams(params, SearchFilters.class);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      result = adapter.adaptParams(params, SearchFilters.class);
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.println(name + " : " + (elapsed / ITERATIONS) + " ns/op (" + result.hashCode() % 2 + ")");
+  }
+
+  public static class SearchFilters {
+    private String filter0;
+    private Long filter1;
+    private Integer filter2;
+    private Float filter3;
+    private String filter4;
+    private Long filter5;
+    private Integer filter6;
+    private Float filter7;
+    private String filter8;
+    private Long filter9;
+    private Integer filter10;
+    private Float filter11;
+    private String filter12;
+    private Long filter13;
+    private Integer filter14;
+    private Float filter15;
+    private String filter16;
+    private Long filter17;
+    private Integer filter18;
+    private Float filter19;
+
+    public void setFilter0(String filter0) { this.filter0 = filter0; }
+    public void setFilter1(Long filter1) { this.filter1 = filter1; }
+    public void setFilter2(Integer filter2) { this.filter2 = filter2; }
+    public void setFilter3(Float filter3) { this.filter3 = filter3; }
+    public void setFilter4(String filter4) { this.filter4 = filter4; }
+    public void setFilter5(Long filter5) { this.filter5 = filter5; }
+    public void setFilter6(Integer filter6) { this.filter6 = filter6; }
+    public void setFilter7(Float filter7) { this.filter7 = filter7; }
+    public void setFilter8(String filter8) { this.filter8 = filter8; }
+    public void setFilter9(Long filter9) { this.filter9 = filter9; }
+    public void setFilter10(Integer filter10) { this.filter10 = filter10; }
+    public void setFilter11(Float filter11) { this.filter11 = filter11; }
+    public void setFilter12(String filter12) { this.filter12 = filter12; }
+    public void setFilter13(Long filter13) { this.filter13 = filter13; }
+    public void setFilter14(Integer filter14) { this.filter14 = filter14; }
+    public void setFilter15(Float filter15) { this.filter15 = filter15; }
+    public void setFilter16(String filter16) { this.filter16 = filter16; }
+    public void setFilter17(Long filter17) { this.filter17 = filter17; }
+    public void setFilter18(Integer filter18) { this.filter18 = filter18; }
+    public void setFilter19(Float filter19) { this.filter19 = filter19; }
+  }
+
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import com.github.aesteve.vertx.nubes.routing.RouteDispatcher;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 1,000 synthetic routes made of 3 handlers each, requests hit the last registered one.
+ * Compares a vertx-web Router holding one Route per handler against the RouteDispatcher.
+ *
+ * Not a test : run its main method.
+ */
+public class RouteDispatcherBenchmark {
+
+  private static final int NB_ROUTES = 1_000;
+  private static final int CONNECTIONS = 8;
+  private static final int WARMUP = 1_000;
+  private static final int REQUESTS = 10_000;
+
+  public static void main(String... args) throws Exception {
+    Vertx vertx = Vertx.vertx();
+    Router classic = Router.router(vertx);
+    RouteDispatcher dispatcher = new RouteDispatcher();
+    for (int i = 0; i < NB_ROUTES; i++) {
+      String path = "/api/resource" + i + "/:id/items";
+      List<Handler<RoutingContext>> stages = stages();
+      stages.forEach(stage -> classic.route(HttpMethod.GET, path).handler(stage));
+      dispatcher.addRoute(HttpMethod.GET, path, stages);
+    }
+    Router trie = Router.router(vertx);
+    trie.route().handler(dispatcher);
+
+    listen(vertx, classic, 8081);
+    listen(vertx, trie, 8082);
+    String uri = "/api/resource" + (NB_ROUTES - 1) + "/42/items";
+    for (int run = 0; run < 3; run++) {
+      measure(vertx, "Router     ", 8081, uri);
+      measure(vertx, "Dispatcher ", 8082, uri);
+    }
+    vertx.close();
+  }
+
+  private static List<Handler<RoutingContext>> stages() {
+    return Arrays.asList(
+        ctx -> ctx.put("before", true).next(),
+        ctx -> ctx.put("id", ctx.request().getParam("id")).next(),
+        ctx -> ctx.response().end((String) ctx.get("id"))
+    );
+  }
+
+  private static void listen(Vertx vertx, Router router, int port) throws Exception {
+    CompletableFuture<HttpServer> future = new CompletableFuture<>();
+    vertx.createHttpServer().requestHandler(router::accept).listen(port, res -> future.complete(res.result()));
+    future.get();
+  }
+
+  private static void measure(Vertx vertx, String name, int port, String uri) throws Exception {
+    HttpClient client = vertx.createHttpClient(new HttpClientOptions().setDefaultPort(port).setMaxPoolSize(CONNECTIONS).setKeepAlive(true));
+    send(client, uri, WARMUP);
+    long start = System.nanoTime();
+    send(client, uri, REQUESTS);
+    long elapsed = System.nanoTime() - start;
+    client.close();
+    System.out.println(name + " : " + (REQUESTS * 1_000_000_000L / elapsed) + " req/s");
+  }
+
+  private static void send(HttpClient client, String uri, int nbRequests) throws Exception {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    AtomicInteger sent = new AtomicInteger();
+    AtomicInteger received = new AtomicInteger();
+    Handler<Void> sendOne = new Handler<Void>() {
+      @Override
+      public void handle(Void ignored) {
+        if (sent.incrementAndGet() > nbRequests) {
+          return;
+        }
+        client.get(uri, response -> response.bodyHandler(buff -> {
+          if (received.incrementAndGet() == nbRequests) {
+            done.complete(null);
+          } else {
+            handle(null);
+          }
+        })).exceptionHandler(done::completeExceptionally).end();
+      }
+    };
+    for (int i = 0; i < CONNECTIONS; i++) {
+      sendOne.handle(null);
+    }
+    done.get();
+  }
+
+}
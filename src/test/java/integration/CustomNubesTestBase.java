@@ -10,6 +10,7 @@ import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.ext.web.Router;
+import mock.custom.annotations.BodyText;
 import mock.custom.annotations.InjectCustomObject;
 import mock.custom.annotations.InjectCustomObjectByName;
 import mock.custom.annotations.SimpleAnnot;
@@ -64,6 +65,7 @@ public abstract class CustomNubesTestBase {
     nubes.registerAnnotationProcessor(InjectCustomObjectByName.class, new InjectObjectByNameFactory());
     nubes.registerTypeParamInjector(CustomObject.class, new ResolveCustomObject());
     nubes.registerAnnotatedParamInjector(SimpleAnnot.class, new SimpleAnnotParamInjector());
+    nubes.registerAnnotatedParamInjector(BodyText.class, new BodyTextParamInjector());
     nubes.registerAdapter(CustomObject.class, new CustomObjectAdapter());
     nubes.setDefaultLocale(Locale.CANADA);
     nubes.setAvailableLocales(Arrays.asList(Locale.CANADA));
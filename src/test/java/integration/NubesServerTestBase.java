@@ -43,6 +43,11 @@ public abstract class NubesServerTestBase {
     throttling.put("time-unit", TimeUnit.SECONDS.toString());
     throttling.put("count", 2); // 2 request per 10 seconds
     config.put("throttling", throttling);
+    JsonObject searchPolicy = new JsonObject();
+    searchPolicy.put("time-frame", 10);
+    searchPolicy.put("time-unit", TimeUnit.SECONDS.toString());
+    searchPolicy.put("count", 1);
+    config.put("throttling-policies", new JsonObject().put("search", searchPolicy));
     return config;
   }
 
@@ -101,7 +101,15 @@ public class TestVerticle extends AbstractVerticle {
     throttling.put("time-unit", TimeUnit.SECONDS.toString());
     throttling.put("count", 2); // 2 request per 10 seconds
     config.put("throttling", throttling);
+    JsonObject searchPolicy = new JsonObject();
+    searchPolicy.put("time-frame", TIME_FRAME);
+    searchPolicy.put("time-unit", TimeUnit.SECONDS.toString());
+    searchPolicy.put("count", 1);
+    config.put("throttling-policies", new JsonObject().put("search", searchPolicy));
     config.put("display-errors", true);
+    config.put("composite-routes", context.config().getBoolean("composite-routes", false));
+    config.put("trie-dispatcher", context.config().getBoolean("trie-dispatcher", false));
+    config.put("etags", context.config().getBoolean("etags", false));
     return config;
   }
 
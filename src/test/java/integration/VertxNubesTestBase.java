@@ -37,12 +37,16 @@ public abstract class VertxNubesTestBase {
     return new JsonArray().add("mock.controllers");
   }
 
+  protected JsonObject getConfig() {
+    return new JsonObject().put("controller-packages", getControllerPackages());
+  }
+
   @Before
   public void setUp(TestContext context) throws Exception {
     vertx = Vertx.vertx();
     DeploymentOptions options = new DeploymentOptions();
     options.setInstances(NB_INSTANCES);
-    options.setConfig(new JsonObject().put("controller-packages", getControllerPackages()));
+    options.setConfig(getConfig());
     vertx.deployVerticle("integration.TestVerticle", options, context.asyncAssertSuccess(handler -> {
       context.assertTrue(TestVerticle.dogService.size() > 0);
       context.assertEquals(NB_INSTANCES, AnnotatedVerticle.nbInstances.get());
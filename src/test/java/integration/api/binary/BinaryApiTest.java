@@ -0,0 +1,103 @@
+package integration.api.binary;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.CborPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.MessagePackPayloadMarshaller;
+import integration.VertxNubesTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.domains.Dog;
+import org.junit.Test;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+
+public class BinaryApiTest extends VertxNubesTestBase {
+
+	private static final String CBOR = "application/cbor";
+	private static final String MSGPACK = "application/x-msgpack";
+
+	private final PayloadMarshaller cbor = new CborPayloadMarshaller();
+	private final PayloadMarshaller msgpack = new MessagePackPayloadMarshaller();
+
+	@Test
+	public void getCbor(TestContext context) {
+		getDog(context, CBOR, cbor);
+	}
+
+	@Test
+	public void getMessagePack(TestContext context) {
+		getDog(context, MSGPACK, msgpack);
+	}
+
+	@Test
+	public void postCbor(TestContext context) {
+		postDog(context, CBOR, cbor);
+	}
+
+	@Test
+	public void postMessagePack(TestContext context) {
+		postDog(context, MSGPACK, msgpack);
+	}
+
+	@Test
+	public void streamedSequence(TestContext context) {
+		Async async = context.async();
+		client().get("/binary/dogs", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				// the elements are concatenated : decode them one after the other
+				Buffer expected = Buffer.buffer();
+				for (int i = 0; i < 3; i++) {
+					expected.appendBuffer(msgpack.marshallPayloadToBuffer(new Dog("Dog" + i, "Mutt")));
+				}
+				context.assertEquals(expected, buffer);
+				async.complete();
+			});
+		}).putHeader(ACCEPT, MSGPACK).end();
+	}
+
+	@Test
+	public void binaryError(TestContext context) {
+		Async async = context.async();
+		client().get("/binary/exception", response -> {
+			context.assertEquals(500, response.statusCode());
+			context.assertEquals(CBOR, response.getHeader(CONTENT_TYPE));
+			response.bodyHandler(buffer -> {
+				JsonObject error = cbor.unmarshallPayload(buffer, JsonObject.class).getJsonObject("error");
+				context.assertEquals(500, error.getInteger("code"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, CBOR).end();
+	}
+
+	private void getDog(TestContext context, String contentType, PayloadMarshaller marshaller) {
+		Async async = context.async();
+		client().get("/binary/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals(contentType, response.getHeader(CONTENT_TYPE));
+			response.bodyHandler(buffer -> {
+				Dog dog = marshaller.unmarshallPayload(buffer, Dog.class);
+				context.assertEquals("Snoopy", dog.getName());
+				context.assertEquals("Beagle", dog.getBreed());
+				async.complete();
+			});
+		}).putHeader(ACCEPT, contentType).end();
+	}
+
+	private void postDog(TestContext context, String contentType, PayloadMarshaller marshaller) {
+		Async async = context.async();
+		Buffer body = marshaller.marshallPayloadToBuffer(new Dog("Woodstock", "Bird"));
+		client().post("/binary/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				Dog dog = marshaller.unmarshallPayload(buffer, Dog.class);
+				context.assertEquals("Woodstock", dog.getName());
+				async.complete();
+			});
+		}).putHeader(ACCEPT, contentType).putHeader(CONTENT_TYPE, contentType).end(body);
+	}
+
+}
@@ -0,0 +1,135 @@
+package integration.api.caching;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import org.junit.Test;
+
+import java.util.Base64;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.AUTHORIZATION;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+
+public class ResponseCacheTest extends VertxNubesTestBase {
+
+	@Test
+	public void cachedResponse(TestContext context) {
+		Async async = context.async();
+		get("/cached/dog", "application/json", first -> {
+			get("/cached/dog", "application/json", second -> {
+				context.assertEquals(first, second);
+				context.assertTrue(first.toJsonObject().getString("name").startsWith("Snoopy"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void cachedList(TestContext context) {
+		Async async = context.async();
+		get("/cached/dogs", "application/json", first -> {
+			get("/cached/dogs", "application/json", second -> {
+				context.assertEquals(first, second);
+				context.assertEquals(2, first.toJsonArray().size());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void cachedPerContentType(TestContext context) {
+		Async async = context.async();
+		get("/cached/dog", "application/json", json -> {
+			client().get("/cached/dog", response -> {
+				context.assertEquals(200, response.statusCode());
+				context.assertEquals("application/xml", response.getHeader(CONTENT_TYPE.toString()));
+				response.bodyHandler(xml -> {
+					context.assertTrue(xml.toString().startsWith("<?xml"));
+					get("/cached/dog", "application/xml", cachedXml -> {
+						context.assertEquals(xml, cachedXml);
+						async.complete();
+					});
+				});
+			}).putHeader(ACCEPT, "application/xml").end();
+		});
+	}
+
+	@Test
+	public void cachedPerQueryParameter(TestContext context) {
+		Async async = context.async();
+		get("/cached/search?name=snoopy&page=1", "application/json", first -> {
+			get("/cached/search?name=snoopy&page=2", "application/json", ignoredParam -> {
+				context.assertEquals(first, ignoredParam);
+				get("/cached/search?name=woodstock", "application/json", otherName -> {
+					context.assertTrue(otherName.toJsonObject().getString("name").startsWith("woodstock"));
+					async.complete();
+				});
+			});
+		});
+	}
+
+	@Test
+	public void expiredResponse(TestContext context) {
+		Async async = context.async();
+		get("/cached/shortLived", "application/json", first -> {
+			vertx.setTimer(200, timerId -> {
+				get("/cached/shortLived", "application/json", second -> {
+					context.assertNotEquals(first, second);
+					async.complete();
+				});
+			});
+		});
+	}
+
+	@Test
+	public void cookiesAreNotCached(TestContext context) {
+		Async async = context.async();
+		get("/cached/cookie", "application/json", first -> {
+			get("/cached/cookie", "application/json", second -> {
+				context.assertNotEquals(first, second);
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void cachedPerUser(TestContext context) {
+		Async async = context.async();
+		String tim = "Basic " + Base64.getEncoder().encodeToString("tim:sausages".getBytes());
+		String bob = "Basic " + Base64.getEncoder().encodeToString("bob:pwd".getBytes());
+		get("/cached/mine", "application/json", tim, timFirst -> {
+			get("/cached/mine", "application/json", bob, bobFirst -> {
+				context.assertTrue(timFirst.toJsonObject().getString("name").startsWith("tim"));
+				context.assertTrue(bobFirst.toJsonObject().getString("name").startsWith("bob"));
+				get("/cached/mine", "application/json", tim, timSecond -> {
+					context.assertEquals(timFirst, timSecond);
+					get("/cached/mine", "application/json", bob, bobSecond -> {
+						context.assertEquals(bobFirst, bobSecond);
+						async.complete();
+					});
+				});
+			});
+		});
+	}
+
+	private void get(String path, String contentType, Handler<Buffer> bodyHandler) {
+		get(path, contentType, null, bodyHandler);
+	}
+
+	private void get(String path, String contentType, String authorization, Handler<Buffer> bodyHandler) {
+		HttpClientRequest request = client().get(path, response -> {
+			if (response.statusCode() != 200) {
+				throw new AssertionError("Unexpected status " + response.statusCode() + " for " + path);
+			}
+			response.bodyHandler(bodyHandler);
+		}).putHeader(ACCEPT, contentType);
+		if (authorization != null) {
+			request.putHeader(AUTHORIZATION, authorization);
+		}
+		request.end();
+	}
+}
@@ -0,0 +1,105 @@
+package integration.api.etag;
+
+import integration.VertxNubesTestBase;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.api.etag.ETagTestController;
+import org.junit.Test;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+import static io.vertx.core.http.HttpHeaders.LAST_MODIFIED;
+
+public class ETagTest extends VertxNubesTestBase {
+
+	@Test
+	public void notModified(TestContext context) {
+		Async async = context.async();
+		getJSON("/etag/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			String etag = response.getHeader(ETAG.toString());
+			context.assertNotNull(etag);
+			client().get("/etag/dog", notModified -> {
+				context.assertEquals(304, notModified.statusCode());
+				context.assertEquals(etag, notModified.getHeader(ETAG.toString()));
+				notModified.bodyHandler(buff -> {
+					context.assertEquals(0, buff.length());
+					async.complete();
+				});
+			}).putHeader(ACCEPT, "application/json").putHeader(IF_NONE_MATCH, "\"other\", W/" + etag).end();
+		});
+	}
+
+	@Test
+	public void notModifiedList(TestContext context) {
+		Async async = context.async();
+		getJSON("/etag/dogs", response -> {
+			context.assertEquals(200, response.statusCode());
+			String etag = response.getHeader(ETAG.toString());
+			context.assertNotNull(etag);
+			response.bodyHandler(buff -> {
+				context.assertEquals(2, buff.toJsonArray().size());
+				client().get("/etag/dogs", notModified -> {
+					context.assertEquals(304, notModified.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").putHeader(IF_NONE_MATCH, etag).end();
+			});
+		});
+	}
+
+	@Test
+	public void disabledByDefault(TestContext context) {
+		Async async = context.async();
+		getJSON("/etag/plain", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertNull(response.getHeader(ETAG.toString()));
+			async.complete();
+		});
+	}
+
+	@Test
+	public void modified(TestContext context) {
+		Async async = context.async();
+		client().get("/etag/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				context.assertEquals("Snoopy", buff.toJsonObject().getString("name"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, "application/json").putHeader(IF_NONE_MATCH, "\"outdated\"").end();
+	}
+
+	@Test
+	public void versionIsCheckedUpFront(TestContext context) {
+		Async async = context.async();
+		ETagTestController.computed.set(0);
+		getJSON("/etag/versioned", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals("\"v1\"", response.getHeader(ETAG.toString()));
+			client().get("/etag/versioned", notModified -> {
+				context.assertEquals(304, notModified.statusCode());
+				context.assertEquals(1, ETagTestController.computed.get());
+				async.complete();
+			}).putHeader(ACCEPT, "application/json").putHeader(IF_NONE_MATCH, "\"v1\"").end();
+		});
+	}
+
+	@Test
+	public void lastModified(TestContext context) {
+		Async async = context.async();
+		getJSON("/etag/lastModified", response -> {
+			context.assertEquals(200, response.statusCode());
+			String lastModified = response.getHeader(LAST_MODIFIED.toString());
+			context.assertEquals("Wed, 1 Jun 2016 10:15:30 GMT", lastModified);
+			client().get("/etag/lastModified", notModified -> {
+				context.assertEquals(304, notModified.statusCode());
+				client().get("/etag/lastModified", modified -> {
+					context.assertEquals(200, modified.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").putHeader(IF_MODIFIED_SINCE, "Tue, 31 May 2016 10:15:30 GMT").end();
+			}).putHeader(ACCEPT, "application/json").putHeader(IF_MODIFIED_SINCE, lastModified).end();
+		});
+	}
+}
@@ -0,0 +1,46 @@
+package integration.api.etag;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import org.junit.Test;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+
+/**
+ * ETags for every route, through the "etags" configuration
+ */
+public class GlobalETagTest extends VertxNubesTestBase {
+
+	@Override
+	protected JsonObject getConfig() {
+		return super.getConfig().put("etags", true);
+	}
+
+	@Test
+	public void payloadParameter(TestContext context) {
+		notModified(context, "/etag/plain");
+	}
+
+	@Test
+	public void returnedPayload(TestContext context) {
+		notModified(context, "/etag/returned");
+	}
+
+	private void notModified(TestContext context, String path) {
+		Async async = context.async();
+		getJSON(path, response -> {
+			context.assertEquals(200, response.statusCode());
+			String etag = response.getHeader(ETAG.toString());
+			context.assertNotNull(etag);
+			client().get(path, notModified -> {
+				context.assertEquals(304, notModified.statusCode());
+				async.complete();
+			}).putHeader(ACCEPT, "application/json").putHeader(IF_NONE_MATCH, etag).end();
+		});
+	}
+
+}
@@ -160,6 +160,18 @@ public class JsonApiTest extends VertxNubesTestBase {
 		});
 	}
 	
+	@Test
+	public void testBodyLimit(TestContext context) {
+		Async async = context.async();
+		sendJSON("/json/smalldog", new JsonObject().put("name", "Snoopy").put("breed", "Beagle"), response -> {
+			context.assertEquals(200, response.statusCode());
+			sendJSON("/json/smalldog", new JsonObject().put("name", "Snoopy, the world famous World War I flying ace").put("breed", "Beagle"), tooLarge -> {
+				context.assertEquals(413, tooLarge.statusCode());
+				async.complete();
+			});
+		});
+	}
+
 	@Test
 	public void testMarshalledError(TestContext context) {
 		Async async = context.async();
@@ -0,0 +1,217 @@
+package integration.api.stream;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.api.stream.StreamTestController;
+import org.junit.Test;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import static io.vertx.core.http.HttpHeaders.TRANSFER_ENCODING;
+
+public class StreamTest extends VertxNubesTestBase {
+
+	private static final int MANY = 5000;
+
+	@Test
+	public void jsonArray(TestContext context) {
+		Async async = context.async();
+		getJSON("/stream/dogs?count=" + MANY, response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals("chunked", response.getHeader(TRANSFER_ENCODING));
+			response.bodyHandler(buffer -> {
+				JsonArray dogs = new JsonArray(buffer.toString("UTF-8"));
+				context.assertEquals(MANY, dogs.size());
+				context.assertEquals("Dog0", dogs.getJsonObject(0).getString("name"));
+				context.assertEquals("Dog" + (MANY - 1), dogs.getJsonObject(MANY - 1).getString("name"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void abortedMidStream(TestContext context) {
+		Async async = context.async();
+		HttpClient client = client();
+		client.get("/stream/endless", response -> {
+			context.assertEquals(200, response.statusCode());
+			// the server fills its write queue, then waits for it to drain : the client goes away meanwhile
+			response.pause();
+			vertx.setTimer(200, timer -> client.close());
+		}).putHeader(ACCEPT, "application/json").end();
+		vertx.setPeriodic(50, timer -> {
+			// both the stream and the controller's close handler are notified
+			if (StreamTestController.ENDLESS_CLOSED.getCount() == 0) {
+				vertx.cancelTimer(timer);
+				async.complete();
+			}
+		});
+	}
+
+	@Test
+	public void smallStreamIsNotChunked(TestContext context) {
+		Async async = context.async();
+		getJSON("/stream/dogs?count=2", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertNotNull(response.getHeader(CONTENT_LENGTH));
+			response.bodyHandler(buffer -> {
+				context.assertEquals(2, new JsonArray(buffer.toString("UTF-8")).size());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void emptyStream(TestContext context) {
+		Async async = context.async();
+		getJSON("/stream/dogs?count=0", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				context.assertEquals("[]", buffer.toString("UTF-8"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void ndjson(TestContext context) {
+		Async async = context.async();
+		client().get("/stream/dogs?count=" + MANY, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				String[] lines = buffer.toString("UTF-8").split("\n");
+				context.assertEquals(MANY, lines.length);
+				context.assertTrue(lines[MANY - 1].contains("\"Dog" + (MANY - 1) + "\""));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, "application/x-ndjson").end();
+	}
+
+	@Test
+	public void xml(TestContext context) {
+		Async async = context.async();
+		getXML("/stream/dogs?count=" + MANY, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				String xml = buffer.toString("UTF-8");
+				context.assertTrue(xml.startsWith("<?xml"));
+				context.assertTrue(xml.endsWith("</items>"));
+				context.assertEquals(MANY, xml.split("<dog>", -1).length - 1);
+				context.assertEquals(1, xml.split("<\\?xml", -1).length - 1);
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void returnedIterator(TestContext context) {
+		Async async = context.async();
+		getJSON("/stream/iterator?count=" + MANY, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				context.assertEquals(MANY, new JsonArray(buffer.toString("UTF-8")).size());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void readStream(TestContext context) {
+		Async async = context.async();
+		getJSON("/stream/readStream?count=" + MANY, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				JsonArray dogs = new JsonArray(buffer.toString("UTF-8"));
+				context.assertEquals(MANY, dogs.size());
+				context.assertEquals("Dog" + (MANY - 1), dogs.getJsonObject(MANY - 1).getString("name"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void jsonRequestBody(TestContext context) {
+		JsonArray dogs = new JsonArray();
+		for (int i = 0; i < MANY; i++) {
+			dogs.add(new JsonObject().put("name", "Dog" + i).put("breed", "Mutt"));
+		}
+		postDogs(context, "application/json", dogs.encode(), "200:" + MANY + " Dog" + (MANY - 1));
+	}
+
+	@Test
+	public void ndjsonRequestBody(TestContext context) {
+		StringBuilder dogs = new StringBuilder();
+		for (int i = 0; i < MANY; i++) {
+			dogs.append(new JsonObject().put("name", "Dog" + i).put("breed", "Mutt").encode()).append('\n');
+		}
+		postDogs(context, "application/x-ndjson", dogs.toString(), "200:" + MANY + " Dog" + (MANY - 1));
+	}
+
+	@Test
+	public void xmlRequestBody(TestContext context) {
+		StringBuilder dogs = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<dogs>\n");
+		for (int i = 0; i < MANY; i++) {
+			dogs.append("\t<!-- a good <dog> -->\n\t<dog><name>Dog").append(i).append("</name><breed>Mutt</breed></dog>\n");
+		}
+		dogs.append("</dogs>");
+		postDogs(context, "application/xml", dogs.toString(), "200:" + MANY + " Dog" + (MANY - 1));
+	}
+
+	@Test
+	public void emptyRequestBody(TestContext context) {
+		postDogs(context, "application/json", "[]", "200:0");
+	}
+
+	@Test
+	public void malformedRequestBody(TestContext context) {
+		postDogs(context, "application/json", "[{\"name\":\"Snoopy\"}, {\"name\":", "400:");
+	}
+
+	@Test
+	public void tooLargeRequestBody(TestContext context) {
+		Async async = context.async();
+		JsonArray dogs = new JsonArray();
+		for (int i = 0; i < MANY; i++) {
+			dogs.add(new JsonObject().put("name", "Dog" + i).put("breed", "Mutt"));
+		}
+		client().post("/stream/countSmall", response -> {
+			context.assertEquals(413, response.statusCode());
+			async.complete();
+		}).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").end(dogs.encode());
+	}
+
+	@Test
+	public void echoRequestBody(TestContext context) {
+		Async async = context.async();
+		JsonArray dogs = new JsonArray();
+		for (int i = 0; i < MANY; i++) {
+			dogs.add(new JsonObject().put("name", "Dog" + i).put("breed", "Mutt"));
+		}
+		client().post("/stream/echo", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				JsonArray echoed = new JsonArray(buffer.toString("UTF-8"));
+				context.assertEquals(MANY, echoed.size());
+				context.assertEquals("Dog" + (MANY - 1), echoed.getJsonObject(MANY - 1).getString("name"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").end(dogs.encode());
+	}
+
+	private void postDogs(TestContext context, String contentType, String body, String expected) {
+		Async async = context.async();
+		client().post("/stream/count", response -> {
+			response.bodyHandler(buffer -> {
+				String actual = response.statusCode() + ":" + (response.statusCode() == 200 ? buffer.toString("UTF-8") : "");
+				context.assertEquals(expected, actual);
+				async.complete();
+			});
+		}).putHeader(ACCEPT, contentType).putHeader(CONTENT_TYPE, contentType).end(body);
+	}
+
+}
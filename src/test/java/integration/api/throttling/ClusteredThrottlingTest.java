@@ -0,0 +1,112 @@
+package integration.api.throttling;
+
+import com.github.aesteve.vertx.nubes.NubesServer;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import mock.verticles.AnnotatedVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+
+/**
+ * Two nodes, each one with its own Vert.x instance.
+ * Their event-buses are bridged on the throttling address, as a cluster would do for a published message.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ClusteredThrottlingTest {
+
+	private static final String ADDRESS = "nubes.throttling.default";
+	private static final String BRIDGED = "bridged";
+	private static final int PORT_A = 8000;
+	private static final int PORT_B = 8001;
+	private static final long SYNC_INTERVAL = 20;
+
+	private Vertx nodeA;
+	private Vertx nodeB;
+
+	@Before
+	public void setUp(TestContext context) {
+		nodeA = Vertx.vertx();
+		nodeB = Vertx.vertx();
+		bridge(nodeA, nodeB);
+		bridge(nodeB, nodeA);
+		nodeA.deployVerticle(NubesServer.class.getName(), options(PORT_A), context.asyncAssertSuccess());
+		nodeB.deployVerticle(NubesServer.class.getName(), options(PORT_B), context.asyncAssertSuccess());
+	}
+
+	@After
+	public void tearDown(TestContext context) {
+		nodeA.close(context.asyncAssertSuccess());
+		nodeB.close(context.asyncAssertSuccess(res -> AnnotatedVerticle.nbInstances.set(0)));
+	}
+
+	@Test
+	public void accessesOnEveryNodeAreCounted(TestContext context) {
+		Async async = context.async();
+		client(nodeA, PORT_A).get("/throttling/dog", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client(nodeB, PORT_B).get("/throttling/dog", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				nodeA.setTimer(SYNC_INTERVAL * 10, timerId -> {
+					client(nodeA, PORT_A).get("/throttling/dog", thirdResponse -> {
+						context.assertEquals(420, thirdResponse.statusCode());
+						async.complete();
+					}).putHeader(ACCEPT, "application/json").end();
+				});
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
+	@Test
+	public void localAccessesAreCountedBeforeSync(TestContext context) {
+		Async async = context.async();
+		client(nodeA, PORT_A).get("/throttling/dog", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client(nodeA, PORT_A).get("/throttling/dog", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				client(nodeA, PORT_A).get("/throttling/dog", thirdResponse -> {
+					context.assertEquals(420, thirdResponse.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").end();
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
+	private static void bridge(Vertx from, Vertx to) {
+		from.eventBus().<JsonObject>consumer(ADDRESS, message -> {
+			if (message.headers().contains(BRIDGED)) {
+				return;
+			}
+			to.eventBus().publish(ADDRESS, message.body(), new DeliveryOptions().addHeader(BRIDGED, "true"));
+		});
+	}
+
+	private static DeploymentOptions options(int port) {
+		JsonObject config = new JsonObject()
+				.put("port", port)
+				.put("src-package", "mock")
+				.put("controller-packages", new JsonArray().add("mock.controllers.api.throttling"))
+				.put("services", new JsonObject().put("dogService", "mock.services.DogService"))
+				.put("throttling", new JsonObject().put("count", 2).put("time-frame", 10).put("time-unit", "SECONDS"))
+				.put("throttling-policies", new JsonObject().put("search", new JsonObject().put("count", 1).put("time-frame", 10)))
+				.put("clustered-throttling", true)
+				.put("throttling-sync-interval", SYNC_INTERVAL);
+		return new DeploymentOptions().setConfig(config);
+	}
+
+	private static HttpClient client(Vertx vertx, int port) {
+		return vertx.createHttpClient(new HttpClientOptions().setDefaultHost("localhost").setDefaultPort(port));
+	}
+
+}
@@ -45,6 +45,73 @@ public class ThrottlingTest extends VertxNubesTestBase {
 		}).putHeader(ACCEPT, "application/json").end();
 	}
 
+	@Test
+	public void namedPolicy(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/search", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client().get("/throttling/search", secondResponse -> {
+				context.assertEquals(420, secondResponse.statusCode());
+				async.complete();
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
+	@Test
+	public void policiesAreIndependent(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/search", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client().get("/throttling/dog", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				client().get("/throttling/dog", thirdResponse -> {
+					context.assertEquals(200, thirdResponse.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").end();
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
+	@Test
+	public void inlinePolicy(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/inline", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client().get("/throttling/inline", secondResponse -> {
+				context.assertEquals(420, secondResponse.statusCode());
+				async.complete();
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
+	@Test
+	public void inlinePoliciesAreIndependent(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/inline", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			// same limits, on another method
+			client().get("/throttling/otherInline", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				async.complete();
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
+	@Test
+	public void controllerPolicy(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/controller/pluto", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client().get("/throttling/controller/idefix", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				client().get("/throttling/controller/pluto", thirdResponse -> {
+					context.assertEquals(420, thirdResponse.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").end();
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
 	/**
 	 * TODO : this must be the perfect example for using a testsuite instead of nested lambdas ??
 	 */
@@ -88,6 +155,58 @@ public class ThrottlingTest extends VertxNubesTestBase {
 		}).putHeader(ACCEPT, "application/json").end();
 	}
 
+	@Test
+	public void forwardedForKey(TestContext context) {
+		Async async = context.async();
+		// the leftmost address is forged by the client, the next one is appended by the first of the 2 trusted proxies
+		client().get("/throttling/forwarded", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client().get("/throttling/forwarded", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				client().get("/throttling/forwarded", thirdResponse -> {
+					context.assertEquals(420, thirdResponse.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").putHeader("X-Forwarded-For", "1.1.1.1, 10.0.0.1, 192.168.0.1").end();
+			}).putHeader(ACCEPT, "application/json").putHeader("X-Forwarded-For", "10.0.0.2, 192.168.0.1").end();
+		}).putHeader(ACCEPT, "application/json").putHeader("X-Forwarded-For", "10.0.0.1, 192.168.0.1").end();
+	}
+
+	@Test
+	public void headerKey(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/apiKey", firstResponse -> {
+			context.assertEquals(200, firstResponse.statusCode());
+			client().get("/throttling/apiKey", secondResponse -> {
+				context.assertEquals(200, secondResponse.statusCode());
+				client().get("/throttling/apiKey", thirdResponse -> {
+					context.assertEquals(420, thirdResponse.statusCode());
+					async.complete();
+				}).putHeader(ACCEPT, "application/json").putHeader("X-Api-Key", "snoopy").end();
+			}).putHeader(ACCEPT, "application/json").putHeader("X-Api-Key", "woodstock").end();
+		}).putHeader(ACCEPT, "application/json").putHeader("X-Api-Key", "snoopy").end();
+	}
+
+	@Test
+	public void sameErrorBodies(TestContext context) {
+		Async async = context.async();
+		client().get("/throttling/inline", firstResponse -> {
+			client().get("/throttling/inline", secondResponse -> {
+				context.assertEquals(420, secondResponse.statusCode());
+				secondResponse.bodyHandler(firstError -> {
+					// the error body is rendered once, then sent as is
+					client().get("/throttling/inline", thirdResponse -> {
+						context.assertEquals(420, thirdResponse.statusCode());
+						thirdResponse.bodyHandler(secondError -> {
+							context.assertEquals(firstError, secondError);
+							context.assertEquals(420, firstError.toJsonObject().getJsonObject("error").getInteger("code"));
+							async.complete();
+						});
+					}).putHeader(ACCEPT, "application/json").end();
+				});
+			}).putHeader(ACCEPT, "application/json").end();
+		}).putHeader(ACCEPT, "application/json").end();
+	}
+
 	/**
 	 * TODO : we MUST check that another client is not blocked by a first client
 	 * TODO : how to forge a fake remoteHost for vertx.createClient() ?
@@ -45,4 +45,16 @@ public class InjectParams extends CustomNubesTestBase {
       });
     }).end();
   }
+
+  @Test
+  public void annotatedParamReadingBody(TestContext context) {
+    Async async = context.async();
+    client().post("/custom/params/annotated", response -> {
+      context.assertEquals(200, response.statusCode());
+      response.bodyHandler(buff -> {
+        context.assertEquals("some body", buff.toString("UTF-8"));
+        async.complete();
+      });
+    }).end("some body");
+  }
 }
@@ -0,0 +1,51 @@
+package integration.failures;
+
+import com.github.aesteve.vertx.nubes.VertxNubes;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class WrongControllerParamsTest {
+
+  protected Vertx vertx;
+
+  private static JsonObject controllers(String pkg) {
+    return new JsonObject().put("controller-packages", new JsonArray().add(pkg));
+  }
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void twoAnnotationsOnSameParam(TestContext context) {
+    assertBootstrapFails(context, "mock.broken.controllers.annotations");
+  }
+
+  @Test
+  public void unknownParamType(TestContext context) {
+    assertBootstrapFails(context, "mock.broken.controllers.types");
+  }
+
+  private void assertBootstrapFails(TestContext context, String pkg) {
+    VertxNubes nubes = new VertxNubes(vertx, controllers(pkg));
+    nubes.bootstrap(context.asyncAssertFailure(cause -> {
+      context.assertTrue(cause instanceof IllegalArgumentException);
+      context.assertTrue(cause.getMessage().contains("echo"));
+      nubes.stop(context.asyncAssertSuccess());
+    }));
+  }
+}
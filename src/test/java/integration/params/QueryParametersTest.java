@@ -7,7 +7,9 @@ import io.vertx.ext.unit.TestContext;
 import mock.controllers.params.QueryParametersTestController.Animal;
 import org.junit.Test;
 
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 public class QueryParametersTest extends VertxNubesTestBase {
 
@@ -93,6 +95,112 @@ public class QueryParametersTest extends VertxNubesTestBase {
     });
   }
 
+  @Test
+  public void testPrimitiveInt(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/primitiveInt?parameter=42", response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals("42", buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testMissingPrimitive(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/primitiveInt", response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals("0", buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testPrimitiveBoolean(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/primitiveBoolean?parameter=true", response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals("true", buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testWrongBoolean(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/primitiveBoolean?parameter=yes", response -> {
+      context.assertEquals(400, response.statusCode());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testUUID(TestContext context) {
+    UUID uuid = UUID.randomUUID();
+    Async async = context.async();
+    client().getNow("/params/query/uuid?parameter=" + uuid, response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals(uuid.toString(), buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testInstant(TestContext context) {
+    Instant instant = Instant.ofEpochMilli(System.currentTimeMillis());
+    Async async = context.async();
+    client().getNow("/params/query/instant?parameter=" + instant, response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals(Long.toString(instant.toEpochMilli()), buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testLocalDate(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/localDate?parameter=2016-02-29", response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals("2016-02-29", buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testWrongLocalDate(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/localDate?parameter=2015-02-29", response -> {
+      context.assertEquals(400, response.statusCode());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void testOffsetDateTime(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/offsetDateTime?parameter=2016-05-12T10:15:30.5-02:00", response -> {
+      response.bodyHandler(buff -> {
+        context.assertEquals("2016-05-12T10:15:30.500-02:00", buff.toString("UTF-8"));
+        async.complete();
+      });
+    });
+  }
+
+  @Test
+  public void testWrongEnum(TestContext context) {
+    Async async = context.async();
+    client().getNow("/params/query/enum?parameter=UNICORN", response -> {
+      context.assertEquals(400, response.statusCode());
+      async.complete();
+    });
+  }
+
   @Test
   public void testParamByName(TestContext context) throws Exception {
     String name = "Snoopy";
@@ -0,0 +1,16 @@
+package integration.routes.composite;
+
+import integration.blocking.BlockingTest;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Same tests, with every MVCRoute registered as a single vertx-web Route
+ */
+public class CompositeBlockingTest extends BlockingTest {
+
+  @Override
+  protected JsonObject getConfig() {
+    return super.getConfig().put("composite-routes", true);
+  }
+
+}
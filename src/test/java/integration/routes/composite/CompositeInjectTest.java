@@ -0,0 +1,16 @@
+package integration.routes.composite;
+
+import integration.injection.TestInject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Same tests, with every MVCRoute registered as a single vertx-web Route
+ */
+public class CompositeInjectTest extends TestInject {
+
+  @Override
+  protected JsonObject getConfig() {
+    return super.getConfig().put("composite-routes", true);
+  }
+
+}
@@ -0,0 +1,16 @@
+package integration.routes.dispatcher;
+
+import integration.web.AssetsTest;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Same tests, with every MVCRoute dispatched through the path trie
+ */
+public class DispatcherAssetsTest extends AssetsTest {
+
+  @Override
+  protected JsonObject getConfig() {
+    return super.getConfig().put("trie-dispatcher", true);
+  }
+
+}
@@ -0,0 +1,16 @@
+package integration.routes.dispatcher;
+
+import integration.blocking.BlockingTest;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Same tests, with every MVCRoute dispatched through the path trie
+ */
+public class DispatcherBlockingTest extends BlockingTest {
+
+  @Override
+  protected JsonObject getConfig() {
+    return super.getConfig().put("trie-dispatcher", true);
+  }
+
+}
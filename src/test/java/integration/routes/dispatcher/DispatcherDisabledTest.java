@@ -0,0 +1,16 @@
+package integration.routes.dispatcher;
+
+import integration.routes.TestDisabled;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Same tests, with every MVCRoute dispatched through the path trie
+ */
+public class DispatcherDisabledTest extends TestDisabled {
+
+  @Override
+  protected JsonObject getConfig() {
+    return super.getConfig().put("trie-dispatcher", true);
+  }
+
+}
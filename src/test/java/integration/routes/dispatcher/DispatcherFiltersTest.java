@@ -0,0 +1,16 @@
+package integration.routes.dispatcher;
+
+import integration.filters.FiltersTest;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Same tests, with every MVCRoute dispatched through the path trie
+ */
+public class DispatcherFiltersTest extends FiltersTest {
+
+  @Override
+  protected JsonObject getConfig() {
+    return super.getConfig().put("trie-dispatcher", true);
+  }
+
+}
@@ -0,0 +1,57 @@
+package integration.server;
+
+import com.github.aesteve.vertx.nubes.BootstrapReport;
+import com.github.aesteve.vertx.nubes.VertxNubes;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import mock.controllers.api.json.JsonApiTestController;
+import mock.fixtures.DogFixture;
+import mock.verticles.AnnotatedVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class BootstrapReportTest {
+
+  protected Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess(res -> AnnotatedVerticle.nbInstances.set(0)));
+  }
+
+  @Test
+  public void everyPhaseIsTimed(TestContext context) {
+    JsonObject config = new JsonObject()
+        .put("src-package", "mock")
+        .put("controller-packages", new JsonArray().add("mock.controllers.api.json"))
+        .put("services", new JsonObject().put("dogService", "mock.services.DogService"));
+    VertxNubes nubes = new VertxNubes(vertx, config);
+    Async async = context.async();
+    nubes.bootstrap(context.asyncAssertSuccess(router -> {
+      JsonObject report = nubes.getBootstrapReport();
+      context.assertTrue(report.getDouble(BootstrapReport.TOTAL) > 0);
+      JsonObject phases = report.getJsonObject(BootstrapReport.PHASES);
+      for (String phase : new String[]{"class-index", "domain-marshaller", "router", "verticles", "services", "fixtures"}) {
+        context.assertNotNull(phases.getDouble(phase), phase);
+      }
+      context.assertTrue(report.getJsonObject(BootstrapReport.CONTROLLERS).containsKey(JsonApiTestController.class.getName()));
+      context.assertTrue(report.getJsonObject(BootstrapReport.VERTICLES).containsKey(AnnotatedVerticle.class.getName()));
+      context.assertTrue(report.getJsonObject(BootstrapReport.SERVICES).containsKey("dogService"));
+      context.assertTrue(report.getJsonObject(BootstrapReport.FIXTURES).containsKey(DogFixture.class.getName()));
+      async.complete();
+    }));
+  }
+
+}
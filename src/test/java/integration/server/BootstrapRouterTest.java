@@ -0,0 +1,77 @@
+package integration.server;
+
+import com.github.aesteve.vertx.nubes.VertxNubes;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+import mock.verticles.AnnotatedVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+
+@RunWith(VertxUnitRunner.class)
+public class BootstrapRouterTest {
+
+  private static final int PORT = 8000;
+
+  protected Vertx vertx;
+  private VertxNubes nubes;
+  private HttpClient client;
+
+  @Before
+  public void setUp(TestContext context) {
+    vertx = Vertx.vertx();
+    JsonObject config = new JsonObject()
+        .put("src-package", "mock")
+        .put("controller-packages", new JsonArray().add("mock.controllers.api.json"))
+        .put("services", new JsonObject().put("dogService", "mock.services.DogService"));
+    nubes = new VertxNubes(vertx, config);
+    Router router = Router.router(vertx);
+    router.get("/before").handler(ctx -> ctx.response().end("before"));
+    Async async = context.async();
+    nubes.bootstrap(context.asyncAssertSuccess(res -> {
+      HttpServer server = vertx.createHttpServer();
+      server.requestHandler(res::accept).listen(PORT, context.asyncAssertSuccess(s -> async.complete()));
+    }), router);
+    // added while nubes is still scanning the classpath : must come after its routes
+    router.route().handler(ctx -> ctx.response().setStatusCode(418).end());
+    client = vertx.createHttpClient(new HttpClientOptions().setDefaultPort(PORT).setKeepAlive(false));
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess(res -> AnnotatedVerticle.nbInstances.set(0)));
+  }
+
+  @Test
+  public void routesKeepTheirOrder(TestContext context) {
+    Async async = context.async(3);
+    expectStatus(context, "/before", 200, async);
+    expectStatus(context, "/json/noContent", 204, async);
+    expectStatus(context, "/somewhere/else", 418, async);
+  }
+
+  @Test
+  public void stopUnmountsRoutes(TestContext context) {
+    Async async = context.async();
+    nubes.stop(context.asyncAssertSuccess(res -> expectStatus(context, "/json/noContent", 418, async)));
+  }
+
+  private void expectStatus(TestContext context, String path, int status, Async async) {
+    client.get(path, response -> {
+      context.assertEquals(status, response.statusCode());
+      async.countDown();
+    }).putHeader(ACCEPT, "application/json").end();
+  }
+
+}
@@ -0,0 +1,54 @@
+package integration.server;
+
+import com.github.aesteve.vertx.nubes.NubesServer;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import mock.verticles.AnnotatedVerticle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class SharedModelTest {
+
+  private static final int NB_INSTANCES = 4;
+
+  protected Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess(res -> AnnotatedVerticle.nbInstances.set(0)));
+  }
+
+  @Test
+  public void oneModelForEveryInstance(TestContext context) {
+    LocalMap<String, Object> models = vertx.sharedData().getLocalMap("nubes.sharedModels");
+    JsonObject config = new JsonObject()
+        .put("port", 8000)
+        .put("src-package", "mock")
+        .put("controller-packages", new JsonArray().add("mock.controllers.api.json"))
+        .put("services", new JsonObject().put("dogService", "mock.services.DogService"));
+    DeploymentOptions options = new DeploymentOptions().setInstances(NB_INSTANCES).setConfig(config);
+    Async async = context.async();
+    vertx.deployVerticle(NubesServer.class.getName(), options, context.asyncAssertSuccess(deploymentId -> {
+      context.assertEquals(1, models.size());
+      vertx.undeploy(deploymentId, context.asyncAssertSuccess(res -> {
+        context.assertTrue(models.isEmpty());
+        async.complete();
+      }));
+    }));
+  }
+
+}
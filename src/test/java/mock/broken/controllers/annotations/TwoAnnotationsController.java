@@ -0,0 +1,15 @@
+package mock.broken.controllers.annotations;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.params.Header;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+
+@Controller("/broken/annotations")
+public class TwoAnnotationsController {
+
+	@GET
+	public String echo(@Param @Header String dog) {
+		return dog;
+	}
+}
@@ -0,0 +1,15 @@
+package mock.broken.controllers.types;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+
+import java.lang.management.MemoryUsage;
+
+@Controller("/broken/types")
+public class UnknownTypeController {
+
+	@GET
+	public String echo(MemoryUsage usage) {
+		return usage.toString();
+	}
+}
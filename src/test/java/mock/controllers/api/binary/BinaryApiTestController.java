@@ -0,0 +1,38 @@
+package mock.controllers.api.binary;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+import mock.domains.Dog;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Controller("/binary/")
+@ContentType({"application/cbor", "application/x-msgpack", "application/json"})
+public class BinaryApiTestController {
+
+	@GET("dog")
+	public Dog getDog() {
+		return new Dog("Snoopy", "Beagle");
+	}
+
+	@POST("dog")
+	public void postDog(@RequestBody Dog dog, Payload<Dog> payload) {
+		payload.set(dog); // echo back
+	}
+
+	@GET("dogs")
+	public Stream<Dog> getDogs() {
+		return IntStream.range(0, 3).mapToObj(i -> new Dog("Dog" + i, "Mutt"));
+	}
+
+	@GET("exception")
+	public void throwException() {
+		throw new RuntimeException("Binary marshallers must handle errors too");
+	}
+
+}
@@ -0,0 +1,65 @@
+package mock.controllers.api.caching;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.auth.Auth;
+import com.github.aesteve.vertx.nubes.annotations.auth.User;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.auth.AuthMethod;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+import io.vertx.core.http.HttpServerResponse;
+import mock.auth.MockUser;
+import mock.domains.Dog;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Controller("/cached/")
+@ContentType({"application/json", "application/xml"})
+public class CacheTestController {
+
+	// shared by every instance : tells how many times the methods have actually been called
+	public static final AtomicInteger calls = new AtomicInteger();
+
+	@GET("dog")
+	@Cacheable(ttl = 1, timeUnit = TimeUnit.HOURS)
+	public void dog(Payload<Dog> payload) {
+		payload.set(new Dog("Snoopy" + calls.incrementAndGet(), "Beagle"));
+	}
+
+	@GET("dogs")
+	@Cacheable(ttl = 1, timeUnit = TimeUnit.HOURS)
+	public void dogs(Payload<List<Dog>> payload) {
+		payload.set(Arrays.asList(new Dog("Snoopy" + calls.incrementAndGet(), "Beagle"), new Dog("Idefix", "Westie")));
+	}
+
+	@GET("search")
+	@Cacheable(ttl = 1, timeUnit = TimeUnit.HOURS, key = "name")
+	public void search(Payload<Dog> payload, @Param String name) {
+		payload.set(new Dog(name + calls.incrementAndGet(), "Beagle"));
+	}
+
+	@GET("shortLived")
+	@Cacheable(ttl = 100, timeUnit = TimeUnit.MILLISECONDS)
+	public void shortLived(Payload<Dog> payload) {
+		payload.set(new Dog("Woodstock" + calls.incrementAndGet(), "Bird"));
+	}
+
+	@GET("cookie")
+	@Cacheable(ttl = 1, timeUnit = TimeUnit.HOURS)
+	public void cookie(Payload<Dog> payload, HttpServerResponse response) {
+		response.putHeader("Set-Cookie", "dog=" + calls.incrementAndGet());
+		payload.set(new Dog("Snoopy" + calls.get(), "Beagle"));
+	}
+
+	@GET("mine")
+	@Auth(authority = "", method = AuthMethod.BASIC)
+	@Cacheable(ttl = 1, timeUnit = TimeUnit.HOURS)
+	public void mine(Payload<Dog> payload, @User MockUser user) {
+		payload.set(new Dog(user.login + calls.incrementAndGet(), "Beagle"));
+	}
+}
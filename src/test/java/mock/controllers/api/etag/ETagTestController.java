@@ -0,0 +1,63 @@
+package mock.controllers.api.etag;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.context.ConditionalRequest;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+import mock.domains.Dog;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Controller("/etag/")
+@ContentType("application/json")
+public class ETagTestController {
+
+	public static final Instant LAST_MODIFIED = Instant.parse("2016-06-01T10:15:30Z");
+
+	// shared by every instance : tells how many times the payloads have actually been computed
+	public static final AtomicInteger computed = new AtomicInteger();
+
+	@GET("dog")
+	@ETag
+	public void dog(Payload<Dog> payload) {
+		payload.set(new Dog("Snoopy", "Beagle"));
+	}
+
+	@GET("versioned")
+	public void versioned(ConditionalRequest conditional, Payload<Dog> payload) {
+		if (conditional.isNotModified("v1")) {
+			return;
+		}
+		computed.incrementAndGet();
+		payload.set(new Dog("Snoopy", "Beagle"));
+	}
+
+	@GET("lastModified")
+	public void lastModified(ConditionalRequest conditional, Payload<Dog> payload) {
+		if (conditional.isNotModified(LAST_MODIFIED)) {
+			return;
+		}
+		payload.set(new Dog("Snoopy", "Beagle"));
+	}
+
+	@GET("dogs")
+	@ETag
+	public void dogs(Payload<List<Dog>> payload) {
+		payload.set(Arrays.asList(new Dog("Snoopy", "Beagle"), new Dog("Idefix", "Westie")));
+	}
+
+	@GET("plain")
+	public void plain(Payload<Dog> payload) {
+		payload.set(new Dog("Snoopy", "Beagle"));
+	}
+
+	@GET("returned")
+	public Dog returned() {
+		return new Dog("Snoopy", "Beagle");
+	}
+}
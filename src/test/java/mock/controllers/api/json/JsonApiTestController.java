@@ -77,6 +77,11 @@ public class JsonApiTestController {
 		payload.set(dog); // echo back
 	}
 
+	@POST("smalldog")
+	public void postSmallDog(@RequestBody(maxSize = 64) Dog dog, Payload<Dog> payload) {
+		payload.set(dog);
+	}
+
 	@GET("fail/:statusCode")
 	public void sendStatusCode(RoutingContext context, @Param("statusCode") Integer statusCode) {
 		context.fail(statusCode);
@@ -0,0 +1,135 @@
+package mock.controllers.api.stream;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+import mock.domains.Dog;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Controller("/stream/")
+@ContentType({"application/json", "application/x-ndjson", "application/xml"})
+public class StreamTestController {
+
+	public static final CountDownLatch ENDLESS_CLOSED = new CountDownLatch(1);
+
+	@GET("dogs")
+	public void streamDogs(@Param("count") Integer count, Payload<Stream<Dog>> payload) {
+		payload.set(dogs(count));
+	}
+
+	/**
+	 * Never ends : only stops when the client goes away
+	 */
+	@GET("endless")
+	public void endlessDogs(Payload<Stream<Dog>> payload) {
+		payload.set(Stream.iterate(0, i -> i + 1).map(i -> new Dog("Dog" + i, "Mutt")).onClose(ENDLESS_CLOSED::countDown));
+	}
+
+	@GET("iterator")
+	public Iterator<Dog> iterateDogs(@Param("count") Integer count) {
+		return dogs(count).iterator();
+	}
+
+	@GET("readStream")
+	public void readDogs(@Param("count") Integer count, Vertx vertx, Payload<ReadStream<Dog>> payload) {
+		payload.set(new DogReadStream(vertx, count));
+	}
+
+	@POST("count")
+	public void countDogs(@RequestBody ReadStream<Dog> dogs, RoutingContext context) {
+		List<String> names = new ArrayList<>();
+		dogs.handler(dog -> names.add(dog.getName()));
+		dogs.endHandler(v -> context.response().end(names.size() + (names.isEmpty() ? "" : " " + names.get(names.size() - 1))));
+	}
+
+	@POST("countSmall")
+	public void countFewDogs(@RequestBody(maxSize = 1024) ReadStream<Dog> dogs, RoutingContext context) {
+		countDogs(dogs, context);
+	}
+
+	@POST("echo")
+	public void echoDogs(@RequestBody ReadStream<Dog> dogs, Payload<ReadStream<Dog>> payload) {
+		payload.set(dogs);
+	}
+
+	private static Stream<Dog> dogs(int count) {
+		return IntStream.range(0, count).mapToObj(i -> new Dog("Dog" + i, "Mutt"));
+	}
+
+	/**
+	 * Emits a few dogs per event-loop tick, as an asynchronous source would
+	 */
+	private static class DogReadStream implements ReadStream<Dog> {
+
+		private static final int BATCH = 10;
+
+		private final Vertx vertx;
+		private final int count;
+		private int emitted;
+		private boolean paused;
+		private Handler<Dog> handler;
+		private Handler<Void> endHandler;
+
+		private DogReadStream(Vertx vertx, int count) {
+			this.vertx = vertx;
+			this.count = count;
+		}
+
+		@Override
+		public ReadStream<Dog> exceptionHandler(Handler<Throwable> handler) {
+			return this;
+		}
+
+		@Override
+		public ReadStream<Dog> handler(Handler<Dog> handler) {
+			this.handler = handler;
+			vertx.runOnContext(v -> emit());
+			return this;
+		}
+
+		@Override
+		public ReadStream<Dog> pause() {
+			paused = true;
+			return this;
+		}
+
+		@Override
+		public ReadStream<Dog> resume() {
+			paused = false;
+			vertx.runOnContext(v -> emit());
+			return this;
+		}
+
+		@Override
+		public ReadStream<Dog> endHandler(Handler<Void> endHandler) {
+			this.endHandler = endHandler;
+			return this;
+		}
+
+		private void emit() {
+			for (int i = 0; i < BATCH && !paused && emitted < count; i++) {
+				handler.handle(new Dog("Dog" + emitted, "Mutt"));
+				emitted++;
+			}
+			if (emitted == count) {
+				endHandler.handle(null);
+			} else if (!paused) {
+				vertx.runOnContext(v -> emit());
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package mock.controllers.api.throttling;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Throttled;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+import mock.domains.Dog;
+
+import java.util.concurrent.TimeUnit;
+
+@Controller("/throttling/controller/")
+@ContentType("application/json")
+@Throttled(count = 2, timeFrame = 1, timeUnit = TimeUnit.MINUTES)
+public class ThrottledControllerTestController {
+
+	@GET("pluto")
+	public void sendPluto(Payload<Dog> payload) {
+		payload.set(new Dog("Pluto", "Mutt"));
+	}
+
+	@GET("idefix")
+	public void sendIdefix(Payload<Dog> payload) {
+		payload.set(new Dog("Idefix", "Westy"));
+	}
+}
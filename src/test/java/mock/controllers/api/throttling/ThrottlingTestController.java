@@ -21,4 +21,34 @@ public class ThrottlingTestController {
 	public void sendDog(Payload<Dog> payload) {
 		payload.set(new Dog("Idefix", "Westy"));
 	}
+
+	@GET("search")
+	@Throttled("search")
+	public void searchDog(Payload<Dog> payload) {
+		payload.set(new Dog("Idefix", "Westy"));
+	}
+
+	@GET("inline")
+	@Throttled(count = 1, timeFrame = 10)
+	public void inlineDog(Payload<Dog> payload) {
+		payload.set(new Dog("Idefix", "Westy"));
+	}
+
+	@GET("otherInline")
+	@Throttled(count = 1, timeFrame = 10)
+	public void otherInlineDog(Payload<Dog> payload) {
+		payload.set(new Dog("Idefix", "Westy"));
+	}
+
+	@GET("forwarded")
+	@Throttled(value = "search", key = "forwarded-for:2")
+	public void forwardedDog(Payload<Dog> payload) {
+		payload.set(new Dog("Idefix", "Westy"));
+	}
+
+	@GET("apiKey")
+	@Throttled(value = "search", key = "header:X-Api-Key")
+	public void apiKeyDog(Payload<Dog> payload) {
+		payload.set(new Dog("Idefix", "Westy"));
+	}
 }
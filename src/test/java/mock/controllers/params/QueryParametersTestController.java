@@ -6,7 +6,11 @@ import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.Date;
+import java.util.UUID;
 
 @Controller("/params/query/")
 public class QueryParametersTestController {
@@ -45,6 +49,36 @@ public class QueryParametersTestController {
 		context.response().end(parameter.toString());
 	}
 
+	@GET("primitiveInt")
+	public void testParam(RoutingContext context, @Param("parameter") int parameter) {
+		context.response().end(Integer.toString(parameter));
+	}
+
+	@GET("primitiveBoolean")
+	public void testParam(RoutingContext context, @Param("parameter") boolean parameter) {
+		context.response().end(Boolean.toString(parameter));
+	}
+
+	@GET("uuid")
+	public void testParam(RoutingContext context, @Param("parameter") UUID parameter) {
+		context.response().end(parameter.toString());
+	}
+
+	@GET("instant")
+	public void testParam(RoutingContext context, @Param("parameter") Instant parameter) {
+		context.response().end(Long.toString(parameter.toEpochMilli()));
+	}
+
+	@GET("localDate")
+	public void testParam(RoutingContext context, @Param("parameter") LocalDate parameter) {
+		context.response().end(parameter.toString());
+	}
+
+	@GET("offsetDateTime")
+	public void testParam(RoutingContext context, @Param("parameter") OffsetDateTime parameter) {
+		context.response().end(parameter.toString());
+	}
+
 	@GET("byName")
 	public void testByName(HttpServerResponse response, @Param String dog) {
 		response.end(dog);
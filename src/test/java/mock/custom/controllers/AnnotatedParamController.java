@@ -2,7 +2,9 @@ package mock.custom.controllers;
 
 import com.github.aesteve.vertx.nubes.annotations.Controller;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
 import io.vertx.core.http.HttpServerResponse;
+import mock.custom.annotations.BodyText;
 import mock.custom.annotations.SimpleAnnot;
 
 @Controller("/custom/params/annotated")
@@ -12,5 +14,10 @@ public class AnnotatedParamController {
 	public void getSimpleAnnot(@SimpleAnnot("something") String something, HttpServerResponse response) {
 		response.end(something);
 	}
+
+	@POST
+	public void postBodyText(@BodyText String body, HttpServerResponse response) {
+		response.end(body);
+	}
 	
 }
@@ -0,0 +1,16 @@
+package mock.custom.handlers;
+
+import com.github.aesteve.vertx.nubes.exceptions.params.WrongParameterException;
+import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
+import io.vertx.ext.web.RoutingContext;
+import mock.custom.annotations.BodyText;
+
+public class BodyTextParamInjector implements AnnotatedParamInjector<BodyText> {
+
+	@Override
+	public Object resolve(RoutingContext context, BodyText annotation, String paramName, Class<?> resultClass)
+			throws WrongParameterException {
+		return context.getBodyAsString();
+	}
+
+}
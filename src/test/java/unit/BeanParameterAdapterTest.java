@@ -0,0 +1,75 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.reflections.adapters.impl.BeanParameterAdapter;
+import com.github.aesteve.vertx.nubes.reflections.adapters.impl.DefaultParameterAdapter;
+import io.vertx.core.MultiMap;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BeanParameterAdapterTest {
+
+  public enum Breed {
+    BEAGLE, POODLE
+  }
+
+  public static class Dog {
+    private String name;
+    private Integer age;
+    private Breed breed;
+    private String secret;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setAge(Integer age) {
+      this.age = age;
+    }
+
+    public void setBreed(Breed breed) {
+      this.breed = breed;
+    }
+  }
+
+  private final BeanParameterAdapter adapter = new BeanParameterAdapter(new DefaultParameterAdapter());
+
+  @Test
+  public void bindsAndConverts() {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.add("name", "Snoopy");
+    params.add("age", "12");
+    params.add("breed", "BEAGLE");
+    params.add("unknown", "ignored");
+    Dog dog = (Dog) adapter.adaptParams(params, Dog.class);
+    assertEquals("Snoopy", dog.name);
+    assertEquals(Integer.valueOf(12), dog.age);
+    assertEquals(Breed.BEAGLE, dog.breed);
+  }
+
+  @Test
+  public void missingParamsAreLeftUntouched() {
+    Dog dog = (Dog) adapter.adaptParams(MultiMap.caseInsensitiveMultiMap(), Dog.class);
+    assertNull(dog.name);
+    assertNull(dog.age);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noSetter() {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.add("secret", "bone");
+    adapter.adaptParams(params, Dog.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidValue() {
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    params.add("age", "old");
+    adapter.adaptParams(params, Dog.class);
+  }
+
+}
@@ -0,0 +1,135 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.CborPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.MessagePackPayloadMarshaller;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import mock.domains.Dog;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BinaryPayloadMarshallerTest {
+
+  private final PayloadMarshaller cbor = new CborPayloadMarshaller();
+  private final PayloadMarshaller msgpack = new MessagePackPayloadMarshaller();
+
+  /**
+   * Examples from RFC 7049, appendix A : arrays and maps are written with indefinite lengths
+   */
+  @Test
+  public void cborEncoding() {
+    assertEquals("00", hex(cbor.marshallPayloadToBuffer(0)));
+    assertEquals("1864", hex(cbor.marshallPayloadToBuffer(100)));
+    assertEquals("3903e7", hex(cbor.marshallPayloadToBuffer(-1000)));
+    assertEquals("1b000000e8d4a51000", hex(cbor.marshallPayloadToBuffer(1000000000000L)));
+    assertEquals("c249010000000000000000", hex(cbor.marshallPayloadToBuffer(new BigInteger("18446744073709551616"))));
+    assertEquals("fb3ff199999999999a", hex(cbor.marshallPayloadToBuffer(1.1)));
+    assertEquals("f5", hex(cbor.marshallPayloadToBuffer(true)));
+    assertEquals("6449455446", hex(cbor.marshallPayloadToBuffer("IETF")));
+    assertEquals("9f019f0203ff9f0405ffff", hex(cbor.marshallPayloadToBuffer(new JsonArray().add(1).add(new JsonArray().add(2).add(3)).add(new JsonArray().add(4).add(5)))));
+    assertEquals("bf61610161629f0203ffff", hex(cbor.marshallPayloadToBuffer(new JsonObject().put("a", 1).put("b", new JsonArray().add(2).add(3)))));
+  }
+
+  @Test
+  public void cborDecoding() {
+    assertEquals(1.5, cbor.unmarshallPayload(unhex("f93e00"), Double.class), 0);
+    assertEquals(-4.0, cbor.unmarshallPayload(unhex("f9c400"), Double.class), 0);
+    assertEquals("streaming", cbor.unmarshallPayload(unhex("7f657374726561646d696e67ff"), String.class));
+    JsonObject definite = cbor.unmarshallPayload(unhex("a26161016162820203"), JsonObject.class);
+    assertEquals(new JsonObject().put("a", 1).put("b", new JsonArray().add(2).add(3)), definite);
+  }
+
+  /**
+   * The example from msgpack.org
+   */
+  @Test
+  public void messagePackEncoding() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("compact", true);
+    map.put("schema", 0);
+    assertEquals("82a7636f6d70616374c3a6736368656d6100", hex(msgpack.marshallPayloadToBuffer(map)));
+    assertEquals("d0df", hex(msgpack.marshallPayloadToBuffer(-33)));
+    assertEquals("cd0100", hex(msgpack.marshallPayloadToBuffer(256)));
+    assertEquals("cb3ff8000000000000", hex(msgpack.marshallPayloadToBuffer(1.5)));
+    assertEquals("c0", hex(msgpack.marshallPayloadToBuffer(null)));
+  }
+
+  @Test
+  public void beansRoundTrip() {
+    for (PayloadMarshaller marshaller : Arrays.asList(cbor, msgpack)) {
+      Dog dog = new Dog("Snoopy", "Beagle");
+      dog.age = 70L;
+      Buffer encoded = marshaller.marshallPayloadToBuffer(dog);
+      Dog decoded = marshaller.unmarshallPayload(encoded, Dog.class);
+      assertEquals("Snoopy", decoded.getName());
+      assertEquals("Beagle", decoded.getBreed());
+      assertEquals(Long.valueOf(70), decoded.age);
+      JsonObject json = marshaller.unmarshallPayload(encoded, JsonObject.class);
+      assertEquals("Snoopy", json.getString("name"));
+    }
+  }
+
+  @Test
+  public void stringApiKeepsEveryByte() {
+    for (PayloadMarshaller marshaller : Arrays.asList(cbor, msgpack)) {
+      // 0xff and such bytes would be lost by UTF-8
+      String encoded = marshaller.marshallPayload(new JsonArray().add(-1000).add(1.5).add("snoopy"));
+      assertEquals(new JsonArray().add(-1000).add(1.5).add("snoopy"), marshaller.unmarshallPayload(encoded, JsonArray.class));
+    }
+  }
+
+  @Test
+  public void errors() {
+    for (PayloadMarshaller marshaller : Arrays.asList(cbor, msgpack)) {
+      Buffer error = marshaller.marshallHttpStatusToBuffer(404, "Not found");
+      JsonObject json = marshaller.unmarshallPayload(error, JsonObject.class);
+      assertEquals(404, json.getJsonObject("error").getInteger("code").intValue());
+      assertEquals("Not found", json.getJsonObject("error").getString("message"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void hugeLengthIsRejected() {
+    // a 4GB string, in 5 bytes
+    msgpack.unmarshallPayload(unhex("dbffffffff"), String.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void deepNestingIsRejected() {
+    Buffer nested = Buffer.buffer();
+    for (int i = 0; i < 10_000; i++) {
+      nested.appendByte((byte) 0x81);
+    }
+    cbor.unmarshallPayload(nested, JsonArray.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void trailingBytesAreRejected() {
+    cbor.unmarshallPayload(unhex("0000"), Integer.class);
+  }
+
+  private static String hex(Buffer buffer) {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : buffer.getBytes()) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  private static Buffer unhex(String hex) {
+    Buffer buffer = Buffer.buffer();
+    for (int i = 0; i < hex.length(); i += 2) {
+      buffer.appendByte((byte) Integer.parseInt(hex.substring(i, i + 2), 16));
+    }
+    return buffer;
+  }
+
+}
@@ -0,0 +1,147 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.caching.CachedResponse;
+import com.github.aesteve.vertx.nubes.caching.impl.BoundedResponseCache;
+import com.github.aesteve.vertx.nubes.caching.impl.LruEvictionPolicy;
+import com.github.aesteve.vertx.nubes.caching.impl.TinyLfuEvictionPolicy;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoundedResponseCacheTest {
+
+  private static final long HOUR = 3_600_000;
+
+  @Test
+  public void hitsAndMisses() {
+    BoundedResponseCache cache = new BoundedResponseCache(1000, LruEvictionPolicy::new);
+    assertNull(cache.get("snoopy"));
+    assertTrue(cache.put("snoopy", response(100, HOUR)));
+    assertEquals("x", cache.get("snoopy").body().getString(0, 1));
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(100, cache.weight());
+  }
+
+  @Test
+  public void cachedBodyIsACopy() {
+    BoundedResponseCache cache = new BoundedResponseCache(1000, LruEvictionPolicy::new);
+    Buffer body = Buffer.buffer("snoopy");
+    cache.put("snoopy", new CachedResponse(body, MultiMap.caseInsensitiveMultiMap(), HOUR));
+    body.setString(0, "w").appendString(" and woodstock");
+    assertEquals("snoopy", cache.get("snoopy").body().toString());
+  }
+
+  @Test
+  public void expiredResponse() throws InterruptedException {
+    BoundedResponseCache cache = new BoundedResponseCache(1000, LruEvictionPolicy::new);
+    cache.put("snoopy", response(100, 1));
+    Thread.sleep(5);
+    assertNull(cache.get("snoopy"));
+    assertEquals(1, cache.expirations());
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weight());
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() {
+    BoundedResponseCache cache = new BoundedResponseCache(250, LruEvictionPolicy::new);
+    cache.put("snoopy", response(100, HOUR));
+    cache.put("woodstock", response(100, HOUR));
+    cache.get("snoopy");
+    cache.put("charlie", response(100, HOUR));
+    assertNotNull(cache.get("snoopy"));
+    assertNull(cache.get("woodstock"));
+    assertEquals(1, cache.evictions());
+    assertEquals(200, cache.weight());
+  }
+
+  @Test
+  public void tooLargeIsRejected() {
+    BoundedResponseCache cache = new BoundedResponseCache(250, LruEvictionPolicy::new);
+    assertFalse(cache.put("snoopy", response(300, HOUR)));
+    assertEquals(1, cache.rejections());
+  }
+
+  @Test
+  public void frequentEntriesAreKept() {
+    BoundedResponseCache cache = new BoundedResponseCache(250, TinyLfuEvictionPolicy::new);
+    for (int i = 0; i < 5; i++) {
+      cache.get("snoopy");
+      cache.get("woodstock");
+    }
+    cache.put("snoopy", response(100, HOUR));
+    cache.put("woodstock", response(100, HOUR));
+    // one-off requests can't replace popular responses
+    for (int i = 0; i < 10; i++) {
+      cache.get("crawled" + i);
+      assertFalse(cache.put("crawled" + i, response(100, HOUR)));
+    }
+    assertEquals(10, cache.rejections());
+    // a popular one can
+    for (int i = 0; i < 10; i++) {
+      cache.get("charlie");
+    }
+    assertTrue(cache.put("charlie", response(100, HOUR)));
+    assertEquals(1, cache.evictions());
+  }
+
+  @Test
+  public void victimsAreKeptTogether() {
+    BoundedResponseCache cache = new BoundedResponseCache(250, TinyLfuEvictionPolicy::new);
+    for (int i = 0; i < 10; i++) {
+      cache.get("snoopy");
+    }
+    cache.put("woodstock", response(100, HOUR));
+    cache.put("snoopy", response(100, HOUR));
+    for (int i = 0; i < 5; i++) {
+      cache.get("charlie");
+    }
+    // charlie would replace woodstock, but not snoopy : none of them is evicted
+    assertFalse(cache.put("charlie", response(200, HOUR)));
+    assertNotNull(cache.get("woodstock"));
+    assertNotNull(cache.get("snoopy"));
+    assertEquals(0, cache.evictions());
+    assertEquals(200, cache.weight());
+  }
+
+  @Test
+  public void segments() {
+    BoundedResponseCache cache = new BoundedResponseCache(16_000, 16, LruEvictionPolicy::new);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(cache.put("dog" + i, response(10, HOUR)));
+    }
+    assertEquals(100, cache.size());
+    assertEquals(1000, cache.weight());
+    for (int i = 0; i < 100; i++) {
+      assertNotNull(cache.get("dog" + i));
+    }
+    // a segment's budget is 1000 bytes
+    assertFalse(cache.put("large", response(1001, HOUR)));
+  }
+
+  @Test
+  public void sketchAging() {
+    TinyLfuEvictionPolicy policy = new TinyLfuEvictionPolicy(64);
+    for (int i = 0; i < 10; i++) {
+      policy.recordAccess("snoopy");
+    }
+    assertEquals(10, policy.frequency("snoopy"));
+    // counters are halved every 10 * 64 accesses
+    for (int i = 0; i < 630; i++) {
+      policy.recordAccess("woodstock");
+    }
+    assertEquals(5, policy.frequency("snoopy"));
+  }
+
+  private static CachedResponse response(int size, long timeToLive) {
+    Buffer body = Buffer.buffer();
+    for (int i = 0; i < size; i++) {
+      body.appendString("x");
+    }
+    return new CachedResponse(body, MultiMap.caseInsensitiveMultiMap(), timeToLive);
+  }
+
+}
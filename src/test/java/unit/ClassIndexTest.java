@@ -0,0 +1,134 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.services.Verticle;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.SockJS;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.bridge.EventBusBridge;
+import com.github.aesteve.vertx.nubes.fixtures.Fixture;
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndex;
+import com.github.aesteve.vertx.nubes.reflections.index.ClassIndexFactory;
+import com.github.aesteve.vertx.nubes.reflections.index.impl.GeneratedClassIndex;
+import com.github.aesteve.vertx.nubes.reflections.index.impl.ReflectionsClassIndex;
+import com.github.aesteve.vertx.nubes.reflections.index.processor.ClassIndexProcessor;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import mock.controllers.auth.PrivateController;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ClassIndexTest {
+
+  private static final List<String> SOURCES = Arrays.asList("mock/controllers", "mock/domains", "mock/fixtures", "mock/verticles");
+
+  private static ClassIndex generated;
+  private static ClassIndex scanned;
+
+  @BeforeClass
+  public static void generateIndex() throws Exception {
+    Path outputDir = Files.createTempDirectory("nubes-index");
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources());
+      List<String> options = Arrays.asList(
+          "-proc:only",
+          "-processor", ClassIndexProcessor.class.getName(),
+          "-classpath", System.getProperty("java.class.path"),
+          "-d", outputDir.toString()
+      );
+      assertTrue(compiler.getTask(null, fileManager, null, options, null, units).call());
+    }
+    String json = new String(Files.readAllBytes(outputDir.resolve(ClassIndex.LOCATION)), StandardCharsets.UTF_8);
+    generated = new GeneratedClassIndex(ClassIndexTest.class.getClassLoader(), Collections.singletonList(new JsonObject(json)));
+    scanned = new ReflectionsClassIndex(Arrays.asList("mock.controllers", "mock.domains", "mock.fixtures", "mock.verticles"));
+  }
+
+  @Test
+  public void sameControllers() {
+    assertSameAnnotated(Controller.class, "mock.controllers");
+    assertSameAnnotated(Controller.class, "mock.controllers.api");
+    assertSameAnnotated(SockJS.class, "mock.controllers");
+    assertSameAnnotated(EventBusBridge.class, "mock.controllers");
+  }
+
+  @Test
+  public void sameVerticles() {
+    assertSameAnnotated(Verticle.class, "mock.verticles");
+  }
+
+  @Test
+  public void sameFixtures() {
+    assertFalse(generated.getSubTypesOf("mock.fixtures", Fixture.class).isEmpty());
+    assertEquals(scanned.getSubTypesOf("mock.fixtures", Fixture.class), generated.getSubTypesOf("mock.fixtures", Fixture.class));
+  }
+
+  @Test
+  public void sameDomains() {
+    assertFalse(generated.getAllTypes("mock.domains").isEmpty());
+    assertEquals(scanned.getAllTypes("mock.domains"), generated.getAllTypes("mock.domains"));
+  }
+
+  @Test
+  public void unknownPackage() {
+    assertTrue(generated.getTypesAnnotatedWith("mock.nothing", Controller.class).isEmpty());
+  }
+
+  @Test
+  public void uncoveredPackagesAreScanned() throws Exception {
+    // an index generated for the controllers only
+    JsonObject partial = new JsonObject()
+        .put(ClassIndex.ANNOTATED, new JsonObject().put(Controller.class.getName(), new JsonArray().add(PrivateController.class.getName())))
+        .put(ClassIndex.TYPES, new JsonArray().add(PrivateController.class.getName()));
+    Path indexFile = Files.createTempFile("nubes-index", ".json");
+    Files.write(indexFile, partial.encode().getBytes(StandardCharsets.UTF_8));
+    ClassLoader classLoader = new ClassLoader(ClassIndexTest.class.getClassLoader()) {
+      @Override
+      public Enumeration<URL> getResources(String name) throws IOException {
+        if (ClassIndex.LOCATION.equals(name)) {
+          return Collections.enumeration(Collections.singletonList(indexFile.toUri().toURL()));
+        }
+        return super.getResources(name);
+      }
+    };
+    ClassIndex index = ClassIndexFactory.create(classLoader, Arrays.asList("mock.controllers", "mock.domains"));
+    assertEquals(Collections.singleton(PrivateController.class), index.getTypesAnnotatedWith("mock.controllers", Controller.class));
+    assertFalse(index.getAllTypes("mock.domains").isEmpty());
+    assertEquals(scanned.getAllTypes("mock.domains"), index.getAllTypes("mock.domains"));
+  }
+
+  private static void assertSameAnnotated(Class<? extends java.lang.annotation.Annotation> annotation, String packageName) {
+    assertFalse(generated.getTypesAnnotatedWith(packageName, annotation).isEmpty());
+    assertEquals(scanned.getTypesAnnotatedWith(packageName, annotation), generated.getTypesAnnotatedWith(packageName, annotation));
+  }
+
+  private static List<File> sources() {
+    Path root = Paths.get("src/test/java");
+    return SOURCES.stream().flatMap(dir -> {
+      try (Stream<Path> files = Files.walk(root.resolve(dir))) {
+        return files.filter(path -> path.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList()).stream();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }).collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,92 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.throttling.impl.ClusteredRateLimiter;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(VertxUnitRunner.class)
+public class ClusteredRateLimiterTest {
+
+  private static final String NAME = "test";
+  private static final long SNOOPY = 42;
+  private static final long SYNC_INTERVAL = 20;
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void otherNodesAreCounted(TestContext context) {
+    ClusteredRateLimiter limiter = create();
+    Async async = context.async();
+    publishFromOtherNode(() -> {
+      context.assertFalse(limiter.tryAcquire(SNOOPY));
+      async.complete();
+    });
+  }
+
+  @Test
+  public void closedLimiterIgnoresOtherNodes(TestContext context) {
+    ClusteredRateLimiter limiter = create();
+    limiter.close();
+    Async async = context.async();
+    publishFromOtherNode(() -> {
+      context.assertTrue(limiter.tryAcquire(SNOOPY));
+      async.complete();
+    });
+  }
+
+  @Test
+  public void releasedWithTheCreatingDeployment(TestContext context) {
+    AtomicReference<ClusteredRateLimiter> limiter = new AtomicReference<>();
+    Async async = context.async();
+    vertx.deployVerticle(new AbstractVerticle() {
+      @Override
+      public void start() {
+        limiter.set(create());
+      }
+    }, context.asyncAssertSuccess(deploymentId -> vertx.undeploy(deploymentId, context.asyncAssertSuccess(undeployed -> {
+      publishFromOtherNode(() -> {
+        context.assertTrue(limiter.get().tryAcquire(SNOOPY));
+        async.complete();
+      });
+    }))));
+  }
+
+  private ClusteredRateLimiter create() {
+    return new ClusteredRateLimiter(vertx, vertx.getOrCreateContext(), NAME, new RateLimit(1, 10, TimeUnit.SECONDS), SYNC_INTERVAL);
+  }
+
+  /**
+   * Once the limiter's consumer is registered, publishes an access to SNOOPY, then runs the check once it's delivered
+   */
+  private void publishFromOtherNode(Runnable check) {
+    vertx.setTimer(SYNC_INTERVAL, registered -> {
+      vertx.eventBus().publish("nubes.throttling." + NAME, new JsonObject()
+          .put("node", "other")
+          .put("deltas", new JsonObject().put(Long.toString(SNOOPY), 1)));
+      vertx.setTimer(SYNC_INTERVAL, delivered -> check.run());
+    });
+  }
+
+}
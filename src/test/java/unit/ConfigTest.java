@@ -6,9 +6,10 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.junit.Test;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class ConfigTest {
 
@@ -45,4 +46,18 @@ public class ConfigTest {
     assertEquals(domainPackage, conf.getDomainPackage());
   }
 
+  @Test
+  public void sharedMetadata() throws NoSuchMethodException {
+    Vertx vertx = Vertx.vertx();
+    JsonObject json = new JsonObject().put("src-package", SRC);
+    Config first = Config.fromJsonObject(json, vertx);
+    Config second = Config.fromJsonObject(json, vertx);
+    Method method = ConfigTest.class.getMethod("sharedMetadata");
+    assertSame(first.getMethodMetadata(method), second.getMethodMetadata(method));
+    assertSame(first.getControllerMetadata(ConfigTest.class), second.getControllerMetadata(ConfigTest.class));
+    Config other = Config.fromJsonObject(new JsonObject().put("src-package", "other"), vertx);
+    assertNotSame(first.getMethodMetadata(method), other.getMethodMetadata(method));
+    vertx.close();
+  }
+
 }
@@ -0,0 +1,57 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.handlers.impl.ContentTypeProcessor;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ContentTypeProcessorTest {
+
+  @ContentType({"application/json", "application/xml"})
+  private static class Produces {
+  }
+
+  private final ContentTypeProcessor processor = new ContentTypeProcessor(Produces.class.getAnnotation(ContentType.class));
+
+  @Test
+  public void clientPreferenceWins() {
+    assertEquals("application/xml", processor.negotiate("application/xml, application/json;q=0.5"));
+    assertEquals("application/json", processor.negotiate("text/html, application/json;q=0.8, application/xml;q=0.2"));
+  }
+
+  @Test
+  public void notAcceptable() {
+    assertNull(processor.negotiate("text/html"));
+    // served from the cache
+    assertNull(processor.negotiate("text/html"));
+    assertEquals(1, processor.cachedAccepts());
+  }
+
+  @Test
+  public void cacheIsBounded() {
+    for (int i = 0; i < 1000; i++) {
+      assertEquals("application/json", processor.negotiate("application/json, text/x-" + i));
+    }
+    assertEquals(64, processor.cachedAccepts());
+    // negotiated and cached anyway
+    assertNull(processor.negotiate("image/png"));
+    assertTrue(processor.isCached("image/png"));
+    assertEquals(64, processor.cachedAccepts());
+  }
+
+  @Test
+  public void frequentAcceptsStayCached() {
+    String browser = "text/html, application/xml;q=0.9, */*;q=0.8";
+    for (int i = 0; i < 100; i++) {
+      processor.negotiate("application/json, image/x-" + i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      processor.negotiate(browser);
+      assertEquals("application/json", processor.negotiate("application/json, text/x-" + i));
+    }
+    assertTrue(processor.isCached(browser));
+    assertEquals(64, processor.cachedAccepts());
+  }
+
+}
@@ -0,0 +1,29 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.utils.ETags;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ETagsTest {
+
+  @Test
+  public void hash() {
+    String etag = ETags.hash(Buffer.buffer("{\"name\":\"Snoopy\",\"breed\":\"Beagle\"}"));
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    assertEquals(etag, ETags.hash(Buffer.buffer("{\"name\":\"Snoopy\",\"breed\":\"Beagle\"}")));
+    assertNotEquals(etag, ETags.hash(Buffer.buffer("{\"name\":\"Snoopy\",\"breed\":\"Beagle!\"}")));
+    assertNotEquals(ETags.hash(Buffer.buffer()), ETags.hash(Buffer.buffer(new byte[1])));
+  }
+
+  @Test
+  public void matches() {
+    assertTrue(ETags.matches("\"v1\"", "\"v1\""));
+    assertTrue(ETags.matches("\"v0\", W/\"v1\"", "\"v1\""));
+    assertTrue(ETags.matches("*", "\"v1\""));
+    assertFalse(ETags.matches("\"v2\"", "\"v1\""));
+    assertFalse(ETags.matches(null, "\"v1\""));
+  }
+
+}
@@ -0,0 +1,88 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.marshallers.ElementSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.impl.JsonElementSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.impl.XmlElementSplitter;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class ElementSplitterTest {
+
+  @Test
+  public void jsonArray() {
+    String body = " [{\"name\":\"Snoopy\",\"friends\":[\"Woodstock\"]}, \"a \\\"]\\\" string\",42 ,null,[1,[2]]] ";
+    List<String> expected = Arrays.asList("{\"name\":\"Snoopy\",\"friends\":[\"Woodstock\"]}", "\"a \\\"]\\\" string\"", "42", "null", "[1,[2]]");
+    assertSplitsInto(JsonElementSplitter::new, body, expected);
+  }
+
+  @Test
+  public void emptyJsonArray() {
+    assertSplitsInto(JsonElementSplitter::new, "[ ]", new ArrayList<>());
+  }
+
+  @Test
+  public void jsonDocuments() {
+    String body = "{\"name\":\"Snoopy\"}\n{\"name\":\"Woodstock\"}\n\"Charlie\" 42";
+    List<String> expected = Arrays.asList("{\"name\":\"Snoopy\"}", "{\"name\":\"Woodstock\"}", "\"Charlie\"", "42");
+    assertSplitsInto(JsonElementSplitter::new, body, expected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void truncatedJson() {
+    split(new JsonElementSplitter(), "[{\"name\":\"Snoopy\"}, {\"na", 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void contentAfterJsonArray() {
+    split(new JsonElementSplitter(), "[1, 2] 3", 5);
+  }
+
+  @Test
+  public void xmlDocument() {
+    String body = "<?xml version=\"1.0\"?>\n<!DOCTYPE dogs [<!ENTITY x \"y\">]>\n<dogs count=\"3\">\n"
+        + "  <!-- <dog>commented</dog> -->\n"
+        + "  <dog name='a>b'><name>Snoopy</name></dog>\n"
+        + "  <dog><![CDATA[</dog>]]></dog>\n"
+        + "  <dog/>\n"
+        + "</dogs>\n";
+    List<String> expected = Arrays.asList("<dog name='a>b'><name>Snoopy</name></dog>", "<dog><![CDATA[</dog>]]></dog>", "<dog/>");
+    assertSplitsInto(XmlElementSplitter::new, body, expected);
+  }
+
+  @Test
+  public void emptyXmlRoot() {
+    assertSplitsInto(XmlElementSplitter::new, "<dogs/>", new ArrayList<>());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void truncatedXml() {
+    split(new XmlElementSplitter(), "<dogs><dog><name>Snoopy</name></dog><dog>", 5);
+  }
+
+  /**
+   * Whatever the chunks' boundaries
+   */
+  private static void assertSplitsInto(Supplier<ElementSplitter> splitter, String body, List<String> expected) {
+    for (int chunkSize : new int[]{1, 3, 7, body.length()}) {
+      assertEquals("chunks of " + chunkSize, expected, split(splitter.get(), body, chunkSize));
+    }
+  }
+
+  private static List<String> split(ElementSplitter splitter, String body, int chunkSize) {
+    List<String> elements = new ArrayList<>();
+    Buffer bytes = Buffer.buffer(body);
+    for (int i = 0; i < bytes.length(); i += chunkSize) {
+      splitter.feed(bytes.getBuffer(i, Math.min(i + chunkSize, bytes.length())), element -> elements.add(element.toString("UTF-8")));
+    }
+    splitter.end(element -> elements.add(element.toString("UTF-8")));
+    return elements;
+  }
+
+}
@@ -0,0 +1,61 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.marshallers.impl.JAXBPayloadMarshaller;
+import io.vertx.core.buffer.Buffer;
+import mock.domains.Dog;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBContext;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class JAXBPayloadMarshallerTest {
+
+  private static final int THREADS = 4;
+  private static final int CALLS = 500;
+
+  @Test
+  public void unmarshallBuffer() throws Exception {
+    JAXBPayloadMarshaller marshaller = new JAXBPayloadMarshaller(JAXBContext.newInstance(Dog.class));
+    Buffer xml = Buffer.buffer("<?xml version=\"1.0\" encoding=\"UTF-8\"?><dog><name>Snoopy</name><breed>Beagle</breed></dog>");
+    Dog dog = marshaller.unmarshallPayload(xml, Dog.class);
+    assertEquals("Snoopy", dog.getName());
+    assertEquals("Beagle", dog.getBreed());
+  }
+
+  @Test
+  public void concurrentCalls() throws Exception {
+    JAXBPayloadMarshaller marshaller = new JAXBPayloadMarshaller(JAXBContext.newInstance(Dog.class), THREADS);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    AtomicInteger mismatches = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(THREADS);
+    for (int i = 0; i < THREADS; i++) {
+      final String name = "Dog" + i;
+      executor.execute(() -> {
+        for (int j = 0; j < CALLS; j++) {
+          Buffer xml = marshaller.marshallPayloadToBuffer(new Dog(name + "-" + j, "Mutt"));
+          Dog dog = marshaller.unmarshallPayload(xml, Dog.class);
+          if (!dog.getName().equals(name + "-" + j)) {
+            mismatches.incrementAndGet();
+          }
+        }
+        latch.countDown();
+      });
+    }
+    assertTrue(latch.await(30, TimeUnit.SECONDS));
+    executor.shutdown();
+    assertEquals(0, mismatches.get());
+    assertEquals(THREADS * CALLS, marshaller.getMarshallerPool().borrowed());
+    assertEquals(THREADS * CALLS, marshaller.getUnmarshallerPool().borrowed());
+    // never more than one per thread at a time : they're all kept
+    assertTrue(marshaller.getMarshallerPool().created() <= THREADS);
+    assertEquals(0, marshaller.getMarshallerPool().dropped());
+    assertEquals(marshaller.getMarshallerPool().created(), marshaller.getMarshallerPool().idle());
+  }
+
+}
@@ -0,0 +1,124 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvoker;
+import com.github.aesteve.vertx.nubes.reflections.invokers.MethodInvokerFactory;
+import com.github.aesteve.vertx.nubes.reflections.invokers.impl.MethodHandleInvoker;
+import com.github.aesteve.vertx.nubes.reflections.invokers.impl.ReflectiveMethodInvoker;
+import org.junit.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+public class MethodInvokerTest {
+
+  public static class PublicController {
+
+    public String last;
+
+    public String concat(String a, int b) {
+      return a + b;
+    }
+
+    public void store(String value) {
+      last = value;
+    }
+
+    public long sum(long a, long b, long c, long d, long e, long f) {
+      return a + b + c + d + e + f;
+    }
+
+    public void fail() throws Exception {
+      throw new Exception("user error");
+    }
+  }
+
+  static class HiddenController {
+    public String hello(String name) {
+      return "Hello " + name;
+    }
+  }
+
+  @Test
+  public void compiledInvoker() throws Exception {
+    PublicController controller = new PublicController();
+    MethodInvoker invoker = create(controller, "concat", String.class, int.class);
+    assertTrue(invoker instanceof MethodHandleInvoker);
+    assertEquals("snoopy1", invoker.invoke(new Object[]{"snoopy", 1}));
+  }
+
+  @Test
+  public void compiledVoidInvoker() throws Exception {
+    PublicController controller = new PublicController();
+    MethodInvoker invoker = create(controller, "store", String.class);
+    assertNull(invoker.invoke(new Object[]{"woodstock"}));
+    assertEquals("woodstock", controller.last);
+  }
+
+  @Test
+  public void tooManyParams() throws Exception {
+    MethodInvoker invoker = create(new PublicController(), "sum", long.class, long.class, long.class, long.class, long.class, long.class);
+    assertTrue(invoker instanceof MethodHandleInvoker);
+    assertEquals(21L, invoker.invoke(new Object[]{1L, 2L, 3L, 4L, 5L, 6L}));
+  }
+
+  @Test
+  public void nonPublicClass() throws Exception {
+    MethodInvoker invoker = create(new HiddenController(), "hello", String.class);
+    assertTrue(invoker instanceof MethodHandleInvoker);
+    assertEquals("Hello Snoopy", invoker.invoke(new Object[]{"Snoopy"}));
+  }
+
+  @Test
+  public void exceptionsAreWrapped() throws Exception {
+    MethodInvoker invoker = create(new PublicController(), "fail");
+    try {
+      invoker.invoke(new Object[0]);
+      fail("Exception should have been thrown");
+    } catch (InvocationTargetException ite) {
+      assertEquals("user error", ite.getCause().getMessage());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongTypedArgument() throws Exception {
+    create(new PublicController(), "concat", String.class, int.class).invoke(new Object[]{"snoopy", "1"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullPrimitive() throws Exception {
+    create(new PublicController(), "concat", String.class, int.class).invoke(new Object[]{"snoopy", null});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongArgumentCount() throws Exception {
+    create(new PublicController(), "concat", String.class, int.class).invoke(new Object[]{"snoopy"});
+  }
+
+  @Test
+  public void sharedHandle() throws Exception {
+    MethodHandle handle = MethodHandleInvoker.link(PublicController.class.getMethod("store", String.class));
+    PublicController snoopy = new PublicController();
+    PublicController woodstock = new PublicController();
+    new MethodHandleInvoker(snoopy, handle).invoke(new Object[]{"snoopy"});
+    new MethodHandleInvoker(woodstock, handle).invoke(new Object[]{"woodstock"});
+    assertEquals("snoopy", snoopy.last);
+    assertEquals("woodstock", woodstock.last);
+  }
+
+  @Test
+  public void compilationDisabled() throws Exception {
+    Method method = PublicController.class.getMethod("concat", String.class, int.class);
+    MethodInvoker invoker = MethodInvokerFactory.create(new PublicController(), method, false);
+    assertTrue(invoker instanceof ReflectiveMethodInvoker);
+    assertEquals("snoopy2", invoker.invoke(new Object[]{"snoopy", 2}));
+  }
+
+  private static MethodInvoker create(Object instance, String name, Class<?>... paramTypes) throws NoSuchMethodException {
+    Method method = instance.getClass().getMethod(name, paramTypes);
+    return MethodInvokerFactory.create(instance, method, true);
+  }
+
+}
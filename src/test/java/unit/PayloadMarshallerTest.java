@@ -0,0 +1,47 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PayloadMarshallerTest {
+
+  /**
+   * Implements the String methods only, as marshallers did before the Buffer ones existed
+   */
+  private final PayloadMarshaller upperCase = new PayloadMarshaller() {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unmarshallPayload(String body, Class<T> clazz) {
+      return (T) body.toLowerCase();
+    }
+
+    @Override
+    public String marshallPayload(Object payload) {
+      return payload.toString().toUpperCase();
+    }
+
+    @Override
+    public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
+      return "ERROR";
+    }
+
+    @Override
+    public String marshallHttpStatus(int statusCode, String statusMessage) {
+      return statusCode + " " + statusMessage.toUpperCase();
+    }
+  };
+
+  @Test
+  public void stringMarshallersAreBridged() {
+    assertEquals("SNOOPY", upperCase.marshallPayloadToBuffer("snoopy").toString("UTF-8"));
+    assertEquals("snoopy", upperCase.unmarshallPayload(Buffer.buffer("SNOOPY"), String.class));
+    assertEquals("ERROR", upperCase.marshallUnexpectedErrorToBuffer(new RuntimeException(), false).toString("UTF-8"));
+    assertEquals("404 NOT FOUND", upperCase.marshallHttpStatusToBuffer(404, "Not found").toString("UTF-8"));
+    assertEquals("B\u00c9B\u00c9", upperCase.marshallElement("b\u00e9b\u00e9").toString("UTF-8"));
+  }
+
+}
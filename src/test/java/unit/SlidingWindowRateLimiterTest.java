@@ -0,0 +1,131 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.throttling.impl.SlidingWindowRateLimiter;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SlidingWindowRateLimiterTest {
+
+  private static final long START = 1_000_000L * 10_000; // beginning of a 10 seconds window
+  private static final long SNOOPY = 1;
+  private static final long WOODSTOCK = 2;
+  private static final long CHARLIE = 3;
+
+  private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(new RateLimit(2, 10, TimeUnit.SECONDS));
+
+  @Test
+  public void overLimit() {
+    assertTrue(limiter.tryAcquire(SNOOPY, START));
+    assertTrue(limiter.tryAcquire(SNOOPY, START + 1));
+    assertFalse(limiter.tryAcquire(SNOOPY, START + 2));
+  }
+
+  @Test
+  public void clientsAreIndependent() {
+    assertTrue(limiter.tryAcquire(SNOOPY, START));
+    assertTrue(limiter.tryAcquire(SNOOPY, START));
+    assertTrue(limiter.tryAcquire(WOODSTOCK, START));
+  }
+
+  @Test
+  public void previousWindowIsWeighted() {
+    assertTrue(limiter.tryAcquire(SNOOPY, START + 9_000));
+    assertTrue(limiter.tryAcquire(SNOOPY, START + 9_000));
+    // 2 accesses * 90% of the previous window still covered + 1
+    assertFalse(limiter.tryAcquire(SNOOPY, START + 11_000));
+    // the rejected access counts too : 1 * 90% + 1
+    assertTrue(limiter.tryAcquire(SNOOPY, START + 21_000));
+    // 1 * 90% + 2
+    assertFalse(limiter.tryAcquire(SNOOPY, START + 21_000));
+  }
+
+  @Test
+  public void limitIsRestoredAfterTwoWindows() {
+    assertTrue(limiter.tryAcquire(SNOOPY, START));
+    assertTrue(limiter.tryAcquire(SNOOPY, START));
+    assertFalse(limiter.tryAcquire(SNOOPY, START));
+    assertTrue(limiter.tryAcquire(SNOOPY, START + 20_000));
+  }
+
+  @Test
+  public void evictIdleClients() {
+    limiter.tryAcquire(SNOOPY, START);
+    limiter.tryAcquire(WOODSTOCK, START + 15_000);
+    limiter.evictIdle(START + 25_000);
+    assertEquals(1, limiter.size());
+    assertEquals(1, limiter.expirations());
+  }
+
+  @Test
+  public void expiryOnAccess() {
+    limiter.tryAcquire(SNOOPY, START);
+    limiter.tryAcquire(SNOOPY, START + 10_000);
+    limiter.tryAcquire(WOODSTOCK, START + 10_000);
+    // each access only handles a few queued accesses : the outdated one, then snoopy
+    limiter.tryAcquire(CHARLIE, START + 30_000);
+    assertEquals(2, limiter.size());
+    assertEquals(1, limiter.expirations());
+    limiter.tryAcquire(CHARLIE, START + 30_000);
+    assertEquals(1, limiter.size());
+    assertEquals(2, limiter.expirations());
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() {
+    SlidingWindowRateLimiter smallLimiter = new SlidingWindowRateLimiter(new RateLimit(2, 10, TimeUnit.SECONDS, 2));
+    smallLimiter.tryAcquire(SNOOPY, START);
+    smallLimiter.tryAcquire(WOODSTOCK, START);
+    smallLimiter.tryAcquire(SNOOPY, START + 10_000);
+    smallLimiter.tryAcquire(CHARLIE, START + 10_000);
+    assertEquals(2, smallLimiter.size());
+    assertEquals(1, smallLimiter.evictions());
+    // woodstock has been evicted, snoopy is still over the limit
+    assertTrue(smallLimiter.tryAcquire(CHARLIE, START + 10_000));
+    assertFalse(smallLimiter.tryAcquire(SNOOPY, START + 10_000));
+  }
+
+  @Test
+  public void manyClients() {
+    // 4 segments of 1024 clients
+    SlidingWindowRateLimiter boundedLimiter = new SlidingWindowRateLimiter(new RateLimit(2, 10, TimeUnit.SECONDS, 4096));
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(boundedLimiter.tryAcquire(random.nextLong(), START));
+    }
+    assertEquals(4096, boundedLimiter.size());
+    assertEquals(10_000, boundedLimiter.size() + boundedLimiter.evictions());
+    boundedLimiter.evictIdle(START + 20_000);
+    assertEquals(0, boundedLimiter.size());
+  }
+
+  @Test
+  public void concurrentAccesses() throws Exception {
+    SlidingWindowRateLimiter wideLimiter = new SlidingWindowRateLimiter(new RateLimit(1000, 1, TimeUnit.HOURS));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    AtomicInteger accepted = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(4);
+    for (int i = 0; i < 4; i++) {
+      executor.execute(() -> {
+        for (int j = 0; j < 500; j++) {
+          if (wideLimiter.tryAcquire(SNOOPY, START)) {
+            accepted.incrementAndGet();
+          }
+        }
+        latch.countDown();
+      });
+    }
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    executor.shutdown();
+    assertEquals(1000, accepted.get());
+  }
+
+}
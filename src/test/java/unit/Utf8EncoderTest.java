@@ -0,0 +1,19 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.utils.Utf8Encoder;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class Utf8EncoderTest {
+
+  @Test
+  public void sameBytesAsString() {
+    for (String chars : new String[]{"", "Snoopy", "Caf\u00E9", "\u20AC 10", "\uD83D\uDC36 dog", "lone \uD83D surrogate", "end \uD83D"}) {
+      assertArrayEquals(chars, chars.getBytes(StandardCharsets.UTF_8), Utf8Encoder.encode(new StringBuilder(chars)).getBytes());
+    }
+  }
+
+}
@@ -0,0 +1,28 @@
+package unit;
+
+import com.github.aesteve.vertx.nubes.exceptions.params.InvalidParamValueException;
+import com.github.aesteve.vertx.nubes.exceptions.params.MandatoryParamException;
+import com.github.aesteve.vertx.nubes.exceptions.params.WrongParameterException.ParamType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WrongParameterExceptionTest {
+
+  @Test
+  public void noStackTrace() {
+    MandatoryParamException mandatory = new MandatoryParamException(ParamType.REQUEST_PARAM, "name");
+    assertEquals(0, mandatory.getStackTrace().length);
+    assertEquals("request parameter : name is mandatory", mandatory.getMessage());
+  }
+
+  @Test
+  public void causeIsKept() {
+    NumberFormatException cause = new NumberFormatException("snoopy");
+    InvalidParamValueException invalid = new InvalidParamValueException(ParamType.HEADER, "age", "snoopy", cause);
+    assertEquals(0, invalid.getStackTrace().length);
+    assertSame(cause, invalid.getCause());
+    assertEquals("Invalid value : snoopy for header : age", invalid.getMessage());
+  }
+
+}